@@ -32,7 +32,9 @@ CREATE TABLE `xxl_job_info` (
   `trigger_status` tinyint(4) NOT NULL DEFAULT '0' COMMENT '调度状态：0-停止，1-运行',
   `trigger_last_time` bigint(13) NOT NULL DEFAULT '0' COMMENT '上次调度时间',
   `trigger_next_time` bigint(13) NOT NULL DEFAULT '0' COMMENT '下次调度时间',
-  PRIMARY KEY (`id`)
+  `version` int(11) NOT NULL DEFAULT '0' COMMENT '版本号，每次修改+1',
+  PRIMARY KEY (`id`),
+  KEY `i_update_time` (`update_time`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `xxl_job_log` (
@@ -47,6 +49,7 @@ CREATE TABLE `xxl_job_log` (
   `trigger_time` datetime DEFAULT NULL COMMENT '调度-时间',
   `trigger_code` int(11) NOT NULL COMMENT '调度-结果',
   `trigger_msg` text COMMENT '调度-日志',
+  `trigger_cost` varchar(64) DEFAULT NULL COMMENT '调度-阶段耗时(ms)，格式如 load,route,rpc',
   `handle_time` datetime DEFAULT NULL COMMENT '执行-时间',
   `handle_code` int(11) NOT NULL COMMENT '执行-状态',
   `handle_msg` text COMMENT '执行-日志',
@@ -95,6 +98,7 @@ CREATE TABLE `xxl_job_group` (
   `address_type` tinyint(4) NOT NULL DEFAULT '0' COMMENT '执行器地址类型：0=自动注册、1=手动录入',
   `address_list` text COMMENT '执行器地址列表，多地址逗号分隔',
   `update_time` datetime DEFAULT NULL,
+  `version` int(11) NOT NULL DEFAULT '0' COMMENT '版本号，每次修改+1',
   PRIMARY KEY (`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
@@ -113,10 +117,39 @@ CREATE TABLE `xxl_job_lock` (
   PRIMARY KEY (`lock_name`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+CREATE TABLE `xxl_job_schedule_partition` (
+  `partition_id` int(11) NOT NULL COMMENT '调度分区：job_id % 分区数',
+  `lease_owner` varchar(255) DEFAULT NULL COMMENT '租约持有者，调度中心节点',
+  `lease_expire_time` bigint(13) NOT NULL DEFAULT '0' COMMENT '租约过期时间',
+  PRIMARY KEY (`partition_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE `xxl_job_sequence` (
+  `seq_name` varchar(50) NOT NULL COMMENT '序列名称',
+  `max_id` bigint(20) NOT NULL DEFAULT '0' COMMENT '已分配的最大ID，按号段预留',
+  PRIMARY KEY (`seq_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE `xxl_job_trigger_pending` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `job_id` int(11) NOT NULL COMMENT '任务，主键ID',
+  `job_group` int(11) NOT NULL DEFAULT '0' COMMENT '执行器主键ID',
+  `trigger_type` varchar(50) NOT NULL COMMENT '触发类型',
+  `fail_retry_count` int(11) NOT NULL DEFAULT '-1' COMMENT '失败重试次数',
+  `executor_sharding_param` varchar(20) DEFAULT NULL COMMENT '执行器任务分片参数',
+  `executor_param` varchar(512) DEFAULT NULL COMMENT '执行器任务参数',
+  `address_list` text COMMENT '执行器地址列表',
+  `add_time` datetime NOT NULL COMMENT '溢出时间',
+  `claim_owner` varchar(64) DEFAULT NULL COMMENT '重放节点，为空表示待重放',
+  `claim_time` datetime DEFAULT NULL COMMENT '重放认领时间',
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 INSERT INTO `xxl_job_group`(`id`, `app_name`, `title`, `address_type`, `address_list`, `update_time`) VALUES (1, 'xxl-job-executor-sample', '示例执行器', 0, NULL, '2018-11-03 22:21:31' );
 INSERT INTO `xxl_job_info`(`id`, `job_group`, `job_desc`, `add_time`, `update_time`, `author`, `alarm_email`, `schedule_type`, `schedule_conf`, `misfire_strategy`, `executor_route_strategy`, `executor_handler`, `executor_param`, `executor_block_strategy`, `executor_timeout`, `executor_fail_retry_count`, `glue_type`, `glue_source`, `glue_remark`, `glue_updatetime`, `child_jobid`) VALUES (1, 1, '测试任务1', '2018-11-03 22:21:31', '2018-11-03 22:21:31', 'XXL', '', 'CRON', '0 0 0 * * ? *', 'DO_NOTHING', 'FIRST', 'demoJobHandler', '', 'SERIAL_EXECUTION', 0, 0, 'BEAN', '', 'GLUE代码初始化', '2018-11-03 22:21:31', '');
 INSERT INTO `xxl_job_user`(`id`, `username`, `password`, `role`, `permission`) VALUES (1, 'admin', 'e10adc3949ba59abbe56e057f20f883e', 1, NULL);
 INSERT INTO `xxl_job_lock` ( `lock_name`) VALUES ( 'schedule_lock');
+INSERT INTO `xxl_job_sequence` ( `seq_name`, `max_id`) VALUES ( 'xxl_job_log', 0);
 
 commit;
 
@@ -0,0 +1,52 @@
+#
+# XXL-JOB v2.4.2-SNAPSHOT, upgrade from v2.4.1
+# Copyright (c) 2015-present, xuxueli.
+#
+# run once on an existing "xxl_job" database, before starting upgraded admin.
+
+use `xxl_job`;
+
+SET NAMES utf8mb4;
+
+ALTER TABLE `xxl_job_info`
+  ADD COLUMN `version` int(11) NOT NULL DEFAULT '0' COMMENT '版本号，每次修改+1' AFTER `trigger_next_time`,
+  ADD KEY `i_update_time` (`update_time`);
+
+ALTER TABLE `xxl_job_log`
+  ADD COLUMN `trigger_cost` varchar(64) DEFAULT NULL COMMENT '调度-阶段耗时(ms)，格式如 load,route,rpc' AFTER `trigger_msg`;
+
+ALTER TABLE `xxl_job_group`
+  ADD COLUMN `version` int(11) NOT NULL DEFAULT '0' COMMENT '版本号，每次修改+1' AFTER `update_time`;
+
+CREATE TABLE IF NOT EXISTS `xxl_job_schedule_partition` (
+  `partition_id` int(11) NOT NULL COMMENT '调度分区：job_id % 分区数',
+  `lease_owner` varchar(255) DEFAULT NULL COMMENT '租约持有者，调度中心节点',
+  `lease_expire_time` bigint(13) NOT NULL DEFAULT '0' COMMENT '租约过期时间',
+  PRIMARY KEY (`partition_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS `xxl_job_sequence` (
+  `seq_name` varchar(50) NOT NULL COMMENT '序列名称',
+  `max_id` bigint(20) NOT NULL DEFAULT '0' COMMENT '已分配的最大ID，按号段预留',
+  PRIMARY KEY (`seq_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE IF NOT EXISTS `xxl_job_trigger_pending` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `job_id` int(11) NOT NULL COMMENT '任务，主键ID',
+  `job_group` int(11) NOT NULL DEFAULT '0' COMMENT '执行器主键ID',
+  `trigger_type` varchar(50) NOT NULL COMMENT '触发类型',
+  `fail_retry_count` int(11) NOT NULL DEFAULT '-1' COMMENT '失败重试次数',
+  `executor_sharding_param` varchar(20) DEFAULT NULL COMMENT '执行器任务分片参数',
+  `executor_param` varchar(512) DEFAULT NULL COMMENT '执行器任务参数',
+  `address_list` text COMMENT '执行器地址列表',
+  `add_time` datetime NOT NULL COMMENT '溢出时间',
+  `claim_owner` varchar(64) DEFAULT NULL COMMENT '重放节点，为空表示待重放',
+  `claim_time` datetime DEFAULT NULL COMMENT '重放认领时间',
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+# log id sequence start after max existing log id, old id never reused
+INSERT IGNORE INTO `xxl_job_sequence` ( `seq_name`, `max_id`) SELECT 'xxl_job_log', IFNULL(MAX(`id`), 0) FROM `xxl_job_log`;
+
+commit;
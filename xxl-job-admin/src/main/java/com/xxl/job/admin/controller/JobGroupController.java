@@ -3,6 +3,7 @@ package com.xxl.job.admin.controller;
 import com.xxl.job.admin.controller.annotation.PermissionLimit;
 import com.xxl.job.admin.core.model.XxlJobGroup;
 import com.xxl.job.admin.core.model.XxlJobRegistry;
+import com.xxl.job.admin.core.thread.JobTriggerCacheHelper;
 import com.xxl.job.admin.core.util.I18nUtil;
 import com.xxl.job.admin.dao.XxlJobGroupDao;
 import com.xxl.job.admin.dao.XxlJobInfoDao;
@@ -148,6 +149,7 @@ public class JobGroupController {
 		xxlJobGroup.setUpdateTime(new Date());
 
 		int ret = xxlJobGroupDao.update(xxlJobGroup);
+		JobTriggerCacheHelper.getInstance().removeJobGroup(xxlJobGroup.getId());
 		return (ret>0)?ReturnT.SUCCESS:ReturnT.FAIL;
 	}
 
@@ -190,6 +192,7 @@ public class JobGroupController {
 		}
 
 		int ret = xxlJobGroupDao.remove(id);
+		JobTriggerCacheHelper.getInstance().removeJobGroup(id);
 		return (ret>0)?ReturnT.SUCCESS:ReturnT.FAIL;
 	}
 
@@ -5,6 +5,7 @@ import com.xxl.job.admin.core.model.XxlJobGroup;
 import com.xxl.job.admin.core.model.XxlJobInfo;
 import com.xxl.job.admin.core.model.XxlJobUser;
 import com.xxl.job.admin.core.route.ExecutorRouteStrategyEnum;
+import com.xxl.job.admin.core.scheduler.JobTriggerStageMetrics;
 import com.xxl.job.admin.core.scheduler.MisfireStrategyEnum;
 import com.xxl.job.admin.core.scheduler.ScheduleTypeEnum;
 import com.xxl.job.admin.core.thread.JobScheduleHelper;
@@ -168,5 +169,15 @@ public class JobInfoController {
 		return new ReturnT<List<String>>(result);
 
 	}
+
+	@RequestMapping("/triggerStage")
+	@ResponseBody
+	public ReturnT<Map<String, Object>> triggerStage(int id) {
+		Map<String, Object> triggerStage = JobTriggerStageMetrics.getInstance().snapshot(id);
+		if (triggerStage == null) {
+			return new ReturnT<Map<String, Object>>(ReturnT.FAIL_CODE, I18nUtil.getString("jobinfo_opt_trigger_stage_empty"));
+		}
+		return new ReturnT<Map<String, Object>>(triggerStage);
+	}
 	
 }
@@ -0,0 +1,91 @@
+package com.xxl.job.admin.controller;
+
+import com.xxl.job.admin.controller.annotation.PermissionLimit;
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.route.ExecutorRouteStats;
+import com.xxl.job.admin.core.scheduler.JobScheduleIndex;
+import com.xxl.job.admin.core.scheduler.JobScheduleMetrics;
+import com.xxl.job.admin.core.scheduler.JobTriggerStageMetrics;
+import com.xxl.job.admin.core.thread.JobMisfireHelper;
+import com.xxl.job.admin.core.thread.JobScheduleHelper;
+import com.xxl.job.admin.core.thread.JobSchedulePartitionHelper;
+import com.xxl.job.admin.core.thread.JobTriggerOverflowHelper;
+import com.xxl.job.admin.core.thread.JobTriggerPoolHelper;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.util.XxlJobRemotingUtil;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * scheduler metrics, for monitor and alarm (no login, access token checked like "/api")
+ */
+@Controller
+public class JobMetricsController {
+
+    @RequestMapping("/metrics")
+    @ResponseBody
+    @PermissionLimit(limit=false)
+    public ReturnT<Map<String, Object>> metrics(HttpServletRequest request) {
+
+        // valid
+        if (!validAccessToken(request)) {
+            return new ReturnT<Map<String, Object>>(ReturnT.FAIL_CODE, "The access token is wrong.");
+        }
+
+        // gauge
+        int ownedPartitionCount = 0;
+        for (boolean owned: JobSchedulePartitionHelper.getInstance().getOwnedPartitions()) {
+            ownedPartitionCount += owned ? 1 : 0;
+        }
+        Map<String, Object> gauge = new LinkedHashMap<>();
+        gauge.put("scheduleIndexSize", JobScheduleIndex.getInstance().size());
+        gauge.put("timeRingSize", JobScheduleHelper.getInstance().getTimeRingSize());
+        gauge.put("triggerQueueSize", JobTriggerPoolHelper.getHelper().getQueueSize());
+        gauge.put("triggerCostAvg", JobTriggerPoolHelper.getHelper().getTriggerCostAvg());
+        gauge.put("triggerRejected", JobTriggerOverflowHelper.getInstance().getRejectedCount());
+        gauge.put("triggerSpilled", JobTriggerOverflowHelper.getInstance().getSpilledCount());
+        gauge.put("triggerReplayed", JobTriggerOverflowHelper.getInstance().getReplayedCount());
+        gauge.put("misfirePending", JobMisfireHelper.getInstance().getPendingCount());
+        gauge.put("misfireFired", JobMisfireHelper.getInstance().getFireCount());
+        gauge.put("partitionCount", JobSchedulePartitionHelper.getInstance().getPartitionCount());
+        gauge.put("partitionOwned", ownedPartitionCount);
+
+        Map<String, Object> metrics = JobScheduleMetrics.getInstance().snapshot();
+        metrics.put("gauge", gauge);
+        metrics.put("executorLoad", ExecutorRouteStats.getInstance().loadSnapshot());
+        metrics.put("triggerStage", JobTriggerStageMetrics.getInstance().snapshot());
+        return new ReturnT<Map<String, Object>>(metrics);
+    }
+
+    /**
+     * trigger stage latency percentile of a job (load, route, rpc, log), since admin start
+     */
+    @RequestMapping("/metrics/triggerStage")
+    @ResponseBody
+    @PermissionLimit(limit=false)
+    public ReturnT<Map<String, Object>> triggerStage(HttpServletRequest request, int jobId) {
+
+        // valid
+        if (!validAccessToken(request)) {
+            return new ReturnT<Map<String, Object>>(ReturnT.FAIL_CODE, "The access token is wrong.");
+        }
+
+        Map<String, Object> triggerStage = JobTriggerStageMetrics.getInstance().snapshot(jobId);
+        if (triggerStage == null) {
+            return new ReturnT<Map<String, Object>>(ReturnT.FAIL_CODE, "job not triggered since admin start, jobId:" + jobId);
+        }
+        return new ReturnT<Map<String, Object>>(triggerStage);
+    }
+
+    private boolean validAccessToken(HttpServletRequest request) {
+        return XxlJobAdminConfig.getAdminConfig().getAccessToken()==null
+                || XxlJobAdminConfig.getAdminConfig().getAccessToken().trim().length()==0
+                || XxlJobAdminConfig.getAdminConfig().getAccessToken().equals(request.getHeader(XxlJobRemotingUtil.XXL_JOB_ACCESS_TOKEN));
+    }
+
+}
@@ -3,6 +3,7 @@ package com.xxl.job.admin.core.complete;
 import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
 import com.xxl.job.admin.core.model.XxlJobInfo;
 import com.xxl.job.admin.core.model.XxlJobLog;
+import com.xxl.job.admin.core.thread.JobTriggerCacheHelper;
 import com.xxl.job.admin.core.thread.JobTriggerPoolHelper;
 import com.xxl.job.admin.core.trigger.TriggerTypeEnum;
 import com.xxl.job.admin.core.util.I18nUtil;
@@ -12,6 +13,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author xuxueli 2020-10-30 20:43:10
@@ -28,36 +33,99 @@ public class XxlJobCompleter {
     public static int updateHandleInfoAndFinish(XxlJobLog xxlJobLog) {
 
         // finish
-        finishJob(xxlJobLog);
+        List<Integer> childJobIds = finishJob(xxlJobLog);
+        limitHandleMsg(xxlJobLog);
 
+        // fresh handle
+        int ret = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateHandleInfo(xxlJobLog);
+
+        // child job, triggered after handle saved
+        if (ret > 0) {
+            triggerChildJob(childJobIds);
+        }
+        return ret;
+    }
+
+    /**
+     * fresh handle of many log by one batch update (limit only once, each log)
+     *
+     * @param xxlJobLogs    log of distinct id
+     * @return
+     */
+    public static int updateHandleInfoAndFinish(List<XxlJobLog> xxlJobLogs) {
+        if (xxlJobLogs.isEmpty()) {
+            return 0;
+        }
+
+        // finish
+        List<List<Integer>> childJobIdsList = new ArrayList<>(xxlJobLogs.size());
+        for (XxlJobLog xxlJobLog: xxlJobLogs) {
+            childJobIdsList.add(finishJob(xxlJobLog));
+            limitHandleMsg(xxlJobLog);
+        }
+
+        // fresh handle
+        boolean[] updated = new boolean[xxlJobLogs.size()];
+        int ret = -1;
+        try {
+            ret = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateHandleInfoBatch(xxlJobLogs);
+        } catch (Exception e) {
+            logger.error(">>>>>>>>>>> xxl-job, handle info batch update fail, update one by one, size = {}", xxlJobLogs.size(), e);
+        }
+        if (ret == xxlJobLogs.size()) {
+            Arrays.fill(updated, true);
+        } else {
+            // batch fail or some row not updated, one by one to know which row saved
+            ret = 0;
+            for (int i = 0; i < xxlJobLogs.size(); i++) {
+                try {
+                    updated[i] = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateHandleInfo(xxlJobLogs.get(i)) > 0;
+                } catch (Exception e) {
+                    logger.error(">>>>>>>>>>> xxl-job, handle info update fail, logId = {}", xxlJobLogs.get(i).getId(), e);
+                }
+                ret += updated[i] ? 1 : 0;
+            }
+        }
+
+        // child job, triggered only for log whose handle saved
+        for (int i = 0; i < xxlJobLogs.size(); i++) {
+            if (updated[i]) {
+                triggerChildJob(childJobIdsList.get(i));
+            }
+        }
+        return ret;
+    }
+
+    private static void limitHandleMsg(XxlJobLog xxlJobLog) {
         // text最大64kb 避免长度过长
         if (xxlJobLog.getHandleMsg().length() > 15000) {
             xxlJobLog.setHandleMsg( xxlJobLog.getHandleMsg().substring(0, 15000) );
         }
-
-        // fresh handle
-        return XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateHandleInfo(xxlJobLog);
     }
 
 
     /**
      * do somethind to finish job
+     *
+     * @return  child job id to trigger, after handle saved
      */
-    private static void finishJob(XxlJobLog xxlJobLog){
+    private static List<Integer> finishJob(XxlJobLog xxlJobLog){
 
         // 1、handle success, to trigger child job
         String triggerChildMsg = null;
+        List<Integer> childJobIdList = Collections.emptyList();
         if (XxlJobContext.HANDLE_CODE_SUCCESS == xxlJobLog.getHandleCode()) {
-            XxlJobInfo xxlJobInfo = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadById(xxlJobLog.getJobId());
+            XxlJobInfo xxlJobInfo = JobTriggerCacheHelper.getInstance().loadJobInfo(xxlJobLog.getJobId());     // cached, read only
             if (xxlJobInfo!=null && xxlJobInfo.getChildJobId()!=null && xxlJobInfo.getChildJobId().trim().length()>0) {
                 triggerChildMsg = "<br><br><span style=\"color:#00c0ef;\" > >>>>>>>>>>>"+ I18nUtil.getString("jobconf_trigger_child_run") +"<<<<<<<<<<< </span><br>";
 
                 String[] childJobIds = xxlJobInfo.getChildJobId().split(",");
+                childJobIdList = new ArrayList<>(childJobIds.length);
                 for (int i = 0; i < childJobIds.length; i++) {
                     int childJobId = (childJobIds[i]!=null && childJobIds[i].trim().length()>0 && isNumeric(childJobIds[i]))?Integer.valueOf(childJobIds[i]):-1;
                     if (childJobId > 0) {
 
-                        JobTriggerPoolHelper.trigger(childJobId, TriggerTypeEnum.PARENT, -1, null, null, null);
+                        childJobIdList.add(childJobId);
                         ReturnT<String> triggerChildResult = ReturnT.SUCCESS;
 
                         // add msg
@@ -85,6 +153,13 @@ public class XxlJobCompleter {
         // 2、fix_delay trigger next
         // on the way
 
+        return childJobIdList;
+    }
+
+    private static void triggerChildJob(List<Integer> childJobIds) {
+        for (Integer childJobId: childJobIds) {
+            JobTriggerPoolHelper.trigger(childJobId, TriggerTypeEnum.PARENT, -1, null, null, null);
+        }
     }
 
     private static boolean isNumeric(String str){
@@ -2,6 +2,8 @@ package com.xxl.job.admin.core.conf;
 
 import com.xxl.job.admin.core.alarm.JobAlarmer;
 import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
+import com.xxl.job.admin.core.thread.JobScheduleHelper;
+import com.xxl.job.admin.core.util.VirtualThreadUtil;
 import com.xxl.job.admin.dao.*;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
@@ -12,6 +14,8 @@ import org.springframework.stereotype.Component;
 import javax.annotation.Resource;
 import javax.sql.DataSource;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * xxl-job config
@@ -64,9 +68,45 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
     @Value("${xxl.job.triggerpool.slow.max}")
     private int triggerPoolSlowMax;
 
+    @Value("${xxl.job.triggerpool.group.maxconcurrency:100}")
+    private int triggerPoolGroupMaxConcurrency;
+
+    @Value("${xxl.job.triggerpool.group.maxconcurrency.custom:}")
+    private String triggerPoolGroupMaxConcurrencyCustom;
+
+    @Value("${xxl.job.triggerpool.group.weight:}")
+    private String triggerPoolGroupWeight;
+
     @Value("${xxl.job.logretentiondays}")
     private int logretentiondays;
 
+    @Value("${xxl.job.schedule.partition:1}")
+    private int schedulePartition;
+
+    @Value("${xxl.job.schedule.maxlag:5000}")
+    private long scheduleMaxLag;
+
+    @Value("${xxl.job.misfire.rate:100}")
+    private int misfireRate;
+
+    @Value("${xxl.job.broadcast.parallelism:50}")
+    private int broadcastParallelism;
+
+    @Value("${xxl.job.virtualthread.enabled:false}")
+    private boolean virtualThreadEnabled;
+
+    @Value("${xxl.job.glue.delta.enabled:false}")
+    private boolean glueDeltaEnabled;
+
+    @Value("${xxl.job.trigger.batch.window:0}")
+    private long triggerBatchWindow;
+
+    @Value("${xxl.job.trigger.batch.size:50}")
+    private int triggerBatchSize;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
     // dao, service
 
     @Resource
@@ -80,6 +120,12 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
     @Resource
     private XxlJobLogReportDao xxlJobLogReportDao;
     @Resource
+    private XxlJobSchedulePartitionDao xxlJobSchedulePartitionDao;
+    @Resource
+    private XxlJobSequenceDao xxlJobSequenceDao;
+    @Resource
+    private XxlJobTriggerPendingDao xxlJobTriggerPendingDao;
+    @Resource
     private JavaMailSender mailSender;
     @Resource
     private DataSource dataSource;
@@ -116,6 +162,56 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
         return triggerPoolSlowMax;
     }
 
+    /**
+     * max trigger running of a job group, per trigger pool
+     */
+    public int getTriggerPoolGroupMaxConcurrency(int jobGroup) {
+        if (triggerPoolGroupMaxConcurrencyMap == null) {
+            triggerPoolGroupMaxConcurrencyMap = parseGroupValue(triggerPoolGroupMaxConcurrencyCustom);
+        }
+        Integer maxConcurrency = triggerPoolGroupMaxConcurrencyMap.get(jobGroup);
+        if (maxConcurrency == null) {
+            maxConcurrency = triggerPoolGroupMaxConcurrency;
+        }
+        return Math.max(maxConcurrency, 1);
+    }
+
+    /**
+     * fair queue weight of a job group, default 1
+     */
+    public int getTriggerPoolGroupWeight(int jobGroup) {
+        if (triggerPoolGroupWeightMap == null) {
+            triggerPoolGroupWeightMap = parseGroupValue(triggerPoolGroupWeight);
+        }
+        Integer weight = triggerPoolGroupWeightMap.get(jobGroup);
+        return weight != null ? Math.max(weight, 1) : 1;
+    }
+
+    private volatile Map<Integer, Integer> triggerPoolGroupMaxConcurrencyMap;
+    private volatile Map<Integer, Integer> triggerPoolGroupWeightMap;
+
+    /**
+     * parse "jobGroup:value,jobGroup:value", invalid item ignored
+     */
+    private static Map<Integer, Integer> parseGroupValue(String groupValue) {
+        Map<Integer, Integer> groupValueMap = new HashMap<>();
+        if (groupValue == null || groupValue.trim().length() == 0) {
+            return groupValueMap;
+        }
+        for (String item: groupValue.split(",")) {
+            String[] itemArr = item.trim().split(":");
+            if (itemArr.length != 2) {
+                continue;
+            }
+            try {
+                groupValueMap.put(Integer.valueOf(itemArr[0].trim()), Integer.valueOf(itemArr[1].trim()));
+            } catch (NumberFormatException e) {
+                // ignore invalid item
+            }
+        }
+        return groupValueMap;
+    }
+
     public int getLogretentiondays() {
         if (logretentiondays < 7) {
             return -1;  // Limit greater than or equal to 7, otherwise close
@@ -123,6 +219,63 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
         return logretentiondays;
     }
 
+    public int getSchedulePartition() {
+        if (schedulePartition < 1) {
+            return 1;
+        }
+        return schedulePartition;
+    }
+
+    public long getScheduleMaxLag() {
+        if (scheduleMaxLag < 100) {
+            return 100;
+        }
+        return Math.min(scheduleMaxLag, JobScheduleHelper.PRE_READ_MS);
+    }
+
+    public int getMisfireRate() {
+        if (misfireRate < 1) {
+            return 1;
+        }
+        return misfireRate;
+    }
+
+    public int getBroadcastParallelism() {
+        if (broadcastParallelism < 1) {
+            return 1;
+        }
+        return broadcastParallelism;
+    }
+
+    /**
+     * run trigger, callback and registry on virtual thread, only if JDK 21+
+     */
+    public boolean isVirtualThreadEnabled() {
+        return virtualThreadEnabled && VirtualThreadUtil.isSupported();
+    }
+
+    public boolean isGlueDeltaEnabled() {
+        return glueDeltaEnabled;
+    }
+
+    public long getTriggerBatchWindow() {
+        if (triggerBatchWindow < 0) {
+            return 0;   // 0 disable
+        }
+        return Math.min(triggerBatchWindow, 100);
+    }
+
+    public int getTriggerBatchSize() {
+        if (triggerBatchSize < 1) {
+            return 1;
+        }
+        return Math.min(triggerBatchSize, 500);
+    }
+
+    public int getServerPort() {
+        return serverPort;
+    }
+
     public XxlJobLogDao getXxlJobLogDao() {
         return xxlJobLogDao;
     }
@@ -143,6 +296,18 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
         return xxlJobLogReportDao;
     }
 
+    public XxlJobSchedulePartitionDao getXxlJobSchedulePartitionDao() {
+        return xxlJobSchedulePartitionDao;
+    }
+
+    public XxlJobSequenceDao getXxlJobSequenceDao() {
+        return xxlJobSequenceDao;
+    }
+
+    public XxlJobTriggerPendingDao getXxlJobTriggerPendingDao() {
+        return xxlJobTriggerPendingDao;
+    }
+
     public JavaMailSender getMailSender() {
         return mailSender;
     }
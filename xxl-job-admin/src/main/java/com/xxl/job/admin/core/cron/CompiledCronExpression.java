@@ -0,0 +1,344 @@
+package com.xxl.job.admin.core.cron;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+import java.util.TreeSet;
+
+/**
+ * compiled cron expression, field as bitmask, next fire time by epoch arithmetic
+ *
+ *      a、field      : second/minute/hour/day-of-month/month/day-of-week as long bitmask, year as long[] bitset;
+ *      b、next time  : walk day by epoch-day (skip unmatched year/month at once), time of day by bit scan, no calendar, no boxing;
+ *      c、zone       : offset cached until next zone transition, re-resolved only when crossing it;
+ *      d、fallback   : L / W / # expression, and result crossing a zone transition, delegate to CronExpression (same result as before);
+ *
+ * thread safe, parsed by CronExpression, so accept exactly the same expression.
+ */
+public final class CompiledCronExpression {
+
+    private static final long SECONDS_PER_DAY = 86400;
+
+    private final CronExpression expression;
+    private final ZoneRules zoneRules;
+
+    private final boolean compiled;
+    private final long secondBits;
+    private final long minuteBits;
+    private final long hourBits;
+    private final long dayOfMonthBits;
+    private final long monthBits;
+    private final long dayOfWeekBits;
+    private final long[] yearBits;
+    private final boolean dayOfMonthSpec;
+
+    private volatile OffsetWindow offsetWindow;
+
+    public CompiledCronExpression(String cronExpression) throws ParseException {
+        this(new CronExpression(cronExpression));
+    }
+
+    public CompiledCronExpression(CronExpression expression) {
+        this.expression = expression;
+        this.zoneRules = expression.getTimeZone().toZoneId().getRules();
+
+        this.compiled = !expression.lastdayOfMonth
+                && !expression.nearestWeekday
+                && !expression.lastdayOfWeek
+                && expression.nthdayOfWeek == 0;
+        this.secondBits = toBits(expression.seconds);
+        this.minuteBits = toBits(expression.minutes);
+        this.hourBits = toBits(expression.hours);
+        this.dayOfMonthBits = toBits(expression.daysOfMonth);
+        this.monthBits = toBits(expression.months);
+        this.dayOfWeekBits = toBits(expression.daysOfWeek);
+        this.dayOfMonthSpec = !expression.daysOfMonth.contains(CronExpression.NO_SPEC);
+
+        this.yearBits = new long[(CronExpression.MAX_YEAR - 1970) / 64 + 1];
+        for (Integer year: expression.years) {
+            if (year >= 1970 && year <= CronExpression.MAX_YEAR) {
+                yearBits[(year - 1970) >>> 6] |= 1L << ((year - 1970) & 63);
+            }
+        }
+    }
+
+    public CronExpression getExpression() {
+        return expression;
+    }
+
+    public Date getNextValidTimeAfter(Date date) {
+        long nextTime = getNextValidTimeAfter(date.getTime());
+        return nextTime >= 0 ? new Date(nextTime) : null;
+    }
+
+    /**
+     * next fire time after the given time
+     *
+     * @param afterTime     epoch ms
+     * @return  epoch ms, -1 if never fire again
+     */
+    public long getNextValidTimeAfter(long afterTime) {
+        if (!compiled) {
+            return fallback(afterTime);
+        }
+
+        // next whole second after the given time
+        long startSecond = Math.floorDiv(afterTime + 1000, 1000);
+
+        OffsetWindow window = offsetWindow;
+        if (window == null || startSecond < window.fromSecond || startSecond >= window.guardSecond) {
+            window = resolveOffsetWindow(startSecond);
+            offsetWindow = window;
+        }
+
+        long localSecond = startSecond + window.offsetSecond;
+        long nextLocalSecond = nextLocalSecond(Math.floorDiv(localSecond, SECONDS_PER_DAY), (int) Math.floorMod(localSecond, SECONDS_PER_DAY));
+        if (nextLocalSecond < 0) {
+            return -1;
+        }
+
+        long nextSecond = nextLocalSecond - window.offsetSecond;
+        if (nextSecond >= window.guardSecond) {
+            // crossing zone transition (dst), or local time repeated by it, keep legacy behavior
+            return fallback(afterTime);
+        }
+        return nextSecond * 1000;
+    }
+
+    private long fallback(long afterTime) {
+        Date nextTime = expression.getTimeAfter(new Date(afterTime));
+        return nextTime != null ? nextTime.getTime() : -1;
+    }
+
+
+    // ---------------------- search ----------------------
+
+    /**
+     * first matched local second, at or after (epochDay, secondOfDay)
+     */
+    private long nextLocalSecond(long epochDay, int secondOfDay) {
+        while (true) {
+            long date = civilFromDays(epochDay);
+            int year = (int) (date >> 9);
+            int month = (int) ((date >> 5) & 15);
+            int day = (int) (date & 31);
+
+            if (year > CronExpression.MAX_YEAR) {
+                return -1;
+            }
+
+            // year
+            if (!hasYear(year)) {
+                int nextYear = nextYear(year + 1);
+                if (nextYear < 0) {
+                    return -1;
+                }
+                epochDay = daysFromCivil(nextYear, 1, 1);
+                secondOfDay = 0;
+                continue;
+            }
+
+            // month
+            if ((monthBits & (1L << month)) == 0) {
+                int nextMonth = nextBit(monthBits, month + 1);
+                epochDay = (nextMonth > 0 && nextMonth <= 12) ? daysFromCivil(year, nextMonth, 1) : daysFromCivil(year + 1, 1, 1);
+                secondOfDay = 0;
+                continue;
+            }
+
+            // day
+            if (dayOfMonthSpec) {
+                int nextDay = nextBit(dayOfMonthBits, day);
+                if (nextDay < 0 || nextDay > lastDayOfMonth(year, month)) {
+                    epochDay = month == 12 ? daysFromCivil(year + 1, 1, 1) : daysFromCivil(year, month + 1, 1);
+                    secondOfDay = 0;
+                    continue;
+                }
+                if (nextDay != day) {
+                    epochDay += nextDay - day;
+                    secondOfDay = 0;
+                    continue;
+                }
+            } else {
+                int dayOfWeek = (int) Math.floorMod(epochDay + 4, 7) + 1;     // 1970-01-01 is THU, SUN = 1
+                if ((dayOfWeekBits & (1L << dayOfWeek)) == 0) {
+                    epochDay++;
+                    secondOfDay = 0;
+                    continue;
+                }
+            }
+
+            // time of day
+            int nextSecondOfDay = nextSecondOfDay(secondOfDay);
+            if (nextSecondOfDay < 0) {
+                epochDay++;
+                secondOfDay = 0;
+                continue;
+            }
+            return epochDay * SECONDS_PER_DAY + nextSecondOfDay;
+        }
+    }
+
+    /**
+     * first matched second of day, at or after the given one, -1 if none today
+     */
+    private int nextSecondOfDay(int secondOfDay) {
+        int hour = secondOfDay / 3600;
+        int minute = secondOfDay / 60 % 60;
+        int second = secondOfDay % 60;
+
+        while (hour < 24) {
+            int nextHour = nextBit(hourBits, hour);
+            if (nextHour < 0 || nextHour > 23) {
+                return -1;
+            }
+            if (nextHour != hour) {
+                hour = nextHour;
+                minute = 0;
+                second = 0;
+            }
+
+            int nextMinute = nextBit(minuteBits, minute);
+            if (nextMinute < 0 || nextMinute > 59) {
+                hour++;
+                minute = 0;
+                second = 0;
+                continue;
+            }
+            if (nextMinute != minute) {
+                minute = nextMinute;
+                second = 0;
+            }
+
+            int nextSecond = nextBit(secondBits, second);
+            if (nextSecond < 0 || nextSecond > 59) {
+                minute++;
+                second = 0;
+                if (minute > 59) {
+                    hour++;
+                    minute = 0;
+                }
+                continue;
+            }
+            return hour * 3600 + minute * 60 + nextSecond;
+        }
+        return -1;
+    }
+
+    private boolean hasYear(int year) {
+        int index = year - 1970;
+        return index >= 0 && (yearBits[index >>> 6] & (1L << (index & 63))) != 0;
+    }
+
+    private int nextYear(int fromYear) {
+        for (int index = Math.max(fromYear - 1970, 0); index <= CronExpression.MAX_YEAR - 1970; index++) {
+            long word = yearBits[index >>> 6] & (-1L << (index & 63));
+            if (word != 0) {
+                return 1970 + (index & ~63) + Long.numberOfTrailingZeros(word);
+            }
+            index |= 63;
+        }
+        return -1;
+    }
+
+
+    // ---------------------- zone ----------------------
+
+    /**
+     * fixed offset before next zone transition, [fromSecond, guardSecond)
+     *
+     * guardSecond stop before local time repeated by the transition (overlap), calendar resolve those to the later one
+     */
+    private static final class OffsetWindow {
+        private final long fromSecond;
+        private final long guardSecond;
+        private final int offsetSecond;
+
+        private OffsetWindow(long fromSecond, long guardSecond, int offsetSecond) {
+            this.fromSecond = fromSecond;
+            this.guardSecond = guardSecond;
+            this.offsetSecond = offsetSecond;
+        }
+    }
+
+    private OffsetWindow resolveOffsetWindow(long epochSecond) {
+        if (zoneRules.isFixedOffset()) {
+            return new OffsetWindow(Long.MIN_VALUE, Long.MAX_VALUE, zoneRules.getOffset(Instant.EPOCH).getTotalSeconds());
+        }
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        ZoneOffsetTransition nextTransition = zoneRules.nextTransition(instant);
+        long guardSecond = Long.MAX_VALUE;
+        if (nextTransition != null) {
+            int overlap = nextTransition.getOffsetBefore().getTotalSeconds() - nextTransition.getOffsetAfter().getTotalSeconds();
+            guardSecond = nextTransition.toEpochSecond() - Math.max(overlap, 0);
+        }
+        return new OffsetWindow(epochSecond, guardSecond, zoneRules.getOffset(instant).getTotalSeconds());
+    }
+
+
+    // ---------------------- tool ----------------------
+
+    private static long toBits(TreeSet<Integer> values) {
+        long bits = 0;
+        for (Integer value: values) {
+            // skip '*' and '?' marker
+            if (value >= 0 && value < 60) {
+                bits |= 1L << value;
+            }
+        }
+        return bits;
+    }
+
+    private static int nextBit(long bits, int from) {
+        if (from > 63) {
+            return -1;
+        }
+        long word = bits & (-1L << from);
+        return word != 0 ? Long.numberOfTrailingZeros(word) : -1;
+    }
+
+    private static int lastDayOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return ((year % 4 == 0 && year % 100 != 0) || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * epoch day of proleptic gregorian date
+     */
+    static long daysFromCivil(long year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        long era = Math.floorDiv(year, 400);
+        long yearOfEra = year - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * proleptic gregorian date of epoch day, packed as (year << 9 | month << 5 | day)
+     */
+    static long civilFromDays(long epochDay) {
+        epochDay += 719468;
+        long era = Math.floorDiv(epochDay, 146097);
+        long dayOfEra = epochDay - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * monthIndex + 2) / 5 + 1;
+        long month = monthIndex < 10 ? monthIndex + 3 : monthIndex - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (year << 9) | (month << 5) | day;
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.xxl.job.admin.core.cron;
+
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * parsed cron expression cache, key = time zone + expression, lru bounded
+ *
+ * many jobs share a few expression, parse once and reuse the compiled form on every fire.
+ */
+public class CronExpressionCache {
+
+    private static CronExpressionCache instance = new CronExpressionCache(1000);
+    public static CronExpressionCache getInstance(){
+        return instance;
+    }
+
+    private final Map<String, CompiledCronExpression> cache;
+
+    public CronExpressionCache(final int maxSize) {
+        this.cache = new LinkedHashMap<String, CompiledCronExpression>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledCronExpression> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * load compiled expression, parse and cache if absent
+     *
+     * @param cronExpression
+     * @param timeZone
+     * @return
+     * @throws ParseException   invalid expression, not cached
+     */
+    public CompiledCronExpression get(String cronExpression, TimeZone timeZone) throws ParseException {
+        String key = timeZone.getID() + "|" + cronExpression;
+
+        synchronized (cache) {
+            CompiledCronExpression compiledExpression = cache.get(key);
+            if (compiledExpression != null) {
+                return compiledExpression;
+            }
+        }
+
+        // parse outside lock
+        CronExpression expression = new CronExpression(cronExpression);
+        expression.setTimeZone(timeZone);
+        CompiledCronExpression compiledExpression = new CompiledCronExpression(expression);
+
+        synchronized (cache) {
+            cache.put(key, compiledExpression);
+        }
+        return compiledExpression;
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+}
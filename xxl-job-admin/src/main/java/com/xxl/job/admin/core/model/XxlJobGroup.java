@@ -16,6 +16,7 @@ public class XxlJobGroup {
     private int addressType;        // 执行器地址类型：0=自动注册、1=手动录入
     private String addressList;     // 执行器地址列表，多地址逗号分隔(手动录入)
     private Date updateTime;
+    private int version;            // 版本号，每次修改+1
 
     // registry list
     private List<String> registryList;  // 执行器地址列表(系统注册)
@@ -74,4 +75,12 @@ public class XxlJobGroup {
         this.addressList = addressList;
     }
 
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
 }
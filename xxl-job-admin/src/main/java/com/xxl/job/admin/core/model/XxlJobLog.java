@@ -25,6 +25,7 @@ public class XxlJobLog {
 	private Date triggerTime;
 	private int triggerCode;
 	private String triggerMsg;
+	private String triggerCost;		// stage cost ms, "load,route,rpc"
 	
 	// handle info
 	private Date handleTime;
@@ -122,6 +123,14 @@ public class XxlJobLog {
 		this.triggerMsg = triggerMsg;
 	}
 
+	public String getTriggerCost() {
+		return triggerCost;
+	}
+
+	public void setTriggerCost(String triggerCost) {
+		this.triggerCost = triggerCost;
+	}
+
 	public Date getHandleTime() {
 		return handleTime;
 	}
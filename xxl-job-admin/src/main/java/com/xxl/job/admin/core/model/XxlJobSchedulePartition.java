@@ -0,0 +1,36 @@
+package com.xxl.job.admin.core.model;
+
+/**
+ * schedule partition, job belong to partition (job_id % partition count)
+ */
+public class XxlJobSchedulePartition {
+
+    private int partitionId;
+    private String leaseOwner;          // admin node, ip:port
+    private long leaseExpireTime;       // lease expire time, ms
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public void setPartitionId(int partitionId) {
+        this.partitionId = partitionId;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public long getLeaseExpireTime() {
+        return leaseExpireTime;
+    }
+
+    public void setLeaseExpireTime(long leaseExpireTime) {
+        this.leaseExpireTime = leaseExpireTime;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.xxl.job.admin.core.model;
+
+import java.util.Date;
+
+/**
+ * trigger rejected by full trigger pool, waiting for replay
+ */
+public class XxlJobTriggerPending {
+
+    private long id;
+    private int jobId;
+    private int jobGroup;
+    private String triggerType;
+    private int failRetryCount;
+    private String executorShardingParam;
+    private String executorParam;
+    private String addressList;
+    private Date addTime;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public int getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(int jobId) {
+        this.jobId = jobId;
+    }
+
+    public int getJobGroup() {
+        return jobGroup;
+    }
+
+    public void setJobGroup(int jobGroup) {
+        this.jobGroup = jobGroup;
+    }
+
+    public String getTriggerType() {
+        return triggerType;
+    }
+
+    public void setTriggerType(String triggerType) {
+        this.triggerType = triggerType;
+    }
+
+    public int getFailRetryCount() {
+        return failRetryCount;
+    }
+
+    public void setFailRetryCount(int failRetryCount) {
+        this.failRetryCount = failRetryCount;
+    }
+
+    public String getExecutorShardingParam() {
+        return executorShardingParam;
+    }
+
+    public void setExecutorShardingParam(String executorShardingParam) {
+        this.executorShardingParam = executorShardingParam;
+    }
+
+    public String getExecutorParam() {
+        return executorParam;
+    }
+
+    public void setExecutorParam(String executorParam) {
+        this.executorParam = executorParam;
+    }
+
+    public String getAddressList() {
+        return addressList;
+    }
+
+    public void setAddressList(String addressList) {
+        this.addressList = addressList;
+    }
+
+    public Date getAddTime() {
+        return addTime;
+    }
+
+    public void setAddTime(Date addTime) {
+        this.addTime = addTime;
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.core.biz.model.ExecutorLoad;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * executor stats by address, for load aware route
+ *
+ *      a、latency : EWMA of run rpc cost;
+ *      b、failure : EWMA of run rpc failure, halved every FAILURE_HALF_LIFE without new run, so a recovered executor is tried again;
+ *      c、load    : run rpc in flight from this admin, plus running JobThread and queued trigger reported by executor;
+ *      d、report  : latest ExecutorLoad of registry heartbeat or beat kept, for route and metrics;
+ *      e、size    : over MAX_SIZE address, idle one (no run in flight, no run or report within LOAD_TIMEOUT) evicted;
+ */
+public class ExecutorRouteStats {
+
+    private static final double ALPHA = 0.2;
+    private static final long FAILURE_HALF_LIFE = 30 * 1000;
+    private static final long LOAD_TIMEOUT = 90 * 1000;         // reported load older than 3 beat ignored
+    private static final double FAILURE_PENALTY = 10;
+    private static final int MAX_SIZE = 10000;
+
+    private static ExecutorRouteStats instance = new ExecutorRouteStats();
+    public static ExecutorRouteStats getInstance(){
+        return instance;
+    }
+
+    /**
+     * stats of one executor address
+     */
+    public static class AddressStats {
+        private double latency = -1;            // ms, -1 no sample
+        private double failure = 0;
+        private long runTime;
+        private final long createTime = System.currentTimeMillis();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile ExecutorLoad load;
+        private volatile long loadTime;
+
+        public synchronized double getLatency() {
+            return latency;
+        }
+
+        /**
+         * failure rate, decayed since last run
+         */
+        public synchronized double getFailure(long nowTime) {
+            if (failure <= 0) {
+                return 0;
+            }
+            return failure * Math.pow(0.5, (double) Math.max(nowTime - runTime, 0) / FAILURE_HALF_LIFE);
+        }
+
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        /**
+         * load reported by executor, 0 if not reported recently
+         */
+        public int getReportedLoad(long nowTime) {
+            ExecutorLoad reported = getLoad(nowTime);
+            if (reported == null) {
+                return 0;
+            }
+            return Math.max(reported.getJobThreadRunning(), 0) + Math.max(reported.getQueuedTriggers(), 0);
+        }
+
+        /**
+         * load reported by executor, null if not reported recently
+         */
+        public ExecutorLoad getLoad(long nowTime) {
+            if (nowTime - loadTime > LOAD_TIMEOUT) {
+                return null;
+            }
+            return load;
+        }
+
+        private synchronized boolean isIdle(long nowTime) {
+            return inFlight.get() <= 0 && nowTime - Math.max(Math.max(runTime, loadTime), createTime) > LOAD_TIMEOUT;
+        }
+
+        private synchronized void record(long cost, boolean success, long nowTime) {
+            double decayedFailure = getFailure(nowTime);
+            latency = latency < 0 ? cost : latency * (1 - ALPHA) + cost * ALPHA;
+            failure = decayedFailure * (1 - ALPHA) + (success ? 0 : ALPHA);
+            runTime = nowTime;
+        }
+    }
+
+    private final ConcurrentMap<String, AddressStats> statsMap = new ConcurrentHashMap<>();
+
+    private AddressStats loadStats(String address) {
+        AddressStats stats = statsMap.get(address);
+        if (stats == null) {
+            if (statsMap.size() >= MAX_SIZE) {
+                evictIdle(System.currentTimeMillis());
+            }
+            AddressStats newStats = new AddressStats();
+            stats = statsMap.putIfAbsent(address, newStats);
+            if (stats == null) {
+                stats = newStats;
+            }
+        }
+        return stats;
+    }
+
+    private void evictIdle(long nowTime) {
+        for (Map.Entry<String, AddressStats> item : statsMap.entrySet()) {
+            if (item.getValue().isIdle(nowTime)) {
+                statsMap.remove(item.getKey(), item.getValue());
+            }
+        }
+    }
+
+
+    // ---------------------- record ----------------------
+
+    /**
+     * run rpc sent
+     */
+    public void runStart(String address) {
+        loadStats(address).inFlight.incrementAndGet();
+    }
+
+    /**
+     * run rpc done
+     *
+     * @param address
+     * @param cost      ms
+     * @param success
+     */
+    public void runEnd(String address, long cost, boolean success) {
+        AddressStats stats = loadStats(address);
+        stats.inFlight.decrementAndGet();
+        stats.record(cost, success, System.currentTimeMillis());
+    }
+
+    /**
+     * load reported by executor
+     */
+    public void updateLoad(String address, ExecutorLoad load) {
+        if (address == null || load == null) {
+            return;
+        }
+        AddressStats stats = loadStats(address);
+        stats.load = load;
+        stats.loadTime = System.currentTimeMillis();
+    }
+
+    public AddressStats getStats(String address) {
+        return statsMap.get(address);
+    }
+
+    /**
+     * load reported recently, by address
+     */
+    public Map<String, ExecutorLoad> loadSnapshot() {
+        long nowTime = System.currentTimeMillis();
+        Map<String, ExecutorLoad> loadMap = new TreeMap<>();
+        for (Map.Entry<String, AddressStats> item : statsMap.entrySet()) {
+            ExecutorLoad load = item.getValue().getLoad(nowTime);
+            if (load != null) {
+                loadMap.put(item.getKey(), load);
+            }
+        }
+        return loadMap;
+    }
+
+
+    // ---------------------- score ----------------------
+
+    /**
+     * route score, lower is better, executor without sample score lowest to be tried
+     *
+     *      score = (latency + 1ms) * (1 + in flight + reported load) * (1 + 10 * failure rate)
+     */
+    public double score(String address) {
+        AddressStats stats = statsMap.get(address);
+        if (stats == null) {
+            return 1;
+        }
+        long nowTime = System.currentTimeMillis();
+        double latency = Math.max(stats.getLatency(), 0);
+        int load = Math.max(stats.getInFlight(), 0) + stats.getReportedLoad(nowTime);
+        return (latency + 1) * (1 + load) * (1 + FAILURE_PENALTY * stats.getFailure(nowTime));
+    }
+
+}
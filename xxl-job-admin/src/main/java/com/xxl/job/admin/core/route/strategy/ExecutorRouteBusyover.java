@@ -4,45 +4,195 @@ import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
 import com.xxl.job.admin.core.route.ExecutorRouter;
 import com.xxl.job.admin.core.util.I18nUtil;
 import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.client.ExecutorBizClient;
 import com.xxl.job.core.biz.model.IdleBeatParam;
 import com.xxl.job.core.biz.model.ReturnT;
 import com.xxl.job.core.biz.model.TriggerParam;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 /**
  * Created by xuxueli on 17/3/10.
+ *
+ *      a、probe : idle beat sent to all address concurrently, first idle responder chosen, wait at most PROBE_TIMEOUT;
+ *      b、cache : idle beat result kept per job for CACHE_TIMEOUT, burst trigger of a job take cached idle address, probe only address without result;
+ *      c、routed: address chosen by recent trigger probed again on next trigger, not assumed busy;
+ *      d、evict : expired job cache removed at most once per CACHE_TIMEOUT, on access;
  */
 public class ExecutorRouteBusyover extends ExecutorRouter {
 
+    private static final long PROBE_TIMEOUT = 1000;
+    private static final long CACHE_TIMEOUT = 2000;
+
+    /**
+     * idle beat result of a job, an idle address is replaced by "ROUTED" once chosen (claim, re-probed by next trigger)
+     */
+    private static class IdleBeatCache {
+        private final List<String> addressList;
+        private final long expireTime;
+        private final ConcurrentMap<String, ReturnT<String>> results = new ConcurrentHashMap<>();
+
+        private IdleBeatCache(List<String> addressList, long expireTime) {
+            this.addressList = addressList;
+            this.expireTime = expireTime;
+        }
+    }
+
+    private static final ReturnT<String> ROUTED = new ReturnT<String>(ReturnT.FAIL_CODE, "routed by recent trigger, busy");
+
+    private final ConcurrentMap<Integer, IdleBeatCache> idleBeatCacheMap = new ConcurrentHashMap<>();
+    private volatile long lastEvictTime = System.currentTimeMillis();
+
     @Override
     public ReturnT<String> route(TriggerParam triggerParam, List<String> addressList) {
+        Map<String, ReturnT<String>> idleBeatResults = new HashMap<>();
+        String idleAddress = findIdle(triggerParam.getJobId(), addressList, idleBeatResults);
+
         StringBuffer idleBeatResultSB = new StringBuffer();
         for (String address : addressList) {
-            // beat
-            ReturnT<String> idleBeatResult = null;
-            try {
-                ExecutorBiz executorBiz = XxlJobScheduler.getExecutorBiz(address);
-                idleBeatResult = executorBiz.idleBeat(new IdleBeatParam(triggerParam.getJobId()));
-            } catch (Exception e) {
-                logger.error(e.getMessage(), e);
-                idleBeatResult = new ReturnT<String>(ReturnT.FAIL_CODE, ""+e );
+            ReturnT<String> idleBeatResult = idleBeatResults.get(address);
+            if (idleBeatResult == null) {
+                continue;
             }
             idleBeatResultSB.append( (idleBeatResultSB.length()>0)?"<br><br>":"")
                     .append(I18nUtil.getString("jobconf_idleBeat") + "：")
                     .append("<br>address：").append(address)
                     .append("<br>code：").append(idleBeatResult.getCode())
                     .append("<br>msg：").append(idleBeatResult.getMsg());
+        }
+
+        // beat success
+        if (idleAddress != null) {
+            ReturnT<String> routeResult = new ReturnT<String>(idleAddress);
+            routeResult.setMsg(idleBeatResultSB.toString());
+            return routeResult;
+        }
+        return new ReturnT<String>(ReturnT.FAIL_CODE, idleBeatResultSB.toString());
+    }
+
+    /**
+     * find idle address, cached result first, then concurrent probe
+     *
+     * @param jobId
+     * @param addressList
+     * @param idleBeatResults   idle beat result by address, for route msg
+     * @return  idle address, null if none
+     */
+    String findIdle(int jobId, List<String> addressList, Map<String, ReturnT<String>> idleBeatResults) {
+
+        // cache, renew when expired or address changed
+        long nowTime = System.currentTimeMillis();
+        if (nowTime - lastEvictTime >= CACHE_TIMEOUT) {
+            lastEvictTime = nowTime;
+            evictExpired(nowTime);
+        }
+        IdleBeatCache idleBeatCache = idleBeatCacheMap.get(jobId);
+        if (idleBeatCache == null || idleBeatCache.expireTime < nowTime || !idleBeatCache.addressList.equals(addressList)) {
+            idleBeatCache = new IdleBeatCache(new ArrayList<String>(addressList), nowTime + CACHE_TIMEOUT);
+            idleBeatCacheMap.put(jobId, idleBeatCache);
+        }
 
-            // beat success
-            if (idleBeatResult.getCode() == ReturnT.SUCCESS_CODE) {
-                idleBeatResult.setMsg(idleBeatResultSB.toString());
-                idleBeatResult.setContent(address);
-                return idleBeatResult;
+        // cached idle, claimed by replace so concurrent trigger not routed to same address
+        List<String> probeAddressList = new ArrayList<>();
+        for (String address : addressList) {
+            ReturnT<String> cachedResult = idleBeatCache.results.get(address);
+            if (cachedResult == null || cachedResult == ROUTED) {
+                probeAddressList.add(address);
+                continue;
+            }
+            idleBeatResults.put(address, cachedResult);
+            if (cachedResult.getCode() == ReturnT.SUCCESS_CODE && idleBeatCache.results.replace(address, cachedResult, ROUTED)) {
+                return address;
             }
         }
+        if (probeAddressList.isEmpty()) {
+            return null;
+        }
 
-        return new ReturnT<String>(ReturnT.FAIL_CODE, idleBeatResultSB.toString());
+        // probe concurrently, first idle responder win, late result still cached (replace "ROUTED" of re-probed address)
+        final CompletableFuture<String> idleFuture = new CompletableFuture<>();
+        final AtomicInteger remaining = new AtomicInteger(probeAddressList.size());
+        final Map<String, ReturnT<String>> probeResults = new ConcurrentHashMap<>();
+        final IdleBeatCache probeCache = idleBeatCache;
+        for (final String address : probeAddressList) {
+            idleBeatAsync(jobId, address).whenComplete(new BiConsumer<ReturnT<String>, Throwable>() {
+                @Override
+                public void accept(ReturnT<String> idleBeatResult, Throwable throwable) {
+                    if (idleBeatResult == null) {
+                        idleBeatResult = new ReturnT<String>(ReturnT.FAIL_CODE, ""+throwable);
+                    }
+                    probeResults.put(address, idleBeatResult);
+                    if (idleBeatResult.getCode() == ReturnT.SUCCESS_CODE && idleFuture.complete(address)) {
+                        probeCache.results.put(address, ROUTED);
+                    } else if (!probeCache.results.replace(address, ROUTED, idleBeatResult)) {
+                        probeCache.results.putIfAbsent(address, idleBeatResult);
+                    }
+                    if (remaining.decrementAndGet() == 0) {
+                        idleFuture.complete(null);
+                    }
+                }
+            });
+        }
+
+        String idleAddress = null;
+        try {
+            idleAddress = idleFuture.get(PROBE_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            idleFuture.complete(null);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+        }
+
+        for (String address : probeAddressList) {
+            ReturnT<String> probeResult = probeResults.get(address);
+            idleBeatResults.put(address, probeResult != null
+                    ? probeResult
+                    : new ReturnT<String>(ReturnT.FAIL_CODE, "idle beat no response in " + PROBE_TIMEOUT + "ms"));
+        }
+        return idleAddress;
+    }
+
+    /**
+     * remove expired job cache, job deleted or not triggered any more
+     *
+     * @return  removed count
+     */
+    int evictExpired(long nowTime) {
+        int removedCount = 0;
+        for (Map.Entry<Integer, IdleBeatCache> item : idleBeatCacheMap.entrySet()) {
+            if (item.getValue().expireTime < nowTime && idleBeatCacheMap.remove(item.getKey(), item.getValue())) {
+                removedCount++;
+            }
+        }
+        return removedCount;
+    }
+
+    /**
+     * idle beat, async
+     *
+     * @return  future, always completed with a ReturnT
+     */
+    CompletableFuture<ReturnT<String>> idleBeatAsync(int jobId, String address) {
+        try {
+            ExecutorBiz executorBiz = XxlJobScheduler.getExecutorBiz(address);
+            if (executorBiz instanceof ExecutorBizClient) {
+                return ((ExecutorBizClient) executorBiz).idleBeatAsync(new IdleBeatParam(jobId));
+            }
+            return CompletableFuture.completedFuture(executorBiz.idleBeat(new IdleBeatParam(jobId)));
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            return CompletableFuture.completedFuture(new ReturnT<String>(ReturnT.FAIL_CODE, ""+e));
+        }
     }
 
 }
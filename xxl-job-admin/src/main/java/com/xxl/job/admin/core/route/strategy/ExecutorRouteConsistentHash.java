@@ -4,76 +4,137 @@ import com.xxl.job.admin.core.route.ExecutorRouter;
 import com.xxl.job.core.biz.model.ReturnT;
 import com.xxl.job.core.biz.model.TriggerParam;
 
-import java.io.UnsupportedEncodingException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.SortedMap;
+import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * 分组下机器地址相同，不同JOB均匀散列在不同机器上，保证分组下机器分配JOB平均；且每个JOB固定调度其中一台机器；
  *      a、virtual node：解决不均衡问题
  *      b、hash method replace hashCode：String的hashCode可能重复，需要进一步扩大hashCode的取值范围
+ *      c、ring cache：hash环按地址列表缓存，地址不变时不重复构建
  * Created by xuxueli on 17/3/10.
  */
 public class ExecutorRouteConsistentHash extends ExecutorRouter {
 
     private static int VIRTUAL_NODE_NUM = 100;
+    private static final int RING_CACHE_MAX = 1000;
 
     /**
-     * get hash code on 2^32 ring (md5散列的方式计算hash值)
+     * get hash code on 2^32 ring (murmur3 32-bit, non-cryptographic, much cheaper than md5)
      * @param key
      * @return
      */
-    private static long hash(String key) {
-
-        // md5 byte
-        MessageDigest md5;
-        try {
-            md5 = MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("MD5 not supported", e);
+    static long hash(String key) {
+        byte[] data = key.getBytes(StandardCharsets.UTF_8);
+        int length = data.length;
+
+        int h = 0;
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            int k = (data[i] & 0xff)
+                    | (data[i + 1] & 0xff) << 8
+                    | (data[i + 2] & 0xff) << 16
+                    | (data[i + 3] & 0xff) << 24;
+            h ^= mixK(k);
+            h = Integer.rotateLeft(h, 13);
+            h = h * 5 + 0xe6546b64;
         }
-        md5.reset();
-        byte[] keyBytes = null;
-        try {
-            keyBytes = key.getBytes("UTF-8");
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException("Unknown string :" + key, e);
+
+        int k = 0;
+        switch (length & 3) {
+            case 3:
+                k ^= (data[i + 2] & 0xff) << 16;
+            case 2:
+                k ^= (data[i + 1] & 0xff) << 8;
+            case 1:
+                k ^= data[i] & 0xff;
+                h ^= mixK(k);
         }
 
-        md5.update(keyBytes);
-        byte[] digest = md5.digest();
+        // finalization mix
+        h ^= length;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h & 0xffffffffL;
+    }
+
+    private static int mixK(int k) {
+        k *= 0xcc9e2d51;
+        k = Integer.rotateLeft(k, 15);
+        k *= 0x1b873593;
+        return k;
+    }
 
-        // hash code, Truncate to 32-bits
-        long hashCode = ((long) (digest[3] & 0xFF) << 24)
-                | ((long) (digest[2] & 0xFF) << 16)
-                | ((long) (digest[1] & 0xFF) << 8)
-                | (digest[0] & 0xFF);
+    /**
+     * hash ring of an address list, virtual node hash sorted
+     */
+    private static class AddressRing {
+        private final long[] nodeHashes;
+        private final String[] nodeAddresses;
+
+        private AddressRing(List<String> addressList) {
+            TreeMap<Long, String> addressRing = new TreeMap<Long, String>();
+            for (String address: addressList) {
+                for (int i = 0; i < VIRTUAL_NODE_NUM; i++) {
+                    long addressHash = hash("SHARD-" + address + "-NODE-" + i);
+                    addressRing.put(addressHash, address);
+                }
+            }
 
-        long truncateHashCode = hashCode & 0xffffffffL;
-        return truncateHashCode;
+            nodeHashes = new long[addressRing.size()];
+            nodeAddresses = new String[addressRing.size()];
+            int index = 0;
+            for (Map.Entry<Long, String> node: addressRing.entrySet()) {
+                nodeHashes[index] = node.getKey();
+                nodeAddresses[index] = node.getValue();
+                index++;
+            }
+        }
+
+        /**
+         * first node clockwise from hash
+         */
+        private String locate(long hash) {
+            int index = Arrays.binarySearch(nodeHashes, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            if (index == nodeHashes.length) {
+                index = 0;
+            }
+            return nodeAddresses[index];
+        }
     }
 
+    // ring built once per distinct address list
+    private final ConcurrentMap<List<String>, AddressRing> addressRingCache = new ConcurrentHashMap<>();
+
     public String hashJob(int jobId, List<String> addressList) {
 
         // ------A1------A2-------A3------
         // -----------J1------------------
-        TreeMap<Long, String> addressRing = new TreeMap<Long, String>();
-        for (String address: addressList) {
-            for (int i = 0; i < VIRTUAL_NODE_NUM; i++) {
-                long addressHash = hash("SHARD-" + address + "-NODE-" + i);
-                addressRing.put(addressHash, address);
+        AddressRing addressRing = addressRingCache.get(addressList);
+        if (addressRing == null) {
+            if (addressRingCache.size() >= RING_CACHE_MAX) {
+                addressRingCache.clear();
             }
+            List<String> ringKey = Collections.unmodifiableList(new ArrayList<String>(addressList));
+            addressRing = new AddressRing(ringKey);
+            addressRingCache.put(ringKey, addressRing);
         }
 
         long jobHash = hash(String.valueOf(jobId));
-        SortedMap<Long, String> lastRing = addressRing.tailMap(jobHash);
-        if (!lastRing.isEmpty()) {
-            return lastRing.get(lastRing.firstKey());
-        }
-        return addressRing.firstEntry().getValue();
+        return addressRing.locate(jobHash);
     }
 
     @Override
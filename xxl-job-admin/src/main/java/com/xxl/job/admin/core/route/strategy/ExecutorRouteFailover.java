@@ -1,11 +1,14 @@
 package com.xxl.job.admin.core.route.strategy;
 
 import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
+import com.xxl.job.admin.core.route.ExecutorRouteStats;
 import com.xxl.job.admin.core.route.ExecutorRouter;
 import com.xxl.job.admin.core.util.I18nUtil;
 import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.model.ExecutorLoad;
 import com.xxl.job.core.biz.model.ReturnT;
 import com.xxl.job.core.biz.model.TriggerParam;
+import com.xxl.job.core.util.GsonTool;
 
 import java.util.List;
 
@@ -36,6 +39,7 @@ public class ExecutorRouteFailover extends ExecutorRouter {
 
             // beat success
             if (beatResult.getCode() == ReturnT.SUCCESS_CODE) {
+                updateLoad(address, beatResult.getContent());
 
                 beatResult.setMsg(beatResultSB.toString());
                 beatResult.setContent(address);
@@ -45,4 +49,18 @@ public class ExecutorRouteFailover extends ExecutorRouter {
         return new ReturnT<String>(ReturnT.FAIL_CODE, beatResultSB.toString());
 
     }
+
+    /**
+     * load snapshot in beat content, empty for old executor
+     */
+    private void updateLoad(String address, String beatContent) {
+        if (beatContent == null || !beatContent.startsWith("{")) {
+            return;
+        }
+        try {
+            ExecutorRouteStats.getInstance().updateLoad(address, GsonTool.fromJson(beatContent, ExecutorLoad.class));
+        } catch (Exception e) {
+            logger.debug(">>>>>>>>>>> xxl-job, executor load parse fail, address:{}", address, e);
+        }
+    }
 }
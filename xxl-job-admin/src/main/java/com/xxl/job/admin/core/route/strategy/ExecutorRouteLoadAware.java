@@ -0,0 +1,52 @@
+package com.xxl.job.admin.core.route.strategy;
+
+import com.xxl.job.admin.core.route.ExecutorRouteStats;
+import com.xxl.job.admin.core.route.ExecutorRouter;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.biz.model.TriggerParam;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * latency and load aware route, power of two choices
+ *
+ *      a、choose : two distinct address picked at random, the one with lower score of ExecutorRouteStats chosen;
+ *      b、score  : EWMA run latency, run in flight, load reported by executor and EWMA failure rate, see ExecutorRouteStats;
+ */
+public class ExecutorRouteLoadAware extends ExecutorRouter {
+
+    private final ExecutorRouteStats routeStats;
+
+    public ExecutorRouteLoadAware() {
+        this(ExecutorRouteStats.getInstance());
+    }
+
+    ExecutorRouteLoadAware(ExecutorRouteStats routeStats) {
+        this.routeStats = routeStats;
+    }
+
+    @Override
+    public ReturnT<String> route(TriggerParam triggerParam, List<String> addressList) {
+        return new ReturnT<String>(choose(addressList));
+    }
+
+    String choose(List<String> addressList) {
+        int size = addressList.size();
+        if (size == 1) {
+            return addressList.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        String firstAddress = addressList.get(first);
+        String secondAddress = addressList.get(second);
+        return routeStats.score(secondAddress) < routeStats.score(firstAddress) ? secondAddress : firstAddress;
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.xxl.job.admin.core.route.strategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * address usage of each job, least used address taken first, shared by LFU and LRU route
+ *
+ *      a、take   : skip list ordered by (usage, address), pollFirst then put back with new usage, lock-free and O(log n);
+ *      b、usage  : LFU use count, LRU last use sequence;
+ *      c、change : address list changed, queue rebuilt with usage of kept address, new address start as least used;
+ *                  not locked against concurrent take, usage approximate across change: address taken meanwhile restart as least used,
+ *                  take on the replaced queue not counted;
+ *      d、idle   : job not routed for IDLE_TIMEOUT removed, swept every SWEEP_INTERVAL;
+ */
+class JobAddressUsage {
+
+    private static final long IDLE_TIMEOUT = 24 * 60 * 60 * 1000;
+    private static final long SWEEP_INTERVAL = 10 * 60 * 1000;
+    private static final int TAKE_RETRY = 100;
+
+    private static class Node implements Comparable<Node> {
+        private final long usage;
+        private final String address;
+
+        private Node(long usage, String address) {
+            this.usage = usage;
+            this.address = address;
+        }
+
+        @Override
+        public int compareTo(Node o) {
+            int result = Long.compare(usage, o.usage);
+            return result != 0 ? result : address.compareTo(o.address);
+        }
+    }
+
+    /**
+     * address queue of a job, for one address list
+     */
+    private static class AddressQueue {
+        private final List<String> addressList;
+        private final ConcurrentSkipListSet<Node> nodes = new ConcurrentSkipListSet<>();
+        private final AtomicLong sequence;
+        private volatile long lastRouteTime;
+
+        private AddressQueue(List<String> addressList, long sequence) {
+            this.addressList = addressList;
+            this.sequence = new AtomicLong(sequence);
+        }
+    }
+
+    private final boolean frequency;       // true: LFU, false: LRU
+    private final ConcurrentMap<Integer, AddressQueue> jobQueueMap = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepTime = new AtomicLong();
+
+    JobAddressUsage(boolean frequency) {
+        this.frequency = frequency;
+    }
+
+    /**
+     * take least used address of job
+     */
+    String take(int jobId, List<String> addressList) {
+        long nowTime = System.currentTimeMillis();
+        sweep(nowTime);
+
+        AddressQueue addressQueue = jobQueueMap.get(jobId);
+        if (addressQueue == null || !addressQueue.addressList.equals(addressList)) {
+            AddressQueue newQueue = rebuild(addressQueue, addressList);
+            if (addressQueue == null ? jobQueueMap.putIfAbsent(jobId, newQueue) == null : jobQueueMap.replace(jobId, addressQueue, newQueue)) {
+                addressQueue = newQueue;
+            } else {
+                addressQueue = jobQueueMap.get(jobId);      // rebuilt by concurrent route
+                if (addressQueue == null) {
+                    addressQueue = newQueue;
+                }
+            }
+        }
+        addressQueue.lastRouteTime = nowTime;
+
+        Node node = addressQueue.nodes.pollFirst();
+        for (int i = 0; node == null && i < TAKE_RETRY; i++) {
+            // all address taken by concurrent route at this moment, put back soon
+            Thread.yield();
+            node = addressQueue.nodes.pollFirst();
+        }
+        if (node == null) {
+            return addressList.get(ThreadLocalRandom.current().nextInt(addressList.size()));
+        }
+        long usage = frequency ? node.usage + 1 : addressQueue.sequence.incrementAndGet();
+        addressQueue.nodes.add(new Node(usage, node.address));
+        return node.address;
+    }
+
+    /**
+     * new queue for address list, usage of kept address copied; node polled by concurrent take at this moment missed, start as least used
+     */
+    private AddressQueue rebuild(AddressQueue oldQueue, List<String> addressList) {
+        Map<String, Long> oldUsage = new HashMap<>();
+        long minUsage = Long.MAX_VALUE;
+        if (oldQueue != null) {
+            for (Node node : oldQueue.nodes) {
+                oldUsage.put(node.address, node.usage);
+                minUsage = Math.min(minUsage, node.usage);
+            }
+        }
+
+        AddressQueue newQueue = new AddressQueue(Collections.unmodifiableList(new ArrayList<String>(addressList)), oldQueue != null ? oldQueue.sequence.get() : 0);
+        Set<String> addressSet = new HashSet<>(addressList);
+        for (String address : addressSet) {
+            Long usage = oldUsage.get(address);
+            if (usage == null) {
+                if (oldQueue == null) {
+                    // LFU first usage random, spread first route of jobs
+                    usage = frequency ? (long) ThreadLocalRandom.current().nextInt(addressSet.size()) : 0L;
+                } else {
+                    usage = frequency ? (minUsage == Long.MAX_VALUE ? 0L : minUsage) : 0L;
+                }
+            }
+            newQueue.nodes.add(new Node(usage, address));
+        }
+        return newQueue;
+    }
+
+    /**
+     * remove job not routed for IDLE_TIMEOUT
+     */
+    void sweep(long nowTime) {
+        long sweepTime = nextSweepTime.get();
+        if (nowTime < sweepTime || !nextSweepTime.compareAndSet(sweepTime, nowTime + SWEEP_INTERVAL)) {
+            return;
+        }
+        for (Map.Entry<Integer, AddressQueue> item : jobQueueMap.entrySet()) {
+            if (nowTime - item.getValue().lastRouteTime > IDLE_TIMEOUT) {
+                jobQueueMap.remove(item.getKey(), item.getValue());
+            }
+        }
+    }
+
+    int size() {
+        return jobQueueMap.size();
+    }
+
+}
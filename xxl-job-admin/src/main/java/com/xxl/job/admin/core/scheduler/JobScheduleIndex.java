@@ -0,0 +1,161 @@
+package com.xxl.job.admin.core.scheduler;
+
+import com.xxl.job.admin.core.model.XxlJobInfo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * in-memory next-fire-time index of running job, sorted by trigger_next_time
+ *
+ *      a、load     : full load at scheduler start, incremental sync by update_time after;
+ *      b、write    : XxlJobServiceImpl (add/update/start/stop/remove) and scheduler write-back keep it current;
+ *      c、read     : scheduler pick due job id from memory, only lock and load db rows when something is due;
+ *
+ * index is a hint, not the truth: due rows are re-read by id under schedule lock, stale entry fixed there.
+ */
+public class JobScheduleIndex {
+
+    private static JobScheduleIndex instance = new JobScheduleIndex();
+    public static JobScheduleIndex getInstance(){
+        return instance;
+    }
+
+    private static class IndexItem {
+        private final int jobId;
+        private final long nextTime;
+
+        private IndexItem(int jobId, long nextTime) {
+            this.jobId = jobId;
+            this.nextTime = nextTime;
+        }
+    }
+
+    private static final Comparator<IndexItem> ITEM_COMPARATOR = new Comparator<IndexItem>() {
+        @Override
+        public int compare(IndexItem o1, IndexItem o2) {
+            int result = Long.compare(o1.nextTime, o2.nextTime);
+            return result != 0 ? result : Integer.compare(o1.jobId, o2.jobId);
+        }
+    };
+
+    private final ConcurrentSkipListSet<IndexItem> timeIndex = new ConcurrentSkipListSet<>(ITEM_COMPARATOR);
+    private final ConcurrentMap<Integer, IndexItem> jobIndex = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+
+    /**
+     * full load, replace all
+     */
+    public synchronized void load(List<XxlJobInfo> jobInfoList) {
+        timeIndex.clear();
+        jobIndex.clear();
+        if (jobInfoList != null) {
+            for (XxlJobInfo jobInfo: jobInfoList) {
+                put(jobInfo);
+            }
+        }
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * index job with current trigger status and next time, remove if not running
+     */
+    public void put(XxlJobInfo jobInfo) {
+        if (jobInfo.getTriggerStatus() == 1 && jobInfo.getTriggerNextTime() > 0) {
+            put(jobInfo.getId(), jobInfo.getTriggerNextTime());
+        } else {
+            remove(jobInfo.getId());
+        }
+    }
+
+    public void put(int jobId, long nextTime) {
+        IndexItem newItem = new IndexItem(jobId, nextTime);
+        synchronized (lockOf(jobId)) {
+            IndexItem oldItem = jobIndex.put(jobId, newItem);
+            if (oldItem != null) {
+                timeIndex.remove(oldItem);
+            }
+            timeIndex.add(newItem);
+        }
+    }
+
+    public void remove(int jobId) {
+        synchronized (lockOf(jobId)) {
+            IndexItem oldItem = jobIndex.remove(jobId);
+            if (oldItem != null) {
+                timeIndex.remove(oldItem);
+            }
+        }
+    }
+
+    /**
+     * due job id, order by next time
+     *
+     * @param maxNextTime
+     * @param limit
+     * @return
+     */
+    public List<Integer> findDue(long maxNextTime, int limit) {
+        return findDue(maxNextTime, limit, null);
+    }
+
+    /**
+     * due job id of owned partition, order by next time
+     *
+     * @param maxNextTime
+     * @param limit
+     * @param ownedPartitions   owned partition mask, partition = job_id % mask length; null means all
+     * @return
+     */
+    public List<Integer> findDue(long maxNextTime, int limit, boolean[] ownedPartitions) {
+        List<Integer> jobIds = new ArrayList<>();
+        Iterator<IndexItem> iterator = timeIndex.iterator();
+        while (iterator.hasNext() && jobIds.size() < limit) {
+            IndexItem item = iterator.next();
+            if (item.nextTime > maxNextTime) {
+                break;
+            }
+            if (ownedPartitions != null && !ownedPartitions[(item.jobId & 0x7fffffff) % ownedPartitions.length]) {
+                continue;
+            }
+            jobIds.add(item.jobId);
+        }
+        return jobIds;
+    }
+
+    /**
+     * earliest next time, Long.MAX_VALUE if empty
+     */
+    public long earliestNextTime() {
+        Iterator<IndexItem> iterator = timeIndex.iterator();
+        return iterator.hasNext() ? iterator.next().nextTime : Long.MAX_VALUE;
+    }
+
+    public int size() {
+        return jobIndex.size();
+    }
+
+
+    // ---------------------- lock ----------------------
+
+    private final Object[] locks = new Object[64];
+    {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+    private Object lockOf(int jobId) {
+        return locks[(jobId & 0x7fffffff) % locks.length];
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.xxl.job.admin.core.scheduler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * scheduler metrics
+ *
+ *      a、scan     : lock wait, lock hold (lock to commit), due job query, rows pre-read, misfire, write-back cost; last scan and total since start;
+ *      b、fire lag : histogram of (dispatch time - trigger_next_time), ring tick and direct trigger;
+ *      c、broadcast: fan-out latency (all shard rpc done) per SHARDING_BROADCAST trigger;
+ */
+public class JobScheduleMetrics {
+
+    private static final long[] LAG_BUCKETS = {1, 5, 10, 50, 100, 500, 1000, 5000};     // fire lag bucket upper bound (ms), last bucket +Inf
+
+    private static JobScheduleMetrics instance = new JobScheduleMetrics();
+    public static JobScheduleMetrics getInstance(){
+        return instance;
+    }
+
+    // ---------------------- scan ----------------------
+
+    private final AtomicLong scanCount = new AtomicLong();
+    private final AtomicLong scanCostTotal = new AtomicLong();
+    private final AtomicLong lockCostTotal = new AtomicLong();
+    private final AtomicLong lockHoldTotal = new AtomicLong();
+    private final AtomicLong lockHoldMax = new AtomicLong();
+    private final AtomicLong queryCostTotal = new AtomicLong();
+    private final AtomicLong updateCostTotal = new AtomicLong();
+    private final AtomicLong preReadTotal = new AtomicLong();
+    private final AtomicLong misfireTotal = new AtomicLong();
+
+    private volatile long lastScanTime;
+    private volatile long lastScanCost;
+    private volatile int lastDueCount;
+    private volatile long lastLockCost;
+    private volatile long lastLockHold;
+    private volatile long lastQueryCost;
+    private volatile long lastUpdateCost;
+    private volatile int lastPreReadCount;
+    private volatile int lastMisfireCount;
+
+    /**
+     * one scan of schedule thread, all partition
+     */
+    public void recordScan(long scanCost, int dueCount) {
+        scanCount.incrementAndGet();
+        scanCostTotal.addAndGet(scanCost);
+        lastScanTime = System.currentTimeMillis();
+        lastScanCost = scanCost;
+        lastDueCount = dueCount;
+    }
+
+    /**
+     * one partition tx of a scan, cost in ms
+     */
+    public void recordPartitionScan(long lockCost, long queryCost, int preReadCount, int misfireCount, long updateCost) {
+        lockCostTotal.addAndGet(lockCost);
+        queryCostTotal.addAndGet(queryCost);
+        updateCostTotal.addAndGet(updateCost);
+        preReadTotal.addAndGet(preReadCount);
+        misfireTotal.addAndGet(misfireCount);
+
+        lastLockCost = lockCost;
+        lastQueryCost = queryCost;
+        lastUpdateCost = updateCost;
+        lastPreReadCount = preReadCount;
+        lastMisfireCount = misfireCount;
+    }
+
+    /**
+     * one partition tx of a scan, lock acquired to commit done, ms
+     */
+    public void recordLockHold(long lockHold) {
+        lockHoldTotal.addAndGet(lockHold);
+        lastLockHold = lockHold;
+
+        long max;
+        while (lockHold > (max = lockHoldMax.get()) && !lockHoldMax.compareAndSet(max, lockHold)) {
+            // retry
+        }
+    }
+
+
+    // ---------------------- fire lag ----------------------
+
+    private final AtomicLongArray lagCount = new AtomicLongArray(LAG_BUCKETS.length + 1);
+    private final AtomicLong lagSum = new AtomicLong();
+    private final AtomicLong lagMax = new AtomicLong();
+
+    /**
+     * fire lag of one trigger
+     *
+     * @param lag   dispatch time - trigger_next_time, ms
+     */
+    public void recordFireLag(long lag) {
+        if (lag < 0) {
+            lag = 0;
+        }
+        int bucket = 0;
+        while (bucket < LAG_BUCKETS.length && lag > LAG_BUCKETS[bucket]) {
+            bucket++;
+        }
+        lagCount.incrementAndGet(bucket);
+        lagSum.addAndGet(lag);
+
+        long max;
+        while (lag > (max = lagMax.get()) && !lagMax.compareAndSet(max, lag)) {
+            // retry
+        }
+    }
+
+
+    // ---------------------- broadcast ----------------------
+
+    private final AtomicLong broadcastCount = new AtomicLong();
+    private final AtomicLong broadcastShardTotal = new AtomicLong();
+    private final AtomicLong broadcastCostTotal = new AtomicLong();
+    private final AtomicLong broadcastCostMax = new AtomicLong();
+    private volatile int lastBroadcastShardCount;
+    private volatile long lastBroadcastCost;
+
+    /**
+     * one broadcast trigger, fan-out of all shard
+     *
+     * @param shardCount
+     * @param cost          first shard start to last shard done, ms
+     */
+    public void recordBroadcast(int shardCount, long cost) {
+        broadcastCount.incrementAndGet();
+        broadcastShardTotal.addAndGet(shardCount);
+        broadcastCostTotal.addAndGet(cost);
+        lastBroadcastShardCount = shardCount;
+        lastBroadcastCost = cost;
+
+        long max;
+        while (cost > (max = broadcastCostMax.get()) && !broadcastCostMax.compareAndSet(max, cost)) {
+            // retry
+        }
+    }
+
+
+    // ---------------------- snapshot ----------------------
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> lastScan = new LinkedHashMap<>();
+        lastScan.put("time", lastScanTime);
+        lastScan.put("cost", lastScanCost);
+        lastScan.put("dueCount", lastDueCount);
+        lastScan.put("lockCost", lastLockCost);
+        lastScan.put("lockHold", lastLockHold);
+        lastScan.put("queryCost", lastQueryCost);
+        lastScan.put("preReadCount", lastPreReadCount);
+        lastScan.put("misfireCount", lastMisfireCount);
+        lastScan.put("updateCost", lastUpdateCost);
+
+        Map<String, Object> scanTotal = new LinkedHashMap<>();
+        scanTotal.put("count", scanCount.get());
+        scanTotal.put("cost", scanCostTotal.get());
+        scanTotal.put("lockCost", lockCostTotal.get());
+        scanTotal.put("lockHold", lockHoldTotal.get());
+        scanTotal.put("maxLockHold", lockHoldMax.get());
+        scanTotal.put("queryCost", queryCostTotal.get());
+        scanTotal.put("preReadCount", preReadTotal.get());
+        scanTotal.put("misfireCount", misfireTotal.get());
+        scanTotal.put("updateCost", updateCostTotal.get());
+
+        // cumulative bucket, "le" style
+        Map<String, Object> lagBuckets = new LinkedHashMap<>();
+        long cumulative = 0;
+        for (int i = 0; i < LAG_BUCKETS.length; i++) {
+            cumulative += lagCount.get(i);
+            lagBuckets.put(String.valueOf(LAG_BUCKETS[i]), cumulative);
+        }
+        cumulative += lagCount.get(LAG_BUCKETS.length);
+        lagBuckets.put("+Inf", cumulative);
+
+        Map<String, Object> fireLag = new LinkedHashMap<>();
+        fireLag.put("count", cumulative);
+        fireLag.put("sum", lagSum.get());
+        fireLag.put("max", lagMax.get());
+        fireLag.put("buckets", lagBuckets);
+
+        Map<String, Object> broadcast = new LinkedHashMap<>();
+        broadcast.put("count", broadcastCount.get());
+        broadcast.put("shardCount", broadcastShardTotal.get());
+        broadcast.put("cost", broadcastCostTotal.get());
+        broadcast.put("maxCost", broadcastCostMax.get());
+        broadcast.put("lastShardCount", lastBroadcastShardCount);
+        broadcast.put("lastCost", lastBroadcastCost);
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("lastScan", lastScan);
+        snapshot.put("scanTotal", scanTotal);
+        snapshot.put("fireLag", fireLag);
+        snapshot.put("broadcast", broadcast);
+        return snapshot;
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.xxl.job.admin.core.scheduler;
+
+/**
+ * adaptive pre-read size and scan interval of schedule thread
+ *
+ *      a、pre-read count : trigger capacity per second (pool size * 1000 / trigger cost), minus trigger queue backlog;
+ *      b、burst          : scan filled up pre-read count, double it (max one pre-read window of capacity) and scan again at once;
+ *      c、idle           : sleep until earliest job enter pre-read window, never longer than max lag;
+ */
+public class JobScheduleTuner {
+
+    private final int triggerPoolMax;
+    private final long preReadMs;
+    private final long maxLag;
+
+    private int burstFactor = 1;
+    private int lastPreReadCount;
+
+    /**
+     * @param triggerPoolMax    fast + slow trigger pool max size
+     * @param preReadMs         pre-read window
+     * @param maxLag            max scan interval, upper bound of firing lag for job changed after last scan
+     */
+    public JobScheduleTuner(int triggerPoolMax, long preReadMs, long maxLag) {
+        this.triggerPoolMax = Math.max(triggerPoolMax, 1);
+        this.preReadMs = preReadMs;
+        this.maxLag = Math.max(Math.min(maxLag, preReadMs), 1);
+        this.lastPreReadCount = this.triggerPoolMax * 20;
+    }
+
+    /**
+     * pre-read count of next scan
+     *
+     * @param triggerCostAvg    average trigger cost, ms
+     * @param triggerQueueSize  trigger waiting in pool queue
+     * @return
+     */
+    public int preReadCount(long triggerCostAvg, int triggerQueueSize) {
+        long capacity = triggerPoolMax * 1000L / Math.max(triggerCostAvg, 1);
+        long maxCount = capacity * Math.max(preReadMs / 1000, 1);
+
+        long count = Math.min(capacity * burstFactor, maxCount) - triggerQueueSize;
+        count = Math.max(count, triggerPoolMax);
+        count = Math.min(count, Integer.MAX_VALUE);
+
+        lastPreReadCount = (int) count;
+        return lastPreReadCount;
+    }
+
+    /**
+     * wait before next scan
+     *
+     * @param dueCount          due job count of this scan
+     * @param earliestNextTime  earliest next time in schedule index, Long.MAX_VALUE if empty
+     * @param nowTime
+     * @return  wait ms, 0 means scan again at once
+     */
+    public long scanWait(int dueCount, long earliestNextTime, long nowTime) {
+
+        // burst, more due than pre-read
+        if (dueCount >= lastPreReadCount) {
+            if (burstFactor < preReadMs / 1000) {
+                burstFactor = burstFactor * 2;
+            }
+            return 0;
+        }
+        burstFactor = 1;
+
+        // wait earliest job enter pre-read window
+        long enterWindowWait = earliestNextTime - preReadMs - nowTime;
+        if (enterWindowWait > 0) {
+            return Math.min(enterWindowWait, maxLag);
+        }
+
+        // earliest job already in window but not scheduled here (other partition, or stale), not spin
+        return Math.min(1000, maxLag);
+    }
+
+}
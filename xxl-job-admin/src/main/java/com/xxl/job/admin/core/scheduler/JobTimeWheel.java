@@ -0,0 +1,259 @@
+package com.xxl.job.admin.core.scheduler;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * hierarchical timing wheel, millisecond tick
+ *
+ *      level-0: TICK_MS * WHEEL_SIZE           (64ms)
+ *      level-1: TICK_MS * WHEEL_SIZE^2         (4s)
+ *      level-2: TICK_MS * WHEEL_SIZE^3         (262s, overflow also parked here and re-cascaded)
+ *
+ *      a、producer (schedule thread) : push + flush, collect into a private batch, publish batch lock-free;
+ *      b、consumer (ring thread)     : drain + advance, the only owner of wheel buckets, no lock needed;
+ *      c、bucket                     : primitive int/long array (job id, job group, fire time), reused after expire, no boxing;
+ *      d、catch-up                   : advance walks every non-empty tick up to now, overrun tick never lost;
+ */
+public class JobTimeWheel {
+
+    public static final long TICK_MS = 1;
+    public static final int WHEEL_SIZE = 64;
+    public static final int LEVEL = 3;
+
+    /**
+     * fire callback, invoked on the ring thread
+     */
+    public interface Dispatcher {
+        void dispatch(int jobId, int jobGroup, long fireTime);
+    }
+
+    private final Dispatcher dispatcher;
+    private final long[] span = new long[LEVEL];                        // slot span of each level
+    private final Bucket[][] buckets = new Bucket[LEVEL][WHEEL_SIZE];
+    private final int[] levelCount = new int[LEVEL];
+    private long currentTime;                                           // next tick to process, aligned to TICK_MS
+    private volatile int size = 0;
+
+    public JobTimeWheel(Dispatcher dispatcher, long startTime) {
+        this.dispatcher = dispatcher;
+        long levelSpan = TICK_MS;
+        for (int level = 0; level < LEVEL; level++) {
+            span[level] = levelSpan;
+            levelSpan = levelSpan * WHEEL_SIZE;
+            for (int slot = 0; slot < WHEEL_SIZE; slot++) {
+                buckets[level][slot] = new Bucket();
+            }
+        }
+        this.currentTime = align(startTime);
+    }
+
+
+    // ---------------------- producer ----------------------
+
+    private final ConcurrentLinkedQueue<Bucket> pendingQueue = new ConcurrentLinkedQueue<>();
+    private Bucket producerBatch = null;
+
+    /**
+     * push job into wheel, visible to ring thread after flush (producer thread only)
+     */
+    public void push(int jobId, int jobGroup, long fireTime) {
+        if (producerBatch == null) {
+            producerBatch = new Bucket();
+        }
+        producerBatch.add(jobId, jobGroup, fireTime);
+    }
+
+    /**
+     * publish pushed jobs (producer thread only)
+     *
+     * @return  true if any job published
+     */
+    public boolean flush() {
+        Bucket batch = producerBatch;
+        if (batch == null || batch.size == 0) {
+            return false;
+        }
+        producerBatch = null;
+        pendingQueue.offer(batch);
+        return true;
+    }
+
+    /**
+     * has job not fired yet, include published but not drained
+     */
+    public boolean hasData() {
+        return size > 0 || !pendingQueue.isEmpty();
+    }
+
+
+    // ---------------------- consumer ----------------------
+
+    /**
+     * move published jobs into wheel, fire overdue job directly (ring thread only)
+     */
+    public void drain() {
+        Bucket batch;
+        while ((batch = pendingQueue.poll()) != null) {
+            for (int i = 0; i < batch.size; i++) {
+                place(batch.jobIds[i], batch.jobGroups[i], batch.fireTimes[i]);
+            }
+        }
+        size = countAll();
+    }
+
+    /**
+     * fire all tick before or equal to now (ring thread only)
+     *
+     * @param now
+     * @return  fired job count
+     */
+    public int advance(long now) {
+        int fired = 0;
+        while (currentTime <= now) {
+            int lowest = lowestLevel();
+            if (lowest < 0) {
+                // wheel empty, jump to now
+                currentTime = align(now) + TICK_MS;
+                break;
+            }
+            if (lowest > 0) {
+                // lower level empty, jump to next cascade point (never skip a higher boundary, spans are nested)
+                long next = ceil(currentTime, span[lowest]);
+                if (next > now) {
+                    break;
+                }
+                currentTime = next;
+            }
+
+            // cascade, from high to low
+            for (int level = LEVEL - 1; level > 0; level--) {
+                if (currentTime % span[level] == 0) {
+                    Bucket bucket = buckets[level][slot(currentTime, level)];
+                    if (bucket.size > 0) {
+                        levelCount[level] -= bucket.size;
+                        for (int i = 0; i < bucket.size; i++) {
+                            place(bucket.jobIds[i], bucket.jobGroups[i], bucket.fireTimes[i]);
+                        }
+                        bucket.clear();
+                    }
+                }
+            }
+
+            // expire
+            Bucket bucket = buckets[0][slot(currentTime, 0)];
+            if (bucket.size > 0) {
+                levelCount[0] -= bucket.size;
+                for (int i = 0; i < bucket.size; i++) {
+                    dispatcher.dispatch(bucket.jobIds[i], bucket.jobGroups[i], bucket.fireTimes[i]);
+                }
+                fired += bucket.size;
+                bucket.clear();
+            }
+
+            currentTime += TICK_MS;
+        }
+        size = countAll();
+        return fired;
+    }
+
+    /**
+     * time of next tick that may fire or cascade, Long.MAX_VALUE if wheel empty (ring thread only)
+     */
+    public long nextTickTime() {
+        int lowest = lowestLevel();
+        if (lowest < 0) {
+            return Long.MAX_VALUE;
+        }
+        return lowest == 0 ? currentTime : ceil(currentTime, span[lowest]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void place(int jobId, int jobGroup, long fireTime) {
+        long tickTime = align(fireTime);
+        if (tickTime < currentTime) {
+            // overdue, fire directly
+            dispatcher.dispatch(jobId, jobGroup, fireTime);
+            return;
+        }
+        for (int level = 0; level < LEVEL; level++) {
+            long levelStart = currentTime - currentTime % span[level];
+            if (tickTime < levelStart + span[level] * WHEEL_SIZE) {
+                buckets[level][slot(tickTime, level)].add(jobId, jobGroup, fireTime);
+                levelCount[level]++;
+                return;
+            }
+        }
+        // overflow, park at the last slot of top level, re-place when cascaded
+        int top = LEVEL - 1;
+        long lastSlotTime = currentTime - currentTime % span[top] + span[top] * (WHEEL_SIZE - 1);
+        buckets[top][slot(lastSlotTime, top)].add(jobId, jobGroup, fireTime);
+        levelCount[top]++;
+    }
+
+    private int lowestLevel() {
+        for (int level = 0; level < LEVEL; level++) {
+            if (levelCount[level] > 0) {
+                return level;
+            }
+        }
+        return -1;
+    }
+
+    private int countAll() {
+        int count = 0;
+        for (int level = 0; level < LEVEL; level++) {
+            count += levelCount[level];
+        }
+        return count;
+    }
+
+    private int slot(long time, int level) {
+        return (int) ((time / span[level]) % WHEEL_SIZE);
+    }
+
+    private static long align(long time) {
+        return time - time % TICK_MS;
+    }
+
+    private static long ceil(long time, long unit) {
+        long mod = time % unit;
+        return mod == 0 ? time : time - mod + unit;
+    }
+
+
+    // ---------------------- bucket ----------------------
+
+    private static class Bucket {
+        private int[] jobIds = new int[16];
+        private int[] jobGroups = new int[16];
+        private long[] fireTimes = new long[16];
+        private int size = 0;
+
+        private void add(int jobId, int jobGroup, long fireTime) {
+            if (size == jobIds.length) {
+                int newCapacity = jobIds.length << 1;
+                int[] newJobIds = new int[newCapacity];
+                int[] newJobGroups = new int[newCapacity];
+                long[] newFireTimes = new long[newCapacity];
+                System.arraycopy(jobIds, 0, newJobIds, 0, size);
+                System.arraycopy(jobGroups, 0, newJobGroups, 0, size);
+                System.arraycopy(fireTimes, 0, newFireTimes, 0, size);
+                jobIds = newJobIds;
+                jobGroups = newJobGroups;
+                fireTimes = newFireTimes;
+            }
+            jobIds[size] = jobId;
+            jobGroups[size] = jobGroup;
+            fireTimes[size] = fireTime;
+            size++;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+    }
+
+}
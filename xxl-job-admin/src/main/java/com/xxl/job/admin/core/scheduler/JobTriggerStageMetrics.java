@@ -0,0 +1,158 @@
+package com.xxl.job.admin.core.scheduler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * trigger stage latency, of all job and per job
+ *
+ *      a、stage      : load (job/group), route, rpc (executor run), log (trigger log saved);
+ *      b、histogram  : cost bucket per stage, percentile taken as bucket upper bound, cumulative since start;
+ *      c、per job    : at most MAX_JOB_SIZE job kept, cleared when full;
+ */
+public class JobTriggerStageMetrics {
+
+    public static final String[] STAGES = {"load", "route", "rpc", "log"};
+    private static final long[] COST_BUCKETS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};     // bucket upper bound (ms), last bucket +Inf
+    private static final int MAX_JOB_SIZE = 10000;
+
+    private static JobTriggerStageMetrics instance = new JobTriggerStageMetrics();
+    public static JobTriggerStageMetrics getInstance(){
+        return instance;
+    }
+
+    /**
+     * cost histogram of one stage
+     */
+    private static class StageHistogram {
+        private final AtomicLongArray count = new AtomicLongArray(COST_BUCKETS.length + 1);
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        private void record(long cost) {
+            if (cost < 0) {
+                cost = 0;
+            }
+            int bucket = 0;
+            while (bucket < COST_BUCKETS.length && cost > COST_BUCKETS[bucket]) {
+                bucket++;
+            }
+            count.incrementAndGet(bucket);
+            sum.addAndGet(cost);
+
+            long oldMax;
+            while (cost > (oldMax = max.get()) && !max.compareAndSet(oldMax, cost)) {
+                // retry
+            }
+        }
+
+        private Map<String, Object> snapshot() {
+            long[] bucketCount = new long[COST_BUCKETS.length + 1];
+            long total = 0;
+            for (int i = 0; i < bucketCount.length; i++) {
+                bucketCount[i] = count.get(i);
+                total += bucketCount[i];
+            }
+            long maxCost = max.get();
+
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("count", total);
+            snapshot.put("avg", total > 0 ? sum.get() / total : 0);
+            snapshot.put("p50", percentile(bucketCount, total, 0.50, maxCost));
+            snapshot.put("p90", percentile(bucketCount, total, 0.90, maxCost));
+            snapshot.put("p99", percentile(bucketCount, total, 0.99, maxCost));
+            snapshot.put("max", maxCost);
+            return snapshot;
+        }
+
+        private static long percentile(long[] bucketCount, long total, double percent, long maxCost) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * percent);
+            long cumulative = 0;
+            for (int i = 0; i < COST_BUCKETS.length; i++) {
+                cumulative += bucketCount[i];
+                if (cumulative >= rank) {
+                    return Math.min(COST_BUCKETS[i], maxCost);
+                }
+            }
+            return maxCost;
+        }
+    }
+
+    /**
+     * histogram of all stage
+     */
+    private static class StageStats {
+        private final StageHistogram[] histograms = new StageHistogram[STAGES.length];
+
+        private StageStats() {
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new StageHistogram();
+            }
+        }
+
+        private void record(long[] stageCost) {
+            for (int i = 0; i < histograms.length && i < stageCost.length; i++) {
+                if (stageCost[i] >= 0) {
+                    histograms[i].record(stageCost[i]);
+                }
+            }
+        }
+
+        private Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            for (int i = 0; i < STAGES.length; i++) {
+                snapshot.put(STAGES[i], histograms[i].snapshot());
+            }
+            return snapshot;
+        }
+    }
+
+    private final StageStats allStats = new StageStats();
+    private final ConcurrentMap<Integer, StageStats> jobStatsMap = new ConcurrentHashMap<>();
+
+    /**
+     * stage cost of one trigger
+     *
+     * @param jobId
+     * @param stageCost     ms, in order of STAGES, negative if stage not run
+     */
+    public void record(int jobId, long... stageCost) {
+        allStats.record(stageCost);
+
+        StageStats jobStats = jobStatsMap.get(jobId);
+        if (jobStats == null) {
+            if (jobStatsMap.size() >= MAX_JOB_SIZE) {
+                jobStatsMap.clear();
+            }
+            StageStats newStats = new StageStats();
+            jobStats = jobStatsMap.putIfAbsent(jobId, newStats);
+            if (jobStats == null) {
+                jobStats = newStats;
+            }
+        }
+        jobStats.record(stageCost);
+    }
+
+    /**
+     * stage latency of all job
+     */
+    public Map<String, Object> snapshot() {
+        return allStats.snapshot();
+    }
+
+    /**
+     * stage latency of a job, null if not triggered since start
+     */
+    public Map<String, Object> snapshot(int jobId) {
+        StageStats jobStats = jobStatsMap.get(jobId);
+        return jobStats != null ? jobStats.snapshot() : null;
+    }
+
+}
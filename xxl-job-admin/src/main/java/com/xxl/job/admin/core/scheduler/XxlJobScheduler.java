@@ -24,9 +24,26 @@ public class XxlJobScheduler  {
         // init i18n
         initI18n();
 
+        // virtual thread mode, JDK 21+
+        if (XxlJobAdminConfig.getAdminConfig().isVirtualThreadEnabled()) {
+            logger.info(">>>>>>>>> xxl-job admin trigger, callback and registry run on virtual thread.");
+        }
+
+        // trigger cache sync start
+        JobTriggerCacheHelper.getInstance().start();
+
+        // trigger log writer start
+        JobLogWriteHelper.getInstance().start();
+
+        // trigger batch start
+        JobTriggerBatchHelper.getInstance().start();
+
         // admin trigger pool start
         JobTriggerPoolHelper.toStart();
 
+        // trigger overflow replay start ( depend on JobTriggerPoolHelper )
+        JobTriggerOverflowHelper.getInstance().start();
+
         // admin registry monitor run
         JobRegistryHelper.getInstance().start();
 
@@ -39,7 +56,13 @@ public class XxlJobScheduler  {
         // admin log report start
         JobLogReportHelper.getInstance().start();
 
-        // start-schedule  ( depend on JobTriggerPoolHelper )
+        // misfire catch-up start ( depend on JobTriggerPoolHelper )
+        JobMisfireHelper.getInstance().start();
+
+        // schedule partition lease start
+        JobSchedulePartitionHelper.getInstance().start();
+
+        // start-schedule  ( depend on JobTriggerPoolHelper, JobSchedulePartitionHelper )
         JobScheduleHelper.getInstance().start();
 
         logger.info(">>>>>>>>> init xxl-job admin success.");
@@ -51,6 +74,12 @@ public class XxlJobScheduler  {
         // stop-schedule
         JobScheduleHelper.getInstance().toStop();
 
+        // schedule partition lease stop
+        JobSchedulePartitionHelper.getInstance().toStop();
+
+        // misfire catch-up stop
+        JobMisfireHelper.getInstance().toStop();
+
         // admin log report stop
         JobLogReportHelper.getInstance().toStop();
 
@@ -63,9 +92,21 @@ public class XxlJobScheduler  {
         // admin registry stop
         JobRegistryHelper.getInstance().toStop();
 
+        // trigger overflow replay stop
+        JobTriggerOverflowHelper.getInstance().toStop();
+
         // admin trigger pool stop
         JobTriggerPoolHelper.toStop();
 
+        // trigger batch stop
+        JobTriggerBatchHelper.getInstance().toStop();
+
+        // trigger log writer stop
+        JobLogWriteHelper.getInstance().toStop();
+
+        // trigger cache sync stop
+        JobTriggerCacheHelper.getInstance().toStop();
+
     }
 
     // ---------------------- I18n ----------------------
@@ -4,14 +4,21 @@ import com.xxl.job.admin.core.complete.XxlJobCompleter;
 import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
 import com.xxl.job.admin.core.model.XxlJobLog;
 import com.xxl.job.admin.core.util.I18nUtil;
+import com.xxl.job.admin.core.util.VirtualThreadUtil;
 import com.xxl.job.core.biz.model.HandleCallbackParam;
 import com.xxl.job.core.biz.model.ReturnT;
 import com.xxl.job.core.util.DateUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.*;
 
 /**
@@ -27,33 +34,39 @@ public class JobCompleteHelper {
 		return instance;
 	}
 
+	private static final int CALLBACK_BATCH_SIZE = 100;			// log loaded and updated by one query, at most
+
 	// ---------------------- monitor ----------------------
 
-	private ThreadPoolExecutor callbackThreadPool = null;
+	private ExecutorService callbackThreadPool = null;
 	private Thread monitorThread;
 	private volatile boolean toStop = false;
 	public void start(){
 
 		// for callback
-		callbackThreadPool = new ThreadPoolExecutor(
-				2,
-				20,
-				30L,
-				TimeUnit.SECONDS,
-				new LinkedBlockingQueue<Runnable>(3000),
-				new ThreadFactory() {
-					@Override
-					public Thread newThread(Runnable r) {
-						return new Thread(r, "xxl-job, admin JobLosedMonitorHelper-callbackThreadPool-" + r.hashCode());
-					}
-				},
-				new RejectedExecutionHandler() {
-					@Override
-					public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-						r.run();
-						logger.warn(">>>>>>>>>>> xxl-job, callback too fast, match threadpool rejected handler(run now).");
-					}
-				});
+		if (XxlJobAdminConfig.getAdminConfig().isVirtualThreadEnabled()) {
+			callbackThreadPool = VirtualThreadUtil.newLimitedExecutor("xxl-job, admin JobLosedMonitorHelper-callbackThreadPool-", 20, 3000);
+		} else {
+			callbackThreadPool = new ThreadPoolExecutor(
+					2,
+					20,
+					30L,
+					TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(3000),
+					new ThreadFactory() {
+						@Override
+						public Thread newThread(Runnable r) {
+							return new Thread(r, "xxl-job, admin JobLosedMonitorHelper-callbackThreadPool-" + r.hashCode());
+						}
+					},
+					new RejectedExecutionHandler() {
+						@Override
+						public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+							r.run();
+							logger.warn(">>>>>>>>>>> xxl-job, callback too fast, match threadpool rejected handler(run now).");
+						}
+					});
+		}
 
 
 		// for monitor
@@ -79,6 +92,7 @@ public class JobCompleteHelper {
 						List<Long> losedJobIds  = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().findLostJobIds(losedTime);
 
 						if (losedJobIds!=null && losedJobIds.size()>0) {
+							List<XxlJobLog> losedJobLogs = new ArrayList<>();
 							for (Long logId: losedJobIds) {
 
 								XxlJobLog jobLog = new XxlJobLog();
@@ -88,8 +102,13 @@ public class JobCompleteHelper {
 								jobLog.setHandleCode(ReturnT.FAIL_CODE);
 								jobLog.setHandleMsg( I18nUtil.getString("joblog_lost_fail") );
 
-								XxlJobCompleter.updateHandleInfoAndFinish(jobLog);
+								losedJobLogs.add(jobLog);
+								if (losedJobLogs.size() >= CALLBACK_BATCH_SIZE) {
+									XxlJobCompleter.updateHandleInfoAndFinish(losedJobLogs);
+									losedJobLogs = new ArrayList<>();
+								}
 							}
+							XxlJobCompleter.updateHandleInfoAndFinish(losedJobLogs);
 
 						}
 					} catch (Exception e) {
@@ -135,15 +154,19 @@ public class JobCompleteHelper {
 
 	// ---------------------- helper ----------------------
 
-	public ReturnT<String> callback(List<HandleCallbackParam> callbackParamList) {
+	public ReturnT<String> callback(final List<HandleCallbackParam> callbackParamList) {
 
 		callbackThreadPool.execute(new Runnable() {
 			@Override
 			public void run() {
-				for (HandleCallbackParam handleCallbackParam: callbackParamList) {
-					ReturnT<String> callbackResult = callback(handleCallbackParam);
-					logger.debug(">>>>>>>>> JobApiController.callback {}, handleCallbackParam={}, callbackResult={}",
-							(callbackResult.getCode()== ReturnT.SUCCESS_CODE?"success":"fail"), handleCallbackParam, callbackResult);
+				for (int from = 0; from < callbackParamList.size(); from += CALLBACK_BATCH_SIZE) {
+					List<HandleCallbackParam> batch = callbackParamList.subList(from, Math.min(from + CALLBACK_BATCH_SIZE, callbackParamList.size()));
+					List<ReturnT<String>> callbackResultList = callbackBatch(batch);
+					for (int i = 0; i < batch.size(); i++) {
+						ReturnT<String> callbackResult = callbackResultList.get(i);
+						logger.debug(">>>>>>>>> JobApiController.callback {}, handleCallbackParam={}, callbackResult={}",
+								(callbackResult.getCode()== ReturnT.SUCCESS_CODE?"success":"fail"), batch.get(i), callbackResult);
+					}
 				}
 			}
 		});
@@ -151,34 +174,86 @@ public class JobCompleteHelper {
 		return ReturnT.SUCCESS;
 	}
 
-	private ReturnT<String> callback(HandleCallbackParam handleCallbackParam) {
-		// valid log item
-		XxlJobLog log = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().load(handleCallbackParam.getLogId());
-		if (log == null) {
-			return new ReturnT<String>(ReturnT.FAIL_CODE, "log item not found.");
-		}
-		if (log.getHandleCode() > 0) {
-			return new ReturnT<String>(ReturnT.FAIL_CODE, "log repeate callback.");     // avoid repeat callback, trigger child job etc
+	/**
+	 * callback of many log, log loaded by one query and handle info written by one batch update
+	 *
+	 * @param callbackParamList
+	 * @return	result per callback, in order
+	 */
+	List<ReturnT<String>> callbackBatch(List<HandleCallbackParam> callbackParamList) {
+		// distinct log id, repeat callback in the same batch skipped
+		Map<Long, HandleCallbackParam> callbackParamMap = new LinkedHashMap<>();
+		for (HandleCallbackParam handleCallbackParam: callbackParamList) {
+			if (!callbackParamMap.containsKey(handleCallbackParam.getLogId())) {
+				callbackParamMap.put(handleCallbackParam.getLogId(), handleCallbackParam);
+			}
 		}
 
-		// handle msg
-		StringBuffer handleMsg = new StringBuffer();
-		if (log.getHandleMsg()!=null) {
-			handleMsg.append(log.getHandleMsg()).append("<br>");
-		}
-		if (handleCallbackParam.getHandleMsg() != null) {
-			handleMsg.append(handleCallbackParam.getHandleMsg());
+		// valid log item, log saved before trigger rpc, missing one not wait for
+		Map<Long, XxlJobLog> logMap = loadLogs(new ArrayList<Long>(callbackParamMap.keySet()));
+
+		Map<Long, ReturnT<String>> callbackResultMap = new HashMap<>();
+		List<XxlJobLog> finishLogs = new ArrayList<>();
+		for (HandleCallbackParam handleCallbackParam: callbackParamMap.values()) {
+			XxlJobLog log = logMap.get(handleCallbackParam.getLogId());
+			if (log == null) {
+				callbackResultMap.put(handleCallbackParam.getLogId(), new ReturnT<String>(ReturnT.FAIL_CODE, "log item not found."));
+				continue;
+			}
+			if (log.getHandleCode() > 0) {
+				callbackResultMap.put(handleCallbackParam.getLogId(), new ReturnT<String>(ReturnT.FAIL_CODE, "log repeate callback."));     // avoid repeat callback, trigger child job etc
+				continue;
+			}
+
+			// handle msg
+			StringBuffer handleMsg = new StringBuffer();
+			if (log.getHandleMsg()!=null) {
+				handleMsg.append(log.getHandleMsg()).append("<br>");
+			}
+			if (handleCallbackParam.getHandleMsg() != null) {
+				handleMsg.append(handleCallbackParam.getHandleMsg());
+			}
+
+			log.setHandleTime(new Date());
+			log.setHandleCode(handleCallbackParam.getHandleCode());
+			log.setHandleMsg(handleMsg.toString());
+			finishLogs.add(log);
+			callbackResultMap.put(handleCallbackParam.getLogId(), ReturnT.SUCCESS);
 		}
 
 		// success, save log
-		log.setHandleTime(new Date());
-		log.setHandleCode(handleCallbackParam.getHandleCode());
-		log.setHandleMsg(handleMsg.toString());
-		XxlJobCompleter.updateHandleInfoAndFinish(log);
+		if (!finishLogs.isEmpty()) {
+			finishLogs(finishLogs);
+		}
 
-		return ReturnT.SUCCESS;
+		// result in order
+		List<ReturnT<String>> callbackResultList = new ArrayList<>(callbackParamList.size());
+		Set<Long> resultLogIds = new HashSet<>();
+		for (HandleCallbackParam handleCallbackParam: callbackParamList) {
+			callbackResultList.add(resultLogIds.add(handleCallbackParam.getLogId())
+					? callbackResultMap.get(handleCallbackParam.getLogId())
+					: new ReturnT<String>(ReturnT.FAIL_CODE, "log repeate callback."));
+		}
+		return callbackResultList;
 	}
 
+	/**
+	 * load log by id, missing log not in map
+	 */
+	Map<Long, XxlJobLog> loadLogs(List<Long> logIds) {
+		Map<Long, XxlJobLog> logMap = new HashMap<>();
+		if (logIds.isEmpty()) {
+			return logMap;
+		}
+		List<XxlJobLog> logList = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().loadByIds(logIds);
+		for (XxlJobLog log: logList) {
+			logMap.put(log.getId(), log);
+		}
+		return logMap;
+	}
 
+	void finishLogs(List<XxlJobLog> logs) {
+		XxlJobCompleter.updateHandleInfoAndFinish(logs);
+	}
 
 }
@@ -0,0 +1,66 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.dao.XxlJobSequenceDao;
+
+/**
+ * log id allocator, reserve a segment of id from "xxl_job_sequence", hand out in memory
+ *
+ *      a、segment : one CAS update of max_id per STEP id, sequence shared by all admin;
+ *      b、upgrade : segment start after max existing log id, old auto increment id never reused;
+ *      c、order   : id unique, increasing within one admin, not across admin (log ordered by trigger_time);
+ */
+public class JobLogIdHelper {
+
+    private static final String SEQ_NAME = "xxl_job_log";
+    private static final int STEP = 1000;
+    private static final int RESERVE_RETRY = 10;
+
+    private static JobLogIdHelper instance = new JobLogIdHelper();
+    public static JobLogIdHelper getInstance(){
+        return instance;
+    }
+
+    private long nextId = 1;
+    private long maxId = 0;         // current segment [nextId, maxId]
+    private long logMaxId = -1;     // max log id when first reserve, -1 not loaded
+
+    /**
+     * next log id
+     */
+    public synchronized long nextId() {
+        if (nextId > maxId) {
+            long segmentMaxId = reserve(STEP);
+            nextId = segmentMaxId - STEP + 1;
+            maxId = segmentMaxId;
+        }
+        return nextId++;
+    }
+
+    /**
+     * reserve a segment from sequence table
+     *
+     * @param step
+     * @return  max id of reserved segment, segment is [return - step + 1, return]
+     */
+    long reserve(int step) {
+        XxlJobSequenceDao sequenceDao = XxlJobAdminConfig.getAdminConfig().getXxlJobSequenceDao();
+        if (logMaxId < 0) {
+            sequenceDao.init(SEQ_NAME);
+            logMaxId = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().findMaxId();
+        }
+
+        for (int i = 0; i < RESERVE_RETRY; i++) {
+            Long oldMaxId = sequenceDao.loadMaxId(SEQ_NAME);
+            if (oldMaxId == null) {
+                break;
+            }
+            long newMaxId = Math.max(oldMaxId, logMaxId) + step;
+            if (sequenceDao.updateMaxId(SEQ_NAME, oldMaxId, newMaxId) > 0) {
+                return newMaxId;
+            }
+        }
+        throw new RuntimeException("xxl-job, reserve log id segment fail, seqName = " + SEQ_NAME);
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.model.XxlJobLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * trigger log writer, log saved before rpc, trigger info updated after
+ *
+ *      a、group commit : log of concurrent trigger merged into one multi-row insert, trigger info into one batch update,
+ *                        trigger go on by the returned future (or wait for it);
+ *      b、fail         : batch insert / update fail, retry row by row, only bad row lost;
+ *      c、stop         : log queued before or during stop all written, by write thread or by the saving thread itself;
+ */
+public class JobLogWriteHelper {
+    private static Logger logger = LoggerFactory.getLogger(JobLogWriteHelper.class);
+
+    private static final int BATCH_SIZE = 100;
+    private static final long WAIT_TIMEOUT = 10 * 1000;
+
+    private static JobLogWriteHelper instance = new JobLogWriteHelper();
+    public static JobLogWriteHelper getInstance(){
+        return instance;
+    }
+
+    private static class PendingLog {
+        private final XxlJobLog jobLog;
+        private final boolean update;           // false: insert, true: update trigger info
+        private final CompletableFuture<Boolean> savedFuture = new CompletableFuture<>();
+
+        private PendingLog(XxlJobLog jobLog, boolean update) {
+            this.jobLog = jobLog;
+            this.update = update;
+        }
+    }
+
+    private final LinkedBlockingQueue<PendingLog> pendingQueue = new LinkedBlockingQueue<>();
+
+    private Thread writeThread;
+    private volatile boolean running = false;
+    private volatile boolean toStop = false;
+
+    public void start(){
+        writeThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+
+                List<PendingLog> batch = new ArrayList<>(BATCH_SIZE);
+                while (!toStop) {
+                    try {
+                        PendingLog first = pendingQueue.poll(1000, TimeUnit.MILLISECONDS);
+                        if (first == null) {
+                            continue;
+                        }
+                        batch.add(first);
+                        pendingQueue.drainTo(batch, BATCH_SIZE - 1);
+                        write(batch);
+                    } catch (Exception e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobLogWriteHelper#writeThread error:{}", e);
+                        }
+                    } finally {
+                        batch.clear();
+                    }
+                }
+
+                // write remain
+                running = false;
+                writeRemain();
+
+                logger.info(">>>>>>>>>>> xxl-job, JobLogWriteHelper#writeThread stop");
+            }
+        });
+        writeThread.setDaemon(true);
+        writeThread.setName("xxl-job, admin JobLogWriteHelper#writeThread");
+        running = true;
+        writeThread.start();
+    }
+
+    public void toStop(){
+        toStop = true;
+
+        if (writeThread != null) {
+            writeThread.interrupt();
+            try {
+                writeThread.join();
+            } catch (InterruptedException e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+    }
+
+
+    // ---------------------- write ----------------------
+
+    /**
+     * save trigger log, with id allocated, wait until written
+     *
+     * @param jobLog
+     * @return  true if saved
+     */
+    public boolean save(XxlJobLog jobLog) {
+        return saveAll(Collections.singletonList(jobLog)) == 1;
+    }
+
+    /**
+     * save trigger log of many shard, wait until all written
+     *
+     * @param jobLogs
+     * @return  saved count
+     */
+    public int saveAll(List<XxlJobLog> jobLogs) {
+        List<CompletableFuture<Boolean>> savedFutures = new ArrayList<>(jobLogs.size());
+        for (XxlJobLog jobLog: jobLogs) {
+            savedFutures.add(saveAsync(jobLog));
+        }
+
+        long deadline = System.currentTimeMillis() + WAIT_TIMEOUT;
+        int savedCount = 0;
+        for (int i = 0; i < savedFutures.size(); i++) {
+            try {
+                savedCount += savedFutures.get(i).get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS) ? 1 : 0;
+            } catch (Exception e) {
+                logger.warn(">>>>>>>>>>> xxl-job, trigger log save timeout, logId = {}", jobLogs.get(i).getId());
+            }
+        }
+        return savedCount;
+    }
+
+    /**
+     * save trigger log, not wait
+     *
+     * @param jobLog
+     * @return  future, completed with true if saved, false if fail; never exceptionally
+     */
+    public CompletableFuture<Boolean> saveAsync(XxlJobLog jobLog) {
+        return writeAsync(new PendingLog(jobLog, false));
+    }
+
+    /**
+     * update trigger info of saved log, not wait
+     *
+     * @param jobLog
+     * @return  future, completed with true if updated, false if fail; never exceptionally
+     */
+    public CompletableFuture<Boolean> updateAsync(XxlJobLog jobLog) {
+        return writeAsync(new PendingLog(jobLog, true));
+    }
+
+    private CompletableFuture<Boolean> writeAsync(PendingLog pendingLog) {
+        if (!running) {
+            pendingLog.savedFuture.complete(writeOne(pendingLog));
+            return pendingLog.savedFuture;
+        }
+
+        pendingQueue.offer(pendingLog);
+        if (!running) {
+            // write thread stopped while queued, it may have drained already
+            writeRemain();
+        }
+        return pendingLog.savedFuture;
+    }
+
+    private void writeRemain() {
+        List<PendingLog> batch = new ArrayList<>(BATCH_SIZE);
+        while (pendingQueue.drainTo(batch, BATCH_SIZE) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * insert first, update of a log only queued after its insert done
+     */
+    private void write(List<PendingLog> batch) {
+        List<PendingLog> saveList = new ArrayList<>(batch.size());
+        List<PendingLog> updateList = new ArrayList<>(batch.size());
+        for (PendingLog pendingLog: batch) {
+            (pendingLog.update ? updateList : saveList).add(pendingLog);
+        }
+        if (!saveList.isEmpty()) {
+            writeBatch(saveList, false);
+        }
+        if (!updateList.isEmpty()) {
+            writeBatch(updateList, true);
+        }
+    }
+
+    private void writeBatch(List<PendingLog> batch, boolean update) {
+        try {
+            List<XxlJobLog> logList = new ArrayList<>(batch.size());
+            for (PendingLog pendingLog: batch) {
+                logList.add(pendingLog.jobLog);
+            }
+            int ret = update
+                    ? XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateTriggerInfoBatch(logList)
+                    : XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().saveBatch(logList);
+            if (update && ret != logList.size()) {
+                throw new IllegalStateException("trigger info updated " + ret + " of " + logList.size());
+            }
+            for (PendingLog pendingLog: batch) {
+                pendingLog.savedFuture.complete(true);
+            }
+        } catch (Exception e) {
+            logger.error(">>>>>>>>>>> xxl-job, trigger log batch {} fail, retry one by one, size = {}", update ? "update" : "save", batch.size(), e);
+            for (PendingLog pendingLog: batch) {
+                pendingLog.savedFuture.complete(writeOne(pendingLog));
+            }
+        }
+    }
+
+    private boolean writeOne(PendingLog pendingLog) {
+        try {
+            if (pendingLog.update) {
+                return XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateTriggerInfo(pendingLog.jobLog) > 0;
+            }
+            XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().saveBatch(Collections.singletonList(pendingLog.jobLog));
+            return true;
+        } catch (Exception e) {
+            logger.error(">>>>>>>>>>> xxl-job, trigger log {} fail, logId = {}", pendingLog.update ? "update" : "save", pendingLog.jobLog.getId(), e);
+            return false;
+        }
+    }
+
+}
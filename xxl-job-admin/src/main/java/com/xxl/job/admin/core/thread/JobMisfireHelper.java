@@ -0,0 +1,264 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.trigger.TriggerTypeEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * misfire catch-up, FIRE_ONCE_NOW misfire trigger at limited rate instead of all at once
+ *
+ *      a、order  : most overdue first (earliest missed fire time), one pending misfire per job;
+ *      b、rate   : max "xxl.job.misfire.rate" trigger per second, pause when trigger pool queue over its max size;
+ *      c、fail   : trigger rejected, misfire put back and retried next round;
+ *      d、stop   : misfire not fired spilled to trigger overflow ("xxl_job_trigger_pending"), replayed by any admin;
+ *      e、report : catch-up progress logged every 10s until drained;
+ */
+public class JobMisfireHelper {
+    private static Logger logger = LoggerFactory.getLogger(JobMisfireHelper.class);
+
+    private static JobMisfireHelper instance = new JobMisfireHelper();
+    public static JobMisfireHelper getInstance(){
+        return instance;
+    }
+
+    private static final long REPORT_INTERVAL = 10 * 1000;
+
+    private static class MisfireItem {
+        private final int jobId;
+        private final int jobGroup;
+        private final long misfireTime;
+
+        private MisfireItem(int jobId, int jobGroup, long misfireTime) {
+            this.jobId = jobId;
+            this.jobGroup = jobGroup;
+            this.misfireTime = misfireTime;
+        }
+    }
+
+    private final PriorityQueue<MisfireItem> misfireQueue = new PriorityQueue<>(64, new Comparator<MisfireItem>() {
+        @Override
+        public int compare(MisfireItem o1, MisfireItem o2) {
+            int result = Long.compare(o1.misfireTime, o2.misfireTime);
+            return result != 0 ? result : Integer.compare(o1.jobId, o2.jobId);
+        }
+    });
+    private final Set<Integer> misfireJobIds = new HashSet<>();
+
+    private volatile long addCount = 0;
+    private volatile long fireCount = 0;
+
+    // rate limit, catch-up thread only
+    private int rate;
+    private int triggerQueueLimit;
+    private double tokens = 0;
+    private long lastTime;
+
+    private Thread catchUpThread;
+    private volatile boolean toStop = false;
+
+    public JobMisfireHelper() {
+    }
+
+    JobMisfireHelper(int rate, int triggerQueueLimit) {
+        this.rate = rate;
+        this.triggerQueueLimit = triggerQueueLimit;
+    }
+
+    public void start(){
+        rate = XxlJobAdminConfig.getAdminConfig().getMisfireRate();
+        triggerQueueLimit = XxlJobAdminConfig.getAdminConfig().getTriggerPoolFastMax();     // queued at most one pool of trigger
+        lastTime = System.currentTimeMillis();
+
+        catchUpThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+
+                long lastReportTime = 0;
+                boolean catchingUp = false;
+
+                while (!toStop) {
+                    try {
+                        long nowTime = System.currentTimeMillis();
+
+                        // fire, within rate and trigger pool capacity
+                        fire(nowTime);
+
+                        // report
+                        int pendingCount = getPendingCount();
+                        if (pendingCount > 0) {
+                            catchingUp = true;
+                            if (nowTime - lastReportTime >= REPORT_INTERVAL) {
+                                lastReportTime = nowTime;
+                                logger.info(">>>>>>>>>>> xxl-job, misfire catch-up progress, pending = {}, fired = {}, rate = {}/s", pendingCount, fireCount, rate);
+                            }
+                        } else if (catchingUp) {
+                            catchingUp = false;
+                            lastReportTime = 0;
+                            logger.info(">>>>>>>>>>> xxl-job, misfire catch-up finish, fired = {}", fireCount);
+                        }
+                    } catch (Exception e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobMisfireHelper#catchUpThread error:{}", e);
+                        }
+                    }
+
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(100);
+                    } catch (InterruptedException e) {
+                        if (!toStop) {
+                            logger.error(e.getMessage(), e);
+                        }
+                    }
+                }
+
+                logger.info(">>>>>>>>>>> xxl-job, JobMisfireHelper#catchUpThread stop");
+            }
+        });
+        catchUpThread.setDaemon(true);
+        catchUpThread.setName("xxl-job, admin JobMisfireHelper#catchUpThread");
+        catchUpThread.start();
+    }
+
+    public void toStop(){
+        toStop = true;
+
+        if (catchUpThread != null) {
+            catchUpThread.interrupt();
+            try {
+                catchUpThread.join();
+            } catch (InterruptedException e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+
+        // spill remain, trigger_next_time already moved on
+        int spillCount = 0;
+        int lostCount = 0;
+        MisfireItem item;
+        while ((item = poll()) != null) {
+            if (spill(item.jobId, item.jobGroup)) {
+                spillCount++;
+            } else {
+                lostCount++;
+            }
+        }
+        if (spillCount > 0 || lostCount > 0) {
+            logger.warn(">>>>>>>>>>> xxl-job, JobMisfireHelper stop, misfire not fired spilled = {}, lost = {}", spillCount, lostCount);
+        }
+    }
+
+
+    // ---------------------- fire ----------------------
+
+    /**
+     * fire misfire within rate and trigger pool capacity
+     *
+     * @param nowTime
+     * @return  fired count
+     */
+    int fire(long nowTime) {
+        tokens = Math.min(tokens + Math.max(nowTime - lastTime, 0) * rate / 1000.0, rate);
+        lastTime = nowTime;
+
+        int firedCount = 0;
+        while (tokens >= 1 && triggerQueueSize() < triggerQueueLimit) {
+            MisfireItem item = poll();
+            if (item == null) {
+                break;
+            }
+            if (!trigger(item.jobId, item.jobGroup)) {
+                putBack(item);
+                break;
+            }
+            tokens--;
+            fireCount++;
+            firedCount++;
+            logger.debug(">>>>>>>>>>> xxl-job, misfire catch-up trigger : jobId = {}, misfireTime = {}", item.jobId, item.misfireTime);
+        }
+        return firedCount;
+    }
+
+    int triggerQueueSize() {
+        return JobTriggerPoolHelper.getHelper().getQueueSize();
+    }
+
+    /**
+     * @return  false if rejected (queue full and spill fail)
+     */
+    boolean trigger(int jobId, int jobGroup) {
+        try {
+            JobTriggerPoolHelper.trigger(jobId, jobGroup, TriggerTypeEnum.MISFIRE, -1, null, null, null);
+            return true;
+        } catch (RejectedExecutionException e) {
+            logger.warn(">>>>>>>>>>> xxl-job, misfire catch-up trigger rejected, retry later, jobId = {}", jobId, e);
+            return false;
+        }
+    }
+
+    boolean spill(int jobId, int jobGroup) {
+        return JobTriggerOverflowHelper.getInstance().spill(jobId, jobGroup, TriggerTypeEnum.MISFIRE, -1, null, null, null);
+    }
+
+
+    // ---------------------- queue ----------------------
+
+    /**
+     * add misfire, ignore if job already waiting
+     *
+     * @param jobId
+     * @param jobGroup
+     * @param misfireTime   missed fire time
+     */
+    public void add(int jobId, int jobGroup, long misfireTime) {
+        synchronized (misfireQueue) {
+            if (misfireJobIds.add(jobId)) {
+                misfireQueue.offer(new MisfireItem(jobId, jobGroup, misfireTime));
+                addCount++;
+            }
+        }
+    }
+
+    /**
+     * put back polled misfire, same order; ignored if the job added again meanwhile
+     */
+    private void putBack(MisfireItem item) {
+        synchronized (misfireQueue) {
+            if (misfireJobIds.add(item.jobId)) {
+                misfireQueue.offer(item);
+            }
+        }
+    }
+
+    private MisfireItem poll() {
+        synchronized (misfireQueue) {
+            MisfireItem item = misfireQueue.poll();
+            if (item != null) {
+                misfireJobIds.remove(item.jobId);
+            }
+            return item;
+        }
+    }
+
+    public int getPendingCount() {
+        synchronized (misfireQueue) {
+            return misfireQueue.size();
+        }
+    }
+
+    public long getAddCount() {
+        return addCount;
+    }
+
+    public long getFireCount() {
+        return fireCount;
+    }
+
+}
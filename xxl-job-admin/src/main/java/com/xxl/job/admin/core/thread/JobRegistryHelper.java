@@ -3,6 +3,8 @@ package com.xxl.job.admin.core.thread;
 import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
 import com.xxl.job.admin.core.model.XxlJobGroup;
 import com.xxl.job.admin.core.model.XxlJobRegistry;
+import com.xxl.job.admin.core.route.ExecutorRouteStats;
+import com.xxl.job.admin.core.util.VirtualThreadUtil;
 import com.xxl.job.core.biz.model.RegistryParam;
 import com.xxl.job.core.biz.model.ReturnT;
 import com.xxl.job.core.enums.RegistryConfig;
@@ -25,32 +27,36 @@ public class JobRegistryHelper {
 		return instance;
 	}
 
-	private ThreadPoolExecutor registryOrRemoveThreadPool = null;
+	private ExecutorService registryOrRemoveThreadPool = null;
 	private Thread registryMonitorThread;
 	private volatile boolean toStop = false;
 
 	public void start(){
 
 		// for registry or remove
-		registryOrRemoveThreadPool = new ThreadPoolExecutor(
-				2,
-				10,
-				30L,
-				TimeUnit.SECONDS,
-				new LinkedBlockingQueue<Runnable>(2000),
-				new ThreadFactory() {
-					@Override
-					public Thread newThread(Runnable r) {
-						return new Thread(r, "xxl-job, admin JobRegistryMonitorHelper-registryOrRemoveThreadPool-" + r.hashCode());
-					}
-				},
-				new RejectedExecutionHandler() {
-					@Override
-					public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-						r.run();
-						logger.warn(">>>>>>>>>>> xxl-job, registry or remove too fast, match threadpool rejected handler(run now).");
-					}
-				});
+		if (XxlJobAdminConfig.getAdminConfig().isVirtualThreadEnabled()) {
+			registryOrRemoveThreadPool = VirtualThreadUtil.newLimitedExecutor("xxl-job, admin JobRegistryMonitorHelper-registryOrRemoveThreadPool-", 20, 3000);
+		} else {
+			registryOrRemoveThreadPool = new ThreadPoolExecutor(
+					2,
+					10,
+					30L,
+					TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(2000),
+					new ThreadFactory() {
+						@Override
+						public Thread newThread(Runnable r) {
+							return new Thread(r, "xxl-job, admin JobRegistryMonitorHelper-registryOrRemoveThreadPool-" + r.hashCode());
+						}
+					},
+					new RejectedExecutionHandler() {
+						@Override
+						public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+							r.run();
+							logger.warn(">>>>>>>>>>> xxl-job, registry or remove too fast, match threadpool rejected handler(run now).");
+						}
+					});
+		}
 
 		// for monitor
 		registryMonitorThread = new Thread(new Runnable() {
@@ -101,10 +107,14 @@ public class JobRegistryHelper {
 									addressListStr = addressListSB.toString();
 									addressListStr = addressListStr.substring(0, addressListStr.length()-1);
 								}
+								if (Objects.equals(addressListStr, group.getAddressList())) {
+									continue;	// not changed, keep version (trigger cache of all admin)
+								}
 								group.setAddressList(addressListStr);
 								group.setUpdateTime(new Date());
 
 								XxlJobAdminConfig.getAdminConfig().getXxlJobGroupDao().update(group);
+								JobTriggerCacheHelper.getInstance().removeJobGroup(group.getId());
 							}
 						}
 					} catch (Exception e) {
@@ -155,6 +165,9 @@ public class JobRegistryHelper {
 			return new ReturnT<String>(ReturnT.FAIL_CODE, "Illegal Argument.");
 		}
 
+		// executor load, in memory
+		ExecutorRouteStats.getInstance().updateLoad(registryParam.getRegistryValue(), registryParam.getLoad());
+
 		// async execute
 		registryOrRemoveThreadPool.execute(new Runnable() {
 			@Override
@@ -1,8 +1,12 @@
 package com.xxl.job.admin.core.thread;
 
 import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
-import com.xxl.job.admin.core.cron.CronExpression;
+import com.xxl.job.admin.core.cron.CronExpressionCache;
 import com.xxl.job.admin.core.model.XxlJobInfo;
+import com.xxl.job.admin.core.scheduler.JobScheduleIndex;
+import com.xxl.job.admin.core.scheduler.JobScheduleMetrics;
+import com.xxl.job.admin.core.scheduler.JobScheduleTuner;
+import com.xxl.job.admin.core.scheduler.JobTimeWheel;
 import com.xxl.job.admin.core.scheduler.MisfireStrategyEnum;
 import com.xxl.job.admin.core.scheduler.ScheduleTypeEnum;
 import com.xxl.job.admin.core.trigger.TriggerTypeEnum;
@@ -13,8 +17,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * @author xuxueli 2019-05-21
@@ -28,15 +32,29 @@ public class JobScheduleHelper {
     }
 
     public static final long PRE_READ_MS = 5000;    // pre read
+    private static final int SCHEDULE_UPDATE_BATCH = 500;   // max job per write-back statement
 
     private Thread scheduleThread;
     private Thread ringThread;
     private volatile boolean scheduleThreadToStop = false;
     private volatile boolean ringThreadToStop = false;
-    private volatile static Map<Integer, List<Integer>> ringData = new ConcurrentHashMap<>();
+    private JobTimeWheel timeWheel;
 
     public void start(){
 
+        // time wheel
+        timeWheel = new JobTimeWheel(new JobTimeWheel.Dispatcher() {
+            @Override
+            public void dispatch(int jobId, int jobGroup, long fireTime) {
+                try {
+                    JobScheduleMetrics.getInstance().recordFireLag(System.currentTimeMillis() - fireTime);
+                    JobTriggerPoolHelper.trigger(jobId, jobGroup, TriggerTypeEnum.CRON, -1, null, null, null);
+                } catch (Exception e) {
+                    logger.error(">>>>>>>>>>> xxl-job, time-ring trigger error, jobId = {}, fireTime = {}", jobId, fireTime, e);
+                }
+            }
+        }, System.currentTimeMillis());
+
         // schedule thread
         scheduleThread = new Thread(new Runnable() {
             @Override
@@ -51,155 +69,64 @@ public class JobScheduleHelper {
                 }
                 logger.info(">>>>>>>>> init xxl-job admin scheduler success.");
 
-                // pre-read count: treadpool-size * trigger-qps (each trigger cost 50ms, qps = 1000/50 = 20)
-                int preReadCount = (XxlJobAdminConfig.getAdminConfig().getTriggerPoolFastMax() + XxlJobAdminConfig.getAdminConfig().getTriggerPoolSlowMax()) * 20;
+                // pre-read count: treadpool-size * trigger-qps (qps = 1000 / measured trigger cost), adjust by backlog and burst
+                JobScheduleTuner scheduleTuner = new JobScheduleTuner(
+                        XxlJobAdminConfig.getAdminConfig().getTriggerPoolFastMax() + XxlJobAdminConfig.getAdminConfig().getTriggerPoolSlowMax(),
+                        PRE_READ_MS,
+                        XxlJobAdminConfig.getAdminConfig().getScheduleMaxLag());
 
                 while (!scheduleThreadToStop) {
 
                     // Scan Job
                     long start = System.currentTimeMillis();
 
-                    Connection conn = null;
-                    Boolean connAutoCommit = null;
-                    PreparedStatement preparedStatement = null;
-
-                    boolean preReadSuc = true;
+                    long scanWait = Math.min(1000, XxlJobAdminConfig.getAdminConfig().getScheduleMaxLag());
+                    int dueCount = 0;
                     try {
 
-                        conn = XxlJobAdminConfig.getAdminConfig().getDataSource().getConnection();
-                        connAutoCommit = conn.getAutoCommit();
-                        conn.setAutoCommit(false);
-
-                        preparedStatement = conn.prepareStatement(  "select * from xxl_job_lock where lock_name = 'schedule_lock' for update" );
-                        preparedStatement.execute();
+                        // 0、sync schedule index
+                        syncScheduleIndex();
 
-                        // tx start
-
-                        // 1、pre read
+                        // 1、pre read, due job of owned partition from schedule index
                         long nowTime = System.currentTimeMillis();
-                        List<XxlJobInfo> scheduleList = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().scheduleJobQuery(nowTime + PRE_READ_MS, preReadCount);
-                        if (scheduleList!=null && scheduleList.size()>0) {
-                            // 2、push time-ring
-                            for (XxlJobInfo jobInfo: scheduleList) {
-
-                                // time-ring jump
-                                if (nowTime > jobInfo.getTriggerNextTime() + PRE_READ_MS) {
-                                    // 2.1、trigger-expire > 5s：pass && make next-trigger-time
-                                    logger.warn(">>>>>>>>>>> xxl-job, schedule misfire, jobId = " + jobInfo.getId());
-
-                                    // 1、misfire match
-                                    MisfireStrategyEnum misfireStrategyEnum = MisfireStrategyEnum.match(jobInfo.getMisfireStrategy(), MisfireStrategyEnum.DO_NOTHING);
-                                    if (MisfireStrategyEnum.FIRE_ONCE_NOW == misfireStrategyEnum) {
-                                        // FIRE_ONCE_NOW 》 trigger
-                                        JobTriggerPoolHelper.trigger(jobInfo.getId(), TriggerTypeEnum.MISFIRE, -1, null, null, null);
-                                        logger.debug(">>>>>>>>>>> xxl-job, schedule push trigger : jobId = " + jobInfo.getId() );
-                                    }
-
-                                    // 2、fresh next
-                                    refreshNextValidTime(jobInfo, new Date());
-
-                                } else if (nowTime > jobInfo.getTriggerNextTime()) {
-                                    // 2.2、trigger-expire < 5s：direct-trigger && make next-trigger-time
-
-                                    // 1、trigger
-                                    JobTriggerPoolHelper.trigger(jobInfo.getId(), TriggerTypeEnum.CRON, -1, null, null, null);
-                                    logger.debug(">>>>>>>>>>> xxl-job, schedule push trigger : jobId = " + jobInfo.getId() );
-
-                                    // 2、fresh next
-                                    refreshNextValidTime(jobInfo, new Date());
-
-                                    // next-trigger-time in 5s, pre-read again
-                                    if (jobInfo.getTriggerStatus()==1 && nowTime + PRE_READ_MS > jobInfo.getTriggerNextTime()) {
-
-                                        // 1、make ring second
-                                        int ringSecond = (int)((jobInfo.getTriggerNextTime()/1000)%60);
-
-                                        // 2、push time ring
-                                        pushTimeRing(ringSecond, jobInfo.getId());
-
-                                        // 3、fresh next
-                                        refreshNextValidTime(jobInfo, new Date(jobInfo.getTriggerNextTime()));
-
-                                    }
-
-                                } else {
-                                    // 2.3、trigger-pre-read：time-ring trigger && make next-trigger-time
-
-                                    // 1、make ring second
-                                    int ringSecond = (int)((jobInfo.getTriggerNextTime()/1000)%60);
-
-                                    // 2、push time ring
-                                    pushTimeRing(ringSecond, jobInfo.getId());
-
-                                    // 3、fresh next
-                                    refreshNextValidTime(jobInfo, new Date(jobInfo.getTriggerNextTime()));
-
-                                }
-
+                        boolean[] ownedPartitions = JobSchedulePartitionHelper.getInstance().getOwnedPartitions();
+                        int preReadCount = scheduleTuner.preReadCount(JobTriggerPoolHelper.getHelper().getTriggerCostAvg(), JobTriggerPoolHelper.getHelper().getQueueSize());
+                        List<Integer> dueJobIds = JobScheduleIndex.getInstance().findDue(nowTime + PRE_READ_MS, preReadCount, ownedPartitions);
+                        dueCount = dueJobIds.size();
+
+                        // group by partition, each partition locked by itself (lock and load only when something due)
+                        Map<Integer, List<Integer>> partitionJobIds = new TreeMap<>();
+                        for (Integer jobId: dueJobIds) {
+                            int partitionId = JobSchedulePartitionHelper.partitionOf(jobId, ownedPartitions.length);
+                            List<Integer> jobIds = partitionJobIds.get(partitionId);
+                            if (jobIds == null) {
+                                jobIds = new ArrayList<>();
+                                partitionJobIds.put(partitionId, jobIds);
                             }
-
-                            // 3、update trigger info
-                            for (XxlJobInfo jobInfo: scheduleList) {
-                                XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().scheduleUpdate(jobInfo);
-                            }
-
-                        } else {
-                            preReadSuc = false;
+                            jobIds.add(jobId);
+                        }
+                        for (Map.Entry<Integer, List<Integer>> item: partitionJobIds.entrySet()) {
+                            schedulePartition(item.getKey(), ownedPartitions.length, item.getValue());
                         }
 
-                        // tx stop
-
+                        // 2、next scan: at once under burst, else when earliest job enter pre-read window (max lag)
+                        scanWait = scheduleTuner.scanWait(dueJobIds.size(), JobScheduleIndex.getInstance().earliestNextTime(), System.currentTimeMillis());
 
                     } catch (Exception e) {
                         if (!scheduleThreadToStop) {
                             logger.error(">>>>>>>>>>> xxl-job, JobScheduleHelper#scheduleThread error:{}", e);
                         }
-                    } finally {
-
-                        // commit
-                        if (conn != null) {
-                            try {
-                                conn.commit();
-                            } catch (SQLException e) {
-                                if (!scheduleThreadToStop) {
-                                    logger.error(e.getMessage(), e);
-                                }
-                            }
-                            try {
-                                conn.setAutoCommit(connAutoCommit);
-                            } catch (SQLException e) {
-                                if (!scheduleThreadToStop) {
-                                    logger.error(e.getMessage(), e);
-                                }
-                            }
-                            try {
-                                conn.close();
-                            } catch (SQLException e) {
-                                if (!scheduleThreadToStop) {
-                                    logger.error(e.getMessage(), e);
-                                }
-                            }
-                        }
-
-                        // close PreparedStatement
-                        if (null != preparedStatement) {
-                            try {
-                                preparedStatement.close();
-                            } catch (SQLException e) {
-                                if (!scheduleThreadToStop) {
-                                    logger.error(e.getMessage(), e);
-                                }
-                            }
-                        }
                     }
                     long cost = System.currentTimeMillis()-start;
+                    JobScheduleMetrics.getInstance().recordScan(cost, dueCount);
+                    if (cost > 1000) {
+                        logger.debug(">>>>>>>>>>> xxl-job, schedule scan overtime, cost = {}ms", cost);
+                    }
 
-
-                    // Wait seconds, align second
-                    if (cost < 1000) {  // scan-overtime, not wait
+                    // Wait
+                    if (scanWait > 0) {
                         try {
-                            // pre-read period: success > scan each second; fail > skip this period;
-                            TimeUnit.MILLISECONDS.sleep((preReadSuc?1000:PRE_READ_MS) - System.currentTimeMillis()%1000);
+                            TimeUnit.MILLISECONDS.sleep(scanWait);
                         } catch (InterruptedException e) {
                             if (!scheduleThreadToStop) {
                                 logger.error(e.getMessage(), e);
@@ -224,42 +151,29 @@ public class JobScheduleHelper {
 
                 while (!ringThreadToStop) {
 
-                    // align second
+                    long nextTickTime = Long.MAX_VALUE;
                     try {
-                        TimeUnit.MILLISECONDS.sleep(1000 - System.currentTimeMillis() % 1000);
-                    } catch (InterruptedException e) {
-                        if (!ringThreadToStop) {
-                            logger.error(e.getMessage(), e);
-                        }
-                    }
+                        // 1、move pushed job into wheel
+                        timeWheel.drain();
 
-                    try {
-                        // second data
-                        List<Integer> ringItemData = new ArrayList<>();
-                        int nowSecond = Calendar.getInstance().get(Calendar.SECOND);   // 避免处理耗时太长，跨过刻度，向前校验一个刻度；
-                        for (int i = 0; i < 2; i++) {
-                            List<Integer> tmpData = ringData.remove( (nowSecond+60-i)%60 );
-                            if (tmpData != null) {
-                                ringItemData.addAll(tmpData);
-                            }
+                        // 2、fire each due tick, overrun tick catch up here
+                        int fireCount = timeWheel.advance(System.currentTimeMillis());
+                        if (fireCount > 0) {
+                            logger.debug(">>>>>>>>>>> xxl-job, time-ring beat, fire count : {}", fireCount);
                         }
 
-                        // ring trigger
-                        logger.debug(">>>>>>>>>>> xxl-job, time-ring beat : " + nowSecond + " = " + Arrays.asList(ringItemData) );
-                        if (ringItemData.size() > 0) {
-                            // do trigger
-                            for (int jobId: ringItemData) {
-                                // do trigger
-                                JobTriggerPoolHelper.trigger(jobId, TriggerTypeEnum.CRON, -1, null, null, null);
-                            }
-                            // clear
-                            ringItemData.clear();
-                        }
+                        nextTickTime = timeWheel.nextTickTime();
                     } catch (Exception e) {
                         if (!ringThreadToStop) {
                             logger.error(">>>>>>>>>>> xxl-job, JobScheduleHelper#ringThread error:{}", e);
                         }
                     }
+
+                    // wait next tick (max 1s), or wake up by push
+                    long waitMs = Math.min(nextTickTime - System.currentTimeMillis(), 1000);
+                    if (waitMs > 0) {
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(waitMs));
+                    }
                 }
                 logger.info(">>>>>>>>>>> xxl-job, JobScheduleHelper#ringThread stop");
             }
@@ -269,8 +183,239 @@ public class JobScheduleHelper {
         ringThread.start();
     }
 
-    private void refreshNextValidTime(XxlJobInfo jobInfo, Date fromTime) throws Exception {
-        Date nextValidTime = generateNextValidTime(jobInfo, fromTime);
+    // ---------------------- schedule partition ----------------------
+
+    /**
+     * schedule due job of one partition, in one tx
+     *
+     *      partition count = 1 : lock "schedule_lock", same as before
+     *      partition count > 1 : lock partition row, admin nodes schedule different partition in parallel
+     *
+     * @return  scheduled job count
+     */
+    private int schedulePartition(int partitionId, int partitionCount, List<Integer> dueJobIds) {
+
+        Connection conn = null;
+        Boolean connAutoCommit = null;
+        PreparedStatement preparedStatement = null;
+        long lockTime = 0;
+
+        int scheduleCount = 0;
+        try {
+
+            conn = XxlJobAdminConfig.getAdminConfig().getDataSource().getConnection();
+            connAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            long lockStart = System.currentTimeMillis();
+            if (partitionCount > 1) {
+                preparedStatement = conn.prepareStatement(  "select * from xxl_job_schedule_partition where partition_id = ? for update" );
+                preparedStatement.setInt(1, partitionId);
+            } else {
+                preparedStatement = conn.prepareStatement(  "select * from xxl_job_lock where lock_name = 'schedule_lock' for update" );
+            }
+            preparedStatement.execute();
+            lockTime = System.currentTimeMillis();
+            long lockCost = lockTime - lockStart;
+
+            // tx start
+
+            // reload due job under lock, index item may be stale
+            long queryStart = System.currentTimeMillis();
+            List<XxlJobInfo> loadList = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().scheduleJobQueryByIds(dueJobIds);
+            long nowTime = System.currentTimeMillis();
+            long queryCost = nowTime - queryStart;
+            List<XxlJobInfo> scheduleList = filterDueJobs(dueJobIds, loadList, nowTime + PRE_READ_MS);
+            int misfireCount = 0;
+            long updateCost = 0;
+            if (scheduleList.size() > 0) {
+                // 2、push time-ring (next time computed once per expression and fire time, shared by cohort)
+                ScheduleCohort scheduleCohort = new ScheduleCohort();
+                for (XxlJobInfo jobInfo: scheduleList) {
+
+                    // time-ring jump
+                    if (nowTime > jobInfo.getTriggerNextTime() + PRE_READ_MS) {
+                        // 2.1、trigger-expire > 5s：pass && make next-trigger-time
+                        logger.warn(">>>>>>>>>>> xxl-job, schedule misfire, jobId = " + jobInfo.getId());
+                        misfireCount++;
+
+                        // 1、misfire match
+                        MisfireStrategyEnum misfireStrategyEnum = MisfireStrategyEnum.match(jobInfo.getMisfireStrategy(), MisfireStrategyEnum.DO_NOTHING);
+                        if (MisfireStrategyEnum.FIRE_ONCE_NOW == misfireStrategyEnum) {
+                            // FIRE_ONCE_NOW 》 catch-up trigger, rate limited, most overdue first
+                            JobMisfireHelper.getInstance().add(jobInfo.getId(), jobInfo.getJobGroup(), jobInfo.getTriggerNextTime());
+                            logger.debug(">>>>>>>>>>> xxl-job, schedule push misfire catch-up : jobId = " + jobInfo.getId() );
+                        }
+
+                        // 2、fresh next
+                        refreshNextValidTime(jobInfo, new Date(), scheduleCohort);
+
+                    } else if (nowTime > jobInfo.getTriggerNextTime()) {
+                        // 2.2、trigger-expire < 5s：direct-trigger && make next-trigger-time
+
+                        // 1、trigger
+                        JobScheduleMetrics.getInstance().recordFireLag(System.currentTimeMillis() - jobInfo.getTriggerNextTime());
+                        JobTriggerPoolHelper.trigger(jobInfo.getId(), jobInfo.getJobGroup(), TriggerTypeEnum.CRON, -1, null, null, null);
+                        logger.debug(">>>>>>>>>>> xxl-job, schedule push trigger : jobId = " + jobInfo.getId() );
+
+                        // 2、fresh next
+                        refreshNextValidTime(jobInfo, new Date(), scheduleCohort);
+
+                        // next-trigger-time in 5s, pre-read again
+                        if (jobInfo.getTriggerStatus()==1 && nowTime + PRE_READ_MS > jobInfo.getTriggerNextTime()) {
+
+                            // 1、push time ring
+                            pushTimeRing(jobInfo.getId(), jobInfo.getJobGroup(), jobInfo.getTriggerNextTime());
+
+                            // 2、fresh next
+                            refreshNextValidTime(jobInfo, new Date(jobInfo.getTriggerNextTime()), scheduleCohort);
+
+                        }
+
+                    } else {
+                        // 2.3、trigger-pre-read：time-ring trigger && make next-trigger-time
+
+                        // 1、push time ring
+                        pushTimeRing(jobInfo.getId(), jobInfo.getJobGroup(), jobInfo.getTriggerNextTime());
+
+                        // 2、fresh next
+                        refreshNextValidTime(jobInfo, new Date(jobInfo.getTriggerNextTime()), scheduleCohort);
+
+                    }
+
+                }
+
+                // publish time ring, wake up ring thread
+                if (timeWheel.flush()) {
+                    LockSupport.unpark(ringThread);
+                }
+
+                // 3、update trigger info, batch write-back (one statement per batch, short lock hold)
+                long updateStart = System.currentTimeMillis();
+                for (int i = 0; i < scheduleList.size(); i += SCHEDULE_UPDATE_BATCH) {
+                    List<XxlJobInfo> batchList = scheduleList.subList(i, Math.min(i + SCHEDULE_UPDATE_BATCH, scheduleList.size()));
+                    XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().scheduleUpdateBatch(batchList);
+                }
+                updateCost = System.currentTimeMillis() - updateStart;
+
+                // 4、fresh schedule index
+                for (XxlJobInfo jobInfo: scheduleList) {
+                    JobScheduleIndex.getInstance().put(jobInfo);
+                }
+
+                scheduleCount = scheduleList.size();
+            }
+            JobScheduleMetrics.getInstance().recordPartitionScan(lockCost, queryCost, scheduleList.size(), misfireCount, updateCost);
+
+            // tx stop
+
+        } catch (Exception e) {
+            if (!scheduleThreadToStop) {
+                logger.error(">>>>>>>>>>> xxl-job, JobScheduleHelper#scheduleThread error, partitionId = {}", partitionId, e);
+            }
+        } finally {
+
+            // commit
+            if (conn != null) {
+                try {
+                    conn.commit();
+                } catch (SQLException e) {
+                    if (!scheduleThreadToStop) {
+                        logger.error(e.getMessage(), e);
+                    }
+                }
+                if (lockTime > 0) {
+                    // lock hold, lock acquired to commit done
+                    JobScheduleMetrics.getInstance().recordLockHold(System.currentTimeMillis() - lockTime);
+                }
+                try {
+                    conn.setAutoCommit(connAutoCommit);
+                } catch (SQLException e) {
+                    if (!scheduleThreadToStop) {
+                        logger.error(e.getMessage(), e);
+                    }
+                }
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    if (!scheduleThreadToStop) {
+                        logger.error(e.getMessage(), e);
+                    }
+                }
+            }
+
+            // close PreparedStatement
+            if (null != preparedStatement) {
+                try {
+                    preparedStatement.close();
+                } catch (SQLException e) {
+                    if (!scheduleThreadToStop) {
+                        logger.error(e.getMessage(), e);
+                    }
+                }
+            }
+        }
+        return scheduleCount;
+    }
+
+    // ---------------------- schedule index ----------------------
+
+    private static final long INDEX_SYNC_INTERVAL = 1000;               // incremental sync, by update_time
+    private static final long INDEX_SYNC_OVERLAP = 10 * 1000;           // tolerate admin clock skew and slow commit
+    private static final long INDEX_FULL_SYNC_INTERVAL = 5 * 60 * 1000; // full sync, repair drift
+
+    private long indexSyncTime = 0;
+    private long indexFullSyncTime = 0;
+
+    /**
+     * keep schedule index current with changes made by other admin node
+     */
+    private void syncScheduleIndex() {
+        long nowTime = System.currentTimeMillis();
+        if (!JobScheduleIndex.getInstance().isLoaded() || nowTime - indexFullSyncTime > INDEX_FULL_SYNC_INTERVAL) {
+            List<XxlJobInfo> jobInfoList = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().scheduleIndexQuery(null);
+            JobScheduleIndex.getInstance().load(jobInfoList);
+
+            indexFullSyncTime = nowTime;
+            indexSyncTime = nowTime;
+            logger.info(">>>>>>>>>>> xxl-job, schedule index full sync, size = {}", JobScheduleIndex.getInstance().size());
+        } else if (nowTime - indexSyncTime >= INDEX_SYNC_INTERVAL) {
+            List<XxlJobInfo> jobInfoList = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().scheduleIndexQuery(new Date(indexSyncTime - INDEX_SYNC_OVERLAP));
+            if (jobInfoList != null) {
+                for (XxlJobInfo jobInfo: jobInfoList) {
+                    JobScheduleIndex.getInstance().put(jobInfo);
+                }
+            }
+            indexSyncTime = nowTime;
+        }
+    }
+
+    /**
+     * drop stale index item: removed, stopped, or already scheduled by other admin node
+     */
+    private List<XxlJobInfo> filterDueJobs(List<Integer> dueJobIds, List<XxlJobInfo> loadList, long maxNextTime) {
+        List<XxlJobInfo> scheduleList = new ArrayList<>();
+        Set<Integer> loadJobIds = new HashSet<>();
+        if (loadList != null) {
+            for (XxlJobInfo jobInfo: loadList) {
+                loadJobIds.add(jobInfo.getId());
+                if (jobInfo.getTriggerStatus() == 1 && jobInfo.getTriggerNextTime() <= maxNextTime) {
+                    scheduleList.add(jobInfo);
+                } else {
+                    JobScheduleIndex.getInstance().put(jobInfo);
+                }
+            }
+        }
+        for (Integer jobId: dueJobIds) {
+            if (!loadJobIds.contains(jobId)) {
+                JobScheduleIndex.getInstance().remove(jobId);
+            }
+        }
+        return scheduleList;
+    }
+
+    private void refreshNextValidTime(XxlJobInfo jobInfo, Date fromTime, ScheduleCohort scheduleCohort) throws Exception {
+        Date nextValidTime = scheduleCohort.generateNextValidTime(jobInfo, fromTime);
         if (nextValidTime != null) {
             jobInfo.setTriggerLastTime(jobInfo.getTriggerNextTime());
             jobInfo.setTriggerNextTime(nextValidTime.getTime());
@@ -283,16 +428,39 @@ public class JobScheduleHelper {
         }
     }
 
-    private void pushTimeRing(int ringSecond, int jobId){
-        // push async ring
-        List<Integer> ringItemData = ringData.get(ringSecond);
-        if (ringItemData == null) {
-            ringItemData = new ArrayList<Integer>();
-            ringData.put(ringSecond, ringItemData);
+    /**
+     * jobs sharing expression and fire time (same cohort) share next time, within one scan
+     */
+    private static class ScheduleCohort {
+        private final Map<String, long[]> cronNextTime = new HashMap<>();     // expression -> {fromTime, nextTime}
+
+        private Date generateNextValidTime(XxlJobInfo jobInfo, Date fromTime) throws Exception {
+            if (ScheduleTypeEnum.CRON != ScheduleTypeEnum.match(jobInfo.getScheduleType(), null)) {
+                return JobScheduleHelper.generateNextValidTime(jobInfo, fromTime);
+            }
+
+            long[] cohort = cronNextTime.get(jobInfo.getScheduleConf());
+            if (cohort == null || cohort[0] != fromTime.getTime()) {
+                Date nextValidTime = JobScheduleHelper.generateNextValidTime(jobInfo, fromTime);
+                cohort = new long[]{fromTime.getTime(), nextValidTime != null ? nextValidTime.getTime() : -1};
+                cronNextTime.put(jobInfo.getScheduleConf(), cohort);
+            }
+            return cohort[1] >= 0 ? new Date(cohort[1]) : null;
         }
-        ringItemData.add(jobId);
+    }
+
+    /**
+     * job waiting in time ring
+     */
+    public int getTimeRingSize() {
+        return timeWheel != null ? timeWheel.size() : 0;
+    }
+
+    private void pushTimeRing(int jobId, int jobGroup, long fireTime){
+        // push async ring
+        timeWheel.push(jobId, jobGroup, fireTime);
 
-        logger.debug(">>>>>>>>>>> xxl-job, schedule push time-ring : " + ringSecond + " = " + Arrays.asList(ringItemData) );
+        logger.debug(">>>>>>>>>>> xxl-job, schedule push time-ring : jobId = {}, fireTime = {}", jobId, fireTime);
     }
 
     public void toStop(){
@@ -315,16 +483,7 @@ public class JobScheduleHelper {
         }
 
         // if has ring data
-        boolean hasRingData = false;
-        if (!ringData.isEmpty()) {
-            for (int second : ringData.keySet()) {
-                List<Integer> tmpData = ringData.get(second);
-                if (tmpData!=null && tmpData.size()>0) {
-                    hasRingData = true;
-                    break;
-                }
-            }
-        }
+        boolean hasRingData = timeWheel.hasData();
         if (hasRingData) {
             try {
                 TimeUnit.SECONDS.sleep(8);
@@ -358,7 +517,7 @@ public class JobScheduleHelper {
     public static Date generateNextValidTime(XxlJobInfo jobInfo, Date fromTime) throws Exception {
         ScheduleTypeEnum scheduleTypeEnum = ScheduleTypeEnum.match(jobInfo.getScheduleType(), null);
         if (ScheduleTypeEnum.CRON == scheduleTypeEnum) {
-            Date nextValidTime = new CronExpression(jobInfo.getScheduleConf()).getNextValidTimeAfter(fromTime);
+            Date nextValidTime = CronExpressionCache.getInstance().get(jobInfo.getScheduleConf(), TimeZone.getDefault()).getNextValidTimeAfter(fromTime);
             return nextValidTime;
         } else if (ScheduleTypeEnum.FIX_RATE == scheduleTypeEnum /*|| ScheduleTypeEnum.FIX_DELAY == scheduleTypeEnum*/) {
             return new Date(fromTime.getTime() + Integer.valueOf(jobInfo.getScheduleConf())*1000 );
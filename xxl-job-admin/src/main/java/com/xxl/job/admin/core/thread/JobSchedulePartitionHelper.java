@@ -0,0 +1,227 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.model.XxlJobRegistry;
+import com.xxl.job.admin.core.model.XxlJobSchedulePartition;
+import com.xxl.job.core.enums.RegistryConfig;
+import com.xxl.job.core.util.IpUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * schedule partition lease
+ *
+ *      a、job belong to partition (job_id % partition count), each partition has one lease row (also the schedule lock row);
+ *      b、admin node register itself (registry group ADMIN), fair share = ceil(partition count / live admin count);
+ *      c、under share: claim free partition; over share: release extra when some live admin is under share;
+ *      d、partition free longer than one lease: claimed by anyone, never leave partition unscheduled;
+ *
+ * lease only decide who scans which partition; schedule correctness still guarded by partition row lock.
+ */
+public class JobSchedulePartitionHelper {
+    private static Logger logger = LoggerFactory.getLogger(JobSchedulePartitionHelper.class);
+
+    private static JobSchedulePartitionHelper instance = new JobSchedulePartitionHelper();
+    public static JobSchedulePartitionHelper getInstance(){
+        return instance;
+    }
+
+    public static final long LEASE_BEAT_MS = 2000;
+    public static final long LEASE_TIMEOUT_MS = LEASE_BEAT_MS * 5;
+    private static final String ADMIN_REGISTRY_KEY = "xxl-job-admin";
+
+    private Thread leaseThread;
+    private volatile boolean toStop = false;
+
+    private int partitionCount = 1;
+    private String nodeAddress;
+    private volatile boolean[] ownedPartitions = new boolean[]{true};
+
+    public void start(){
+        partitionCount = XxlJobAdminConfig.getAdminConfig().getSchedulePartition();
+        nodeAddress = IpUtil.getIpPort(XxlJobAdminConfig.getAdminConfig().getServerPort());
+        if (partitionCount <= 1) {
+            // single partition, all admin share "schedule_lock", no lease
+            ownedPartitions = new boolean[]{true};
+            return;
+        }
+        ownedPartitions = new boolean[partitionCount];
+
+        leaseThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+
+                // init partition row
+                for (int i = 0; i < partitionCount; i++) {
+                    try {
+                        XxlJobAdminConfig.getAdminConfig().getXxlJobSchedulePartitionDao().init(i);
+                    } catch (Exception e) {
+                        logger.error(">>>>>>>>>>> xxl-job, schedule partition init error, partitionId = {}", i, e);
+                    }
+                }
+
+                while (!toStop) {
+                    try {
+                        beat();
+                    } catch (Exception e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobSchedulePartitionHelper#leaseThread error:{}", e);
+                        }
+                    }
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(LEASE_BEAT_MS);
+                    } catch (InterruptedException e) {
+                        if (!toStop) {
+                            logger.error(e.getMessage(), e);
+                        }
+                    }
+                }
+
+                // release all
+                try {
+                    release();
+                } catch (Exception e) {
+                    logger.error(e.getMessage(), e);
+                }
+                logger.info(">>>>>>>>>>> xxl-job, JobSchedulePartitionHelper#leaseThread stop");
+            }
+        });
+        leaseThread.setDaemon(true);
+        leaseThread.setName("xxl-job, admin JobSchedulePartitionHelper#leaseThread");
+        leaseThread.start();
+    }
+
+    public void toStop(){
+        toStop = true;
+        ownedPartitions = new boolean[partitionCount];
+
+        if (leaseThread != null) {
+            leaseThread.interrupt();
+            try {
+                leaseThread.join();
+            } catch (InterruptedException e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+    }
+
+
+    // ---------------------- lease ----------------------
+
+    private void beat() {
+        long nowTime = System.currentTimeMillis();
+
+        // 1、registry admin node
+        int ret = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().registryUpdate(RegistryConfig.RegistType.ADMIN.name(), ADMIN_REGISTRY_KEY, nodeAddress, new Date());
+        if (ret < 1) {
+            XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().registrySave(RegistryConfig.RegistType.ADMIN.name(), ADMIN_REGISTRY_KEY, nodeAddress, new Date());
+        }
+
+        // 2、live admin node
+        Set<String> liveNodes = new HashSet<>();
+        liveNodes.add(nodeAddress);
+        List<XxlJobRegistry> registryList = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().findAll((int) (LEASE_TIMEOUT_MS / 1000), new Date());
+        if (registryList != null) {
+            for (XxlJobRegistry item: registryList) {
+                if (RegistryConfig.RegistType.ADMIN.name().equals(item.getRegistryGroup())) {
+                    liveNodes.add(item.getRegistryValue());
+                }
+            }
+        }
+        int maxShare = (partitionCount + liveNodes.size() - 1) / liveNodes.size();
+        int minShare = partitionCount / liveNodes.size();
+
+        // 3、partition owner
+        List<XxlJobSchedulePartition> partitionList = XxlJobAdminConfig.getAdminConfig().getXxlJobSchedulePartitionDao().findAll(partitionCount);
+        Map<String, Integer> ownerCount = new HashMap<>();
+        List<Integer> owned = new ArrayList<>();
+        List<XxlJobSchedulePartition> free = new ArrayList<>();
+        for (XxlJobSchedulePartition partition: partitionList) {
+            boolean leased = partition.getLeaseOwner() != null && partition.getLeaseExpireTime() >= nowTime;
+            if (nodeAddress.equals(partition.getLeaseOwner())) {
+                owned.add(partition.getPartitionId());
+            } else if (leased) {
+                Integer count = ownerCount.get(partition.getLeaseOwner());
+                ownerCount.put(partition.getLeaseOwner(), count != null ? count + 1 : 1);
+            } else {
+                free.add(partition);
+            }
+        }
+        boolean someoneUnderShare = false;
+        for (String liveNode: liveNodes) {
+            if (!liveNode.equals(nodeAddress)) {
+                Integer count = ownerCount.get(liveNode);
+                if (count == null || count < minShare) {
+                    someoneUnderShare = true;
+                    break;
+                }
+            }
+        }
+
+        // 4、release extra, keep lowest ids
+        while (owned.size() > maxShare && someoneUnderShare) {
+            int partitionId = owned.remove(owned.size() - 1);
+            XxlJobAdminConfig.getAdminConfig().getXxlJobSchedulePartitionDao().release(partitionId, nodeAddress, nowTime);
+            logger.info(">>>>>>>>>>> xxl-job, schedule partition release, partitionId = {}, node = {}", partitionId, nodeAddress);
+        }
+
+        // 5、renew owned
+        long leaseExpireTime = nowTime + LEASE_TIMEOUT_MS;
+        Iterator<Integer> ownedIterator = owned.iterator();
+        while (ownedIterator.hasNext()) {
+            int partitionId = ownedIterator.next();
+            if (XxlJobAdminConfig.getAdminConfig().getXxlJobSchedulePartitionDao().claim(partitionId, nodeAddress, nowTime, leaseExpireTime) < 1) {
+                ownedIterator.remove();
+            }
+        }
+
+        // 6、claim free: under share, or orphan (free over one lease)
+        for (XxlJobSchedulePartition partition: free) {
+            boolean orphan = partition.getLeaseExpireTime() < nowTime - LEASE_TIMEOUT_MS;
+            if (owned.size() < maxShare || orphan) {
+                int claimRet = XxlJobAdminConfig.getAdminConfig().getXxlJobSchedulePartitionDao().claim(partition.getPartitionId(), nodeAddress, nowTime, leaseExpireTime);
+                if (claimRet > 0) {
+                    owned.add(partition.getPartitionId());
+                    logger.info(">>>>>>>>>>> xxl-job, schedule partition claim, partitionId = {}, node = {}", partition.getPartitionId(), nodeAddress);
+                }
+            }
+        }
+
+        // 7、publish
+        boolean[] newOwnedPartitions = new boolean[partitionCount];
+        for (int partitionId: owned) {
+            newOwnedPartitions[partitionId] = true;
+        }
+        ownedPartitions = newOwnedPartitions;
+    }
+
+    private void release() {
+        long nowTime = System.currentTimeMillis();
+        for (int i = 0; i < partitionCount; i++) {
+            XxlJobAdminConfig.getAdminConfig().getXxlJobSchedulePartitionDao().release(i, nodeAddress, nowTime);
+        }
+        XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().registryDelete(RegistryConfig.RegistType.ADMIN.name(), ADMIN_REGISTRY_KEY, nodeAddress);
+    }
+
+
+    // ---------------------- partition ----------------------
+
+    public int getPartitionCount() {
+        return partitionCount;
+    }
+
+    /**
+     * owned partition mask, index = partition id
+     */
+    public boolean[] getOwnedPartitions() {
+        return ownedPartitions;
+    }
+
+    public static int partitionOf(int jobId, int partitionCount) {
+        return (jobId & 0x7fffffff) % partitionCount;
+    }
+
+}
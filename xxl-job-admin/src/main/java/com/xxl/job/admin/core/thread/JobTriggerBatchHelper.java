@@ -0,0 +1,309 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
+import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.client.ExecutorBizClient;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.biz.model.TriggerParam;
+import com.xxl.job.core.util.ThrowableUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * trigger batch, run rpc to the same executor coalesced into one "/runBatch" request
+ *
+ *      a、window   : run collected for at most batch window ms after the first one, or until batch size of an address reached;
+ *      b、batch    : run of one address sent in one request, result returned per trigger, single run still sent to "/run";
+ *      c、fallback : executor without "/runBatch" (old version) sent run one by one, batch retried after UNSUPPORTED_TIMEOUT;
+ */
+public class JobTriggerBatchHelper {
+    private static Logger logger = LoggerFactory.getLogger(JobTriggerBatchHelper.class);
+
+    private static final int COLLECT_LIMIT = 1000;
+    private static final long UNSUPPORTED_TIMEOUT = 10 * 60 * 1000;
+
+    private static JobTriggerBatchHelper instance = new JobTriggerBatchHelper();
+    public static JobTriggerBatchHelper getInstance(){
+        return instance;
+    }
+
+    private static class PendingRun {
+        private final String address;
+        private final TriggerParam triggerParam;
+        private final CompletableFuture<ReturnT<String>> resultFuture = new CompletableFuture<>();
+
+        private PendingRun(String address, TriggerParam triggerParam) {
+            this.address = address;
+            this.triggerParam = triggerParam;
+        }
+    }
+
+    private final LinkedBlockingQueue<PendingRun> pendingQueue = new LinkedBlockingQueue<>();
+    private final ConcurrentMap<String, Long> unsupportedMap = new ConcurrentHashMap<>();
+
+    private Thread batchThread;
+    private volatile boolean running = false;
+    private volatile boolean toStop = false;
+    private long batchWindow;
+    private int batchSize;
+
+    public void start(){
+        start(XxlJobAdminConfig.getAdminConfig().getTriggerBatchWindow(), XxlJobAdminConfig.getAdminConfig().getTriggerBatchSize());
+    }
+
+    void start(final long batchWindow, final int batchSize){
+        this.batchWindow = batchWindow;
+        this.batchSize = batchSize;
+        if (batchWindow <= 0) {
+            logger.info(">>>>>>>>>>> xxl-job, JobTriggerBatchHelper disabled, run sent one by one.");
+            return;
+        }
+
+        batchThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+
+                List<PendingRun> batch = new ArrayList<>();
+                while (!toStop) {
+                    try {
+                        PendingRun first = pendingQueue.poll(1000, TimeUnit.MILLISECONDS);
+                        if (first == null) {
+                            continue;
+                        }
+                        batch.add(first);
+                        collect(batch, System.currentTimeMillis() + batchWindow);
+                        send(batch);
+                    } catch (Exception e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobTriggerBatchHelper#batchThread error:{}", e);
+                        }
+                    } finally {
+                        batch.clear();
+                    }
+                }
+
+                // send remain
+                running = false;
+                while (!pendingQueue.isEmpty()) {
+                    pendingQueue.drainTo(batch, COLLECT_LIMIT);
+                    send(batch);
+                    batch.clear();
+                }
+
+                logger.info(">>>>>>>>>>> xxl-job, JobTriggerBatchHelper#batchThread stop");
+            }
+        });
+        running = true;
+        batchThread.setDaemon(true);
+        batchThread.setName("xxl-job, admin JobTriggerBatchHelper#batchThread");
+        batchThread.start();
+    }
+
+    public void toStop(){
+        toStop = true;
+        running = false;
+
+        if (batchThread != null) {
+            batchThread.interrupt();
+            try {
+                batchThread.join();
+            } catch (InterruptedException e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+
+        // sent by caller, put after batch thread stopped
+        List<PendingRun> remain = new ArrayList<>();
+        pendingQueue.drainTo(remain);
+        send(remain);
+    }
+
+
+    // ---------------------- run ----------------------
+
+    /**
+     * run, coalesced with concurrent run to the same address
+     *
+     * @param address
+     * @param triggerParam
+     * @return  future, always completed with a ReturnT
+     */
+    public CompletableFuture<ReturnT<String>> runAsync(String address, TriggerParam triggerParam) {
+        if (!running || isUnsupported(address)) {
+            return runOne(address, triggerParam);
+        }
+        PendingRun pendingRun = new PendingRun(address, triggerParam);
+        pendingQueue.add(pendingRun);
+        if (!running && pendingQueue.remove(pendingRun)) {
+            return runOne(address, triggerParam);      // stopped meanwhile
+        }
+        return pendingRun.resultFuture;
+    }
+
+    /**
+     * collect run until deadline, or batch size of an address reached; interrupted (stop) return collected
+     */
+    private void collect(List<PendingRun> batch, long deadline) {
+        Map<String, Integer> addressCount = new LinkedHashMap<>();
+        addressCount.put(batch.get(0).address, 1);
+        while (batch.size() < COLLECT_LIMIT) {
+            long waitTime = deadline - System.currentTimeMillis();
+            PendingRun next;
+            try {
+                next = waitTime > 0 ? pendingQueue.poll(waitTime, TimeUnit.MILLISECONDS) : pendingQueue.poll();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            Integer count = addressCount.get(next.address);
+            count = count == null ? 1 : count + 1;
+            addressCount.put(next.address, count);
+            if (count >= batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * send run grouped by address, at most batch size per request
+     */
+    private void send(List<PendingRun> batch) {
+        Map<String, List<PendingRun>> addressBatch = new LinkedHashMap<>();
+        for (PendingRun pendingRun : batch) {
+            List<PendingRun> runList = addressBatch.get(pendingRun.address);
+            if (runList == null) {
+                runList = new ArrayList<>();
+                addressBatch.put(pendingRun.address, runList);
+            }
+            runList.add(pendingRun);
+        }
+
+        for (Map.Entry<String, List<PendingRun>> item : addressBatch.entrySet()) {
+            List<PendingRun> runList = item.getValue();
+            for (int from = 0; from < runList.size(); from += batchSize) {
+                sendBatch(item.getKey(), runList.subList(from, Math.min(from + batchSize, runList.size())));
+            }
+        }
+    }
+
+    private void sendBatch(final String address, final List<PendingRun> runList) {
+        if (runList.size() == 1 || isUnsupported(address)) {
+            sendEach(address, runList);
+            return;
+        }
+
+        List<TriggerParam> triggerParamList = new ArrayList<>(runList.size());
+        for (PendingRun pendingRun : runList) {
+            triggerParamList.add(pendingRun.triggerParam);
+        }
+        runBatch(address, triggerParamList).whenComplete(new BiConsumer<ReturnT<List<ReturnT<String>>>, Throwable>() {
+            @Override
+            public void accept(ReturnT<List<ReturnT<String>>> batchResult, Throwable throwable) {
+                if (batchResult == null) {
+                    batchResult = new ReturnT<List<ReturnT<String>>>(ReturnT.FAIL_CODE, ThrowableUtil.toString(throwable));
+                }
+
+                // result per trigger
+                List<ReturnT<String>> runResultList = batchResult.getContent();
+                if (batchResult.getCode() == ReturnT.SUCCESS_CODE && runResultList != null && runResultList.size() == runList.size()) {
+                    for (int i = 0; i < runList.size(); i++) {
+                        runList.get(i).resultFuture.complete(runResultList.get(i));
+                    }
+                    return;
+                }
+
+                // old executor, uri not found
+                if (batchResult.getMsg() != null && batchResult.getMsg().contains("uri-mapping")) {
+                    unsupportedMap.put(address, System.currentTimeMillis() + UNSUPPORTED_TIMEOUT);
+                    logger.info(">>>>>>>>>>> xxl-job, executor not support runBatch, run sent one by one, address:{}", address);
+                    sendEach(address, runList);
+                    return;
+                }
+
+                for (PendingRun pendingRun : runList) {
+                    pendingRun.resultFuture.complete(new ReturnT<String>(batchResult.getCode(), batchResult.getMsg()));
+                }
+            }
+        });
+    }
+
+    private void sendEach(String address, List<PendingRun> runList) {
+        for (final PendingRun pendingRun : runList) {
+            runOne(address, pendingRun.triggerParam).whenComplete(new BiConsumer<ReturnT<String>, Throwable>() {
+                @Override
+                public void accept(ReturnT<String> runResult, Throwable throwable) {
+                    pendingRun.resultFuture.complete(runResult != null
+                            ? runResult
+                            : new ReturnT<String>(ReturnT.FAIL_CODE, ThrowableUtil.toString(throwable)));
+                }
+            });
+        }
+    }
+
+    private boolean isUnsupported(String address) {
+        Long unsupportedTime = unsupportedMap.get(address);
+        if (unsupportedTime == null) {
+            return false;
+        }
+        if (unsupportedTime < System.currentTimeMillis()) {
+            unsupportedMap.remove(address, unsupportedTime);
+            return false;
+        }
+        return true;
+    }
+
+
+    // ---------------------- rpc ----------------------
+
+    /**
+     * run, async
+     *
+     * @return  future, always completed with a ReturnT
+     */
+    CompletableFuture<ReturnT<String>> runOne(String address, TriggerParam triggerParam) {
+        try {
+            ExecutorBiz executorBiz = XxlJobScheduler.getExecutorBiz(address);
+            if (executorBiz instanceof ExecutorBizClient) {
+                return ((ExecutorBizClient) executorBiz).runAsync(triggerParam);
+            }
+            return CompletableFuture.completedFuture(executorBiz.run(triggerParam));
+        } catch (Exception e) {
+            logger.error(">>>>>>>>>>> xxl-job trigger error, please check if the executor[{}] is running.", address, e);
+            return CompletableFuture.completedFuture(new ReturnT<String>(ReturnT.FAIL_CODE, ThrowableUtil.toString(e)));
+        }
+    }
+
+    /**
+     * run batch, async
+     *
+     * @return  future, always completed with a ReturnT
+     */
+    CompletableFuture<ReturnT<List<ReturnT<String>>>> runBatch(String address, List<TriggerParam> triggerParamList) {
+        try {
+            ExecutorBiz executorBiz = XxlJobScheduler.getExecutorBiz(address);
+            if (executorBiz instanceof ExecutorBizClient) {
+                return ((ExecutorBizClient) executorBiz).runBatchAsync(triggerParamList);
+            }
+            return CompletableFuture.completedFuture(executorBiz.runBatch(triggerParamList));
+        } catch (Exception e) {
+            logger.error(">>>>>>>>>>> xxl-job trigger error, please check if the executor[{}] is running.", address, e);
+            return CompletableFuture.completedFuture(new ReturnT<List<ReturnT<String>>>(ReturnT.FAIL_CODE, ThrowableUtil.toString(e)));
+        }
+    }
+
+}
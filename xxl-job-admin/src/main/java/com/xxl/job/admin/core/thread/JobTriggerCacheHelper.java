@@ -0,0 +1,293 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.model.XxlJobGroup;
+import com.xxl.job.admin.core.model.XxlJobInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * job info and job group cache of trigger path, read through, keyed by id
+ *
+ *      a、local write  : job / group / registry update evict entry after write;
+ *      b、other admin  : every update bump "version" column, (id, version) synced every second, entry of other version evicted;
+ *      c、delete       : full (id, version) sync every 5 min, entry not exists any more evicted;
+ *      d、size         : lru bounded per cache, least recently triggered evicted when full;
+ *
+ * cached object shared by all trigger, read only, copy before cover any field.
+ */
+public class JobTriggerCacheHelper {
+    private static Logger logger = LoggerFactory.getLogger(JobTriggerCacheHelper.class);
+
+    private static final int MAX_SIZE = 10000;                          // per cache, lru evicted over it
+    private static final long SYNC_INTERVAL = 1000;                     // incremental sync, by update_time
+    private static final long SYNC_OVERLAP = 10 * 1000;                 // tolerate admin clock skew and slow commit
+    private static final long FULL_SYNC_INTERVAL = 5 * 60 * 1000;       // full sync, evict deleted
+
+    private static JobTriggerCacheHelper instance = new JobTriggerCacheHelper();
+    public static JobTriggerCacheHelper getInstance(){
+        return instance;
+    }
+
+    /**
+     * lru map, access ordered, all access under its lock
+     */
+    private static class LruCache<V> {
+        private final Map<Integer, V> cache;
+
+        private LruCache(final int maxSize) {
+            this.cache = new LinkedHashMap<Integer, V>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, V> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        private synchronized V get(int key) {
+            return cache.get(key);
+        }
+
+        private synchronized void putIfAbsent(int key, V value) {
+            if (!cache.containsKey(key)) {
+                cache.put(key, value);
+            }
+        }
+
+        private synchronized void remove(int key) {
+            cache.remove(key);
+        }
+
+        private synchronized void remove(int key, V value) {
+            if (cache.get(key) == value) {
+                cache.remove(key);
+            }
+        }
+
+        private synchronized List<V> values() {
+            return new ArrayList<V>(cache.values());
+        }
+
+        private synchronized int size() {
+            return cache.size();
+        }
+
+        private synchronized void clear() {
+            cache.clear();
+        }
+    }
+
+    private final LruCache<XxlJobInfo> jobInfoCache;
+    private final LruCache<XxlJobGroup> jobGroupCache;
+
+    public JobTriggerCacheHelper() {
+        this(MAX_SIZE);
+    }
+
+    JobTriggerCacheHelper(int maxSize) {
+        this.jobInfoCache = new LruCache<>(maxSize);
+        this.jobGroupCache = new LruCache<>(maxSize);
+    }
+
+    private Thread syncThread;
+    private volatile boolean running = false;
+    private volatile boolean toStop = false;
+
+    public void start(){
+        syncThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+
+                long syncTime = 0;
+                long fullSyncTime = 0;
+                while (!toStop) {
+                    try {
+                        long nowTime = System.currentTimeMillis();
+                        boolean full = nowTime - fullSyncTime >= FULL_SYNC_INTERVAL;
+
+                        List<XxlJobInfo> jobVersionList = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao()
+                                .findVersion(full ? null : new Date(syncTime - SYNC_OVERLAP));
+                        syncJobInfoVersion(jobVersionList, full);
+
+                        // group table is small, full every time
+                        List<XxlJobGroup> groupVersionList = XxlJobAdminConfig.getAdminConfig().getXxlJobGroupDao().findAllVersion();
+                        syncJobGroupVersion(groupVersionList);
+
+                        syncTime = nowTime;
+                        if (full) {
+                            fullSyncTime = nowTime;
+                        }
+
+                        // cache only after first sync, entry loaded before it may miss update
+                        running = true;
+                    } catch (Exception e) {
+                        // version unknown, stop caching until sync again
+                        running = false;
+                        jobInfoCache.clear();
+                        jobGroupCache.clear();
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobTriggerCacheHelper#syncThread error:{}", e);
+                        }
+                    }
+
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(SYNC_INTERVAL);
+                    } catch (InterruptedException e) {
+                        if (!toStop) {
+                            logger.error(e.getMessage(), e);
+                        }
+                    }
+                }
+
+                logger.info(">>>>>>>>>>> xxl-job, JobTriggerCacheHelper#syncThread stop");
+            }
+        });
+        syncThread.setDaemon(true);
+        syncThread.setName("xxl-job, admin JobTriggerCacheHelper#syncThread");
+        syncThread.start();
+    }
+
+    public void toStop(){
+        toStop = true;
+        running = false;
+
+        if (syncThread != null) {
+            syncThread.interrupt();
+            try {
+                syncThread.join();
+            } catch (InterruptedException e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+
+        jobInfoCache.clear();
+        jobGroupCache.clear();
+    }
+
+
+    // ---------------------- load ----------------------
+
+    /**
+     * load job info, read through, without glue source
+     *
+     * @param jobId
+     * @return  shared, read only; null if not exists
+     */
+    public XxlJobInfo loadJobInfo(int jobId) {
+        XxlJobInfo jobInfo = jobInfoCache.get(jobId);
+        if (jobInfo == null) {
+            jobInfo = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadTriggerById(jobId);
+            if (jobInfo != null && running) {
+                putJobInfo(jobInfo);
+            }
+        }
+        return jobInfo;
+    }
+
+    /**
+     * load job group, read through
+     *
+     * @param jobGroup
+     * @return  shared, read only; null if not exists
+     */
+    public XxlJobGroup loadJobGroup(int jobGroup) {
+        XxlJobGroup group = jobGroupCache.get(jobGroup);
+        if (group == null) {
+            group = XxlJobAdminConfig.getAdminConfig().getXxlJobGroupDao().load(jobGroup);
+            if (group != null && running) {
+                putJobGroup(group);
+            }
+        }
+        return group;
+    }
+
+    void putJobInfo(XxlJobInfo jobInfo) {
+        jobInfoCache.putIfAbsent(jobInfo.getId(), jobInfo);
+    }
+
+    void putJobGroup(XxlJobGroup group) {
+        jobGroupCache.putIfAbsent(group.getId(), group);
+    }
+
+
+    // ---------------------- invalid ----------------------
+
+    public void removeJobInfo(int jobId) {
+        jobInfoCache.remove(jobId);
+    }
+
+    public void removeJobGroup(int jobGroup) {
+        jobGroupCache.remove(jobGroup);
+    }
+
+    /**
+     * evict job info of other version; a stale entry put by a load racing with local write is also fixed here
+     *
+     * @param versionList   (id, version) of job updated since last sync, or all job if full
+     * @param full          evict job not in list (deleted)
+     */
+    void syncJobInfoVersion(List<XxlJobInfo> versionList, boolean full) {
+        if (!full) {
+            if (versionList != null) {
+                for (XxlJobInfo item: versionList) {
+                    XxlJobInfo jobInfo = jobInfoCache.get(item.getId());
+                    if (jobInfo != null && jobInfo.getVersion() != item.getVersion()) {
+                        jobInfoCache.remove(jobInfo.getId(), jobInfo);
+                    }
+                }
+            }
+            return;
+        }
+
+        Map<Integer, Integer> versionMap = new HashMap<>();
+        if (versionList != null) {
+            for (XxlJobInfo item: versionList) {
+                versionMap.put(item.getId(), item.getVersion());
+            }
+        }
+        for (XxlJobInfo jobInfo: jobInfoCache.values()) {
+            Integer version = versionMap.get(jobInfo.getId());
+            if (version == null || version != jobInfo.getVersion()) {
+                jobInfoCache.remove(jobInfo.getId(), jobInfo);
+            }
+        }
+    }
+
+    /**
+     * evict job group of other version, or deleted
+     *
+     * @param versionList   (id, version) of all group
+     */
+    void syncJobGroupVersion(List<XxlJobGroup> versionList) {
+        Map<Integer, Integer> versionMap = new HashMap<>();
+        if (versionList != null) {
+            for (XxlJobGroup item: versionList) {
+                versionMap.put(item.getId(), item.getVersion());
+            }
+        }
+
+        for (XxlJobGroup group: jobGroupCache.values()) {
+            Integer version = versionMap.get(group.getId());
+            if (version == null || version != group.getVersion()) {
+                jobGroupCache.remove(group.getId(), group);
+            }
+        }
+    }
+
+    public int getJobInfoCacheSize() {
+        return jobInfoCache.size();
+    }
+
+    public int getJobGroupCacheSize() {
+        return jobGroupCache.size();
+    }
+
+}
@@ -0,0 +1,297 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.model.XxlJobTriggerPending;
+import com.xxl.job.admin.core.trigger.TriggerTypeEnum;
+import com.xxl.job.core.util.IpUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * trigger overflow, trigger rejected by full trigger pool spilled to "xxl_job_trigger_pending", replayed when pool has capacity
+ *
+ *      a、spill  : rejected trigger queued in memory (bounded), written by spill thread in batch, caller never wait on db;
+ *      b、replay : oldest first, only when trigger pool queue under limit; row claimed by owner, deleted only after queued,
+ *                  released (same id and add time, order kept) if rejected again or failed; claim of a dead admin expire after CLAIM_TIMEOUT;
+ *      c、count  : rejected, spilled, replayed trigger since start;
+ */
+public class JobTriggerOverflowHelper {
+    private static Logger logger = LoggerFactory.getLogger(JobTriggerOverflowHelper.class);
+
+    private static final int REPLAY_QUEUE_LIMIT = 500;      // replay only when trigger pool queue under it
+    private static final int REPLAY_BATCH = 100;
+    private static final int SPILL_QUEUE_CAPACITY = 10000;
+    private static final int SPILL_BATCH = 100;
+    private static final long CLAIM_TIMEOUT = 5 * 60 * 1000;
+
+    private static JobTriggerOverflowHelper instance = new JobTriggerOverflowHelper();
+    public static JobTriggerOverflowHelper getInstance(){
+        return instance;
+    }
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong spilledCount = new AtomicLong();
+    private final AtomicLong replayedCount = new AtomicLong();
+
+    private final LinkedBlockingQueue<XxlJobTriggerPending> spillQueue = new LinkedBlockingQueue<>(SPILL_QUEUE_CAPACITY);
+    private String claimOwner;
+
+    private Thread spillThread;
+    private Thread replayThread;
+    private volatile boolean toStop = false;
+
+    public void start(){
+        claimOwner = IpUtil.getIpPort(XxlJobAdminConfig.getAdminConfig().getServerPort());
+
+        spillThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+
+                List<XxlJobTriggerPending> batch = new ArrayList<>(SPILL_BATCH);
+                while (!toStop) {
+                    try {
+                        XxlJobTriggerPending first = spillQueue.poll(1000, TimeUnit.MILLISECONDS);
+                        if (first == null) {
+                            continue;
+                        }
+                        batch.add(first);
+                        spillQueue.drainTo(batch, SPILL_BATCH - 1);
+                        write(batch);
+                    } catch (Exception e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobTriggerOverflowHelper#spillThread error:{}", e);
+                        }
+                    } finally {
+                        batch.clear();
+                    }
+                }
+
+                logger.info(">>>>>>>>>>> xxl-job, JobTriggerOverflowHelper#spillThread stop");
+            }
+        });
+        spillThread.setDaemon(true);
+        spillThread.setName("xxl-job, admin JobTriggerOverflowHelper#spillThread");
+        spillThread.start();
+
+        replayThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+
+                while (!toStop) {
+                    int replayCount = 0;
+                    try {
+                        replayCount = replay();
+                    } catch (Exception e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobTriggerOverflowHelper#replayThread error:{}", e);
+                        }
+                    }
+
+                    try {
+                        // full batch replayed, more may be waiting
+                        TimeUnit.MILLISECONDS.sleep(replayCount >= REPLAY_BATCH ? 100 : 1000);
+                    } catch (InterruptedException e) {
+                        if (!toStop) {
+                            logger.error(e.getMessage(), e);
+                        }
+                    }
+                }
+
+                logger.info(">>>>>>>>>>> xxl-job, JobTriggerOverflowHelper#replayThread stop");
+            }
+        });
+        replayThread.setDaemon(true);
+        replayThread.setName("xxl-job, admin JobTriggerOverflowHelper#replayThread");
+        replayThread.start();
+    }
+
+    public void toStop(){
+        toStop = true;
+
+        for (Thread thread: new Thread[]{spillThread, replayThread}) {
+            if (thread != null) {
+                thread.interrupt();
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    logger.error(e.getMessage(), e);
+                }
+            }
+        }
+
+        // write remain spill
+        flushSpill();
+    }
+
+
+    // ---------------------- spill ----------------------
+
+    /**
+     * spill trigger rejected by trigger pool, written async
+     *
+     * @return  true if queued for write, false if spill queue full
+     */
+    public boolean spill(int jobId, int jobGroup, TriggerTypeEnum triggerType, int failRetryCount, String executorShardingParam, String executorParam, String addressList) {
+        XxlJobTriggerPending triggerPending = new XxlJobTriggerPending();
+        triggerPending.setJobId(jobId);
+        triggerPending.setJobGroup(jobGroup);
+        triggerPending.setTriggerType(triggerType.name());
+        triggerPending.setFailRetryCount(failRetryCount);
+        triggerPending.setExecutorShardingParam(executorShardingParam);
+        triggerPending.setExecutorParam(executorParam);
+        triggerPending.setAddressList(addressList);
+        triggerPending.setAddTime(new Date());
+        return spill(triggerPending);
+    }
+
+    boolean spill(XxlJobTriggerPending triggerPending) {
+        rejectedCount.incrementAndGet();
+        if (!spillQueue.offer(triggerPending)) {
+            logger.error(">>>>>>>>>>> xxl-job, trigger pool full and spill queue full, trigger spill fail, jobId = {}", triggerPending.getJobId());
+            return false;
+        }
+        logger.warn(">>>>>>>>>>> xxl-job, trigger pool full, trigger spilled, jobId = {}, triggerType = {}", triggerPending.getJobId(), triggerPending.getTriggerType());
+        return true;
+    }
+
+    /**
+     * write all queued spill, on caller thread
+     */
+    void flushSpill() {
+        List<XxlJobTriggerPending> batch = new ArrayList<>(SPILL_BATCH);
+        while (spillQueue.drainTo(batch, SPILL_BATCH) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * batch insert, fail then retry row by row, only bad row lost
+     */
+    private void write(List<XxlJobTriggerPending> batch) {
+        try {
+            savePending(batch);
+            spilledCount.addAndGet(batch.size());
+        } catch (Exception e) {
+            logger.error(">>>>>>>>>>> xxl-job, trigger spill batch save fail, retry one by one, size = {}", batch.size(), e);
+            for (XxlJobTriggerPending triggerPending: batch) {
+                try {
+                    savePending(Collections.singletonList(triggerPending));
+                    spilledCount.incrementAndGet();
+                } catch (Exception e2) {
+                    logger.error(">>>>>>>>>>> xxl-job, trigger spill fail, jobId = {}", triggerPending.getJobId(), e2);
+                }
+            }
+        }
+    }
+
+
+    // ---------------------- replay ----------------------
+
+    /**
+     * replay spilled trigger, stop when trigger pool backed up or trigger rejected again
+     *
+     * @return  replayed count
+     */
+    int replay() {
+        if (triggerQueueSize() >= REPLAY_QUEUE_LIMIT) {
+            return 0;
+        }
+        List<XxlJobTriggerPending> pendingList = findPending(REPLAY_BATCH);
+        if (pendingList == null || pendingList.isEmpty()) {
+            return 0;
+        }
+
+        int replayCount = 0;
+        for (XxlJobTriggerPending triggerPending: pendingList) {
+            if (triggerQueueSize() >= REPLAY_QUEUE_LIMIT) {
+                break;
+            }
+            // claim, replayed by other admin
+            if (!claimPending(triggerPending.getId())) {
+                continue;
+            }
+
+            boolean queued = false;
+            try {
+                queued = offerTrigger(triggerPending);
+            } catch (Exception e) {
+                logger.error(">>>>>>>>>>> xxl-job, spilled trigger replay fail, jobId = {}", triggerPending.getJobId(), e);
+            }
+            if (!queued) {
+                // queue of job group still full (or replay fail), back to overflow with its place kept
+                releasePending(triggerPending.getId());
+                break;
+            }
+            if (deletePending(triggerPending.getId()) < 1) {
+                logger.warn(">>>>>>>>>>> xxl-job, spilled trigger replayed but row not deleted, id = {}", triggerPending.getId());
+            }
+            replayedCount.incrementAndGet();
+            replayCount++;
+        }
+
+        if (replayCount > 0) {
+            logger.info(">>>>>>>>>>> xxl-job, spilled trigger replayed, count = {}", replayCount);
+        }
+        return replayCount;
+    }
+
+    int triggerQueueSize() {
+        return JobTriggerPoolHelper.getHelper().getQueueSize();
+    }
+
+    boolean offerTrigger(XxlJobTriggerPending triggerPending) {
+        return JobTriggerPoolHelper.getHelper().offerTrigger(triggerPending.getJobId(),
+                triggerPending.getJobGroup(),
+                TriggerTypeEnum.valueOf(triggerPending.getTriggerType()),
+                triggerPending.getFailRetryCount(),
+                triggerPending.getExecutorShardingParam(),
+                triggerPending.getExecutorParam(),
+                triggerPending.getAddressList());
+    }
+
+    void savePending(List<XxlJobTriggerPending> triggerPendingList) {
+        XxlJobAdminConfig.getAdminConfig().getXxlJobTriggerPendingDao().saveBatch(triggerPendingList);
+    }
+
+    List<XxlJobTriggerPending> findPending(int pagesize) {
+        return XxlJobAdminConfig.getAdminConfig().getXxlJobTriggerPendingDao().findPending(pagesize, new Date(System.currentTimeMillis() - CLAIM_TIMEOUT));
+    }
+
+    boolean claimPending(long id) {
+        long nowTime = System.currentTimeMillis();
+        return XxlJobAdminConfig.getAdminConfig().getXxlJobTriggerPendingDao().claim(id, claimOwner, new Date(nowTime), new Date(nowTime - CLAIM_TIMEOUT)) > 0;
+    }
+
+    void releasePending(long id) {
+        XxlJobAdminConfig.getAdminConfig().getXxlJobTriggerPendingDao().release(id, claimOwner);
+    }
+
+    int deletePending(long id) {
+        return XxlJobAdminConfig.getAdminConfig().getXxlJobTriggerPendingDao().delete(id, claimOwner);
+    }
+
+
+    // ---------------------- count ----------------------
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getSpilledCount() {
+        return spilledCount.get();
+    }
+
+    public long getReplayedCount() {
+        return replayedCount.get();
+    }
+
+}
@@ -1,16 +1,23 @@
 package com.xxl.job.admin.core.thread;
 
 import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.model.XxlJobInfo;
+import com.xxl.job.admin.core.trigger.TriggerFairQueue;
 import com.xxl.job.admin.core.trigger.TriggerTypeEnum;
 import com.xxl.job.admin.core.trigger.XxlJobTrigger;
+import com.xxl.job.admin.core.util.VirtualThreadUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 /**
- * job trigger thread pool helper
+ * job trigger thread pool helper, trigger queued per job group, taken fair by group weight, running capped per group
+ *
+ *      a、running : a trigger is running from take until rpc done and log saved, permit released then, not held by a thread;
+ *      b、thread  : pool thread only load and route, rpc and log finished async;
  *
  * @author xuxueli 2018-07-03 21:08:07
  */
@@ -20,105 +27,304 @@ public class JobTriggerPoolHelper {
 
     // ---------------------- trigger pool ----------------------
 
-    // fast/slow thread pool
-    private ThreadPoolExecutor fastTriggerPool = null;
-    private ThreadPoolExecutor slowTriggerPool = null;
+    /**
+     * trigger task, done when the returned future completed, not when run returns
+     */
+    private static abstract class TriggerTask implements Runnable {
+        abstract CompletableFuture<Void> runAsync();
 
-    public void start(){
-        fastTriggerPool = new ThreadPoolExecutor(
-                10,
-                XxlJobAdminConfig.getAdminConfig().getTriggerPoolFastMax(),
-                60L,
-                TimeUnit.SECONDS,
-                new LinkedBlockingQueue<Runnable>(1000),
-                new ThreadFactory() {
-                    @Override
-                    public Thread newThread(Runnable r) {
-                        return new Thread(r, "xxl-job, admin JobTriggerPoolHelper-fastTriggerPool-" + r.hashCode());
+        @Override
+        public void run() {
+            runAsync().join();
+        }
+    }
+
+    /**
+     * trigger pool with fair queue, trigger queued per job group, dispatched into pool when a thread is free
+     */
+    private static class TriggerPool {
+        private final String name;
+        private final TriggerFairQueue fairQueue;
+        private final Semaphore permits;
+        private final ExecutorService executor;
+        private Thread dispatchThread;
+        private volatile boolean toStop = false;
+
+        private TriggerPool(final String name, int maxSize, int groupCapacity) {
+            this.name = name;
+            this.fairQueue = new TriggerFairQueue(groupCapacity, new TriggerFairQueue.GroupPolicy() {
+                @Override
+                public int weight(int groupId) {
+                    return XxlJobAdminConfig.getAdminConfig().getTriggerPoolGroupWeight(groupId);
+                }
+                @Override
+                public int maxConcurrency(int groupId) {
+                    return XxlJobAdminConfig.getAdminConfig().getTriggerPoolGroupMaxConcurrency(groupId);
+                }
+            });
+            this.permits = new Semaphore(maxSize);
+
+            // running bound by permits, queue of executor stay empty
+            if (XxlJobAdminConfig.getAdminConfig().isVirtualThreadEnabled()) {
+                this.executor = VirtualThreadUtil.newThreadPerTaskExecutor("xxl-job, admin JobTriggerPoolHelper-" + name + "-");
+            } else {
+                ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+                        maxSize,
+                        maxSize,
+                        60L,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<Runnable>(),
+                        new ThreadFactory() {
+                            @Override
+                            public Thread newThread(Runnable r) {
+                                return new Thread(r, "xxl-job, admin JobTriggerPoolHelper-" + name + "-" + r.hashCode());
+                            }
+                        });
+                threadPool.allowCoreThreadTimeOut(true);
+                this.executor = threadPool;
+            }
+        }
+
+        private void start() {
+            dispatchThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    while (!toStop) {
+                        try {
+                            dispatch();
+                        } catch (InterruptedException e) {
+                            if (!toStop) {
+                                logger.error(">>>>>>>>>>> xxl-job, JobTriggerPoolHelper#{} dispatch interrupted.", name);
+                            }
+                        } catch (Exception e) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobTriggerPoolHelper#{} dispatch error:{}", name, e);
+                        }
                     }
-                });
+                    logger.info(">>>>>>>>>>> xxl-job, JobTriggerPoolHelper#{} dispatch thread stop", name);
+                }
+            });
+            dispatchThread.setDaemon(true);
+            dispatchThread.setName("xxl-job, admin JobTriggerPoolHelper-" + name + "-dispatch");
+            dispatchThread.start();
+        }
 
-        slowTriggerPool = new ThreadPoolExecutor(
-                10,
-                XxlJobAdminConfig.getAdminConfig().getTriggerPoolSlowMax(),
-                60L,
-                TimeUnit.SECONDS,
-                new LinkedBlockingQueue<Runnable>(2000),
-                new ThreadFactory() {
+        private void dispatch() throws InterruptedException {
+            // take only when a thread is free, so the next group is chosen at run time
+            permits.acquire();
+            final TriggerFairQueue.Entry entry;
+            try {
+                entry = fairQueue.poll(1000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                permits.release();
+                throw e;
+            }
+            if (entry == null) {
+                permits.release();
+                return;
+            }
+
+            try {
+                executor.execute(new Runnable() {
                     @Override
-                    public Thread newThread(Runnable r) {
-                        return new Thread(r, "xxl-job, admin JobTriggerPoolHelper-slowTriggerPool-" + r.hashCode());
+                    public void run() {
+                        CompletableFuture<Void> doneFuture = CompletableFuture.completedFuture(null);
+                        try {
+                            if (entry.getTask() instanceof TriggerTask) {
+                                doneFuture = ((TriggerTask) entry.getTask()).runAsync();
+                            } else {
+                                entry.getTask().run();
+                            }
+                        } finally {
+                            // released on trigger done, pool thread already free
+                            doneFuture.whenComplete(new BiConsumer<Void, Throwable>() {
+                                @Override
+                                public void accept(Void result, Throwable throwable) {
+                                    fairQueue.done(entry.getGroupId());
+                                    permits.release();
+                                }
+                            });
+                        }
                     }
                 });
+            } catch (RejectedExecutionException e) {
+                fairQueue.done(entry.getGroupId());
+                permits.release();
+                throw e;
+            }
+        }
+
+        private void stop() {
+            toStop = true;
+            if (dispatchThread != null) {
+                dispatchThread.interrupt();
+                try {
+                    dispatchThread.join();
+                } catch (InterruptedException e) {
+                    logger.error(e.getMessage(), e);
+                }
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    // fast/slow thread pool
+    private TriggerPool fastTriggerPool = null;
+    private TriggerPool slowTriggerPool = null;
+
+    public void start(){
+        fastTriggerPool = new TriggerPool("fastTriggerPool", XxlJobAdminConfig.getAdminConfig().getTriggerPoolFastMax(), 1000);
+        slowTriggerPool = new TriggerPool("slowTriggerPool", XxlJobAdminConfig.getAdminConfig().getTriggerPoolSlowMax(), 2000);
+        fastTriggerPool.start();
+        slowTriggerPool.start();
     }
 
 
     public void stop() {
         //triggerPool.shutdown();
-        fastTriggerPool.shutdownNow();
-        slowTriggerPool.shutdownNow();
+        fastTriggerPool.stop();
+        slowTriggerPool.stop();
         logger.info(">>>>>>>>> xxl-job trigger thread pool shutdown success.");
     }
 
 
+    // trigger cost, moving average (ms), estimate only
+    private volatile long triggerCostAvg = 50;
+
     // job timeout count
     private volatile long minTim = System.currentTimeMillis()/60000;     // ms > min
     private volatile ConcurrentMap<Integer, AtomicInteger> jobTimeoutCountMap = new ConcurrentHashMap<>();
 
 
     /**
-     * add trigger
+     * add trigger, job group loaded by job id (cache, may hit db), not for schedule / ring thread
+     */
+    public void addTrigger(final int jobId,
+                           final TriggerTypeEnum triggerType,
+                           final int failRetryCount,
+                           final String executorShardingParam,
+                           final String executorParam,
+                           final String addressList) {
+        addTrigger(jobId, loadJobGroup(jobId), triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
+    }
+
+    /**
+     * add trigger, spilled to trigger overflow if queue of job group full
      */
     public void addTrigger(final int jobId,
+                           final int jobGroup,
                            final TriggerTypeEnum triggerType,
                            final int failRetryCount,
                            final String executorShardingParam,
                            final String executorParam,
                            final String addressList) {
 
+        if (offerTrigger(jobId, jobGroup, triggerType, failRetryCount, executorShardingParam, executorParam, addressList)) {
+            return;
+        }
+        if (!JobTriggerOverflowHelper.getInstance().spill(jobId, jobGroup, triggerType, failRetryCount, executorShardingParam, executorParam, addressList)) {
+            throw new RejectedExecutionException("xxl-job, trigger queue of job group full and spill fail, jobId = " + jobId);
+        }
+    }
+
+    /**
+     * queue trigger
+     *
+     * @return  false if queue of job group full
+     */
+    public boolean offerTrigger(final int jobId,
+                                final int jobGroup,
+                                final TriggerTypeEnum triggerType,
+                                final int failRetryCount,
+                                final String executorShardingParam,
+                                final String executorParam,
+                                final String addressList) {
+
         // choose thread pool
-        ThreadPoolExecutor triggerPool_ = fastTriggerPool;
+        TriggerPool triggerPool_ = fastTriggerPool;
         AtomicInteger jobTimeoutCount = jobTimeoutCountMap.get(jobId);
         if (jobTimeoutCount!=null && jobTimeoutCount.get() > 10) {      // job-timeout 10 times in 1 min
             triggerPool_ = slowTriggerPool;
         }
 
-        // trigger
-        triggerPool_.execute(new Runnable() {
+        // trigger, queued by job group
+        boolean queued = triggerPool_.fairQueue.offer(jobGroup, new TriggerTask() {
             @Override
-            public void run() {
+            CompletableFuture<Void> runAsync() {
 
-                long start = System.currentTimeMillis();
+                final long start = System.currentTimeMillis();
 
+                CompletableFuture<Void> triggerFuture;
                 try {
-                    // do trigger
-                    XxlJobTrigger.trigger(jobId, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
+                    // do trigger, rpc and log finished async
+                    triggerFuture = XxlJobTrigger.trigger(jobId, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
                 } catch (Exception e) {
                     logger.error(e.getMessage(), e);
-                } finally {
-
-                    // check timeout-count-map
-                    long minTim_now = System.currentTimeMillis()/60000;
-                    if (minTim != minTim_now) {
-                        minTim = minTim_now;
-                        jobTimeoutCountMap.clear();
-                    }
+                    triggerFuture = CompletableFuture.completedFuture(null);
+                }
 
-                    // incr timeout-count-map
-                    long cost = System.currentTimeMillis()-start;
-                    if (cost > 500) {       // ob-timeout threshold 500ms
-                        AtomicInteger timeoutCount = jobTimeoutCountMap.putIfAbsent(jobId, new AtomicInteger(1));
-                        if (timeoutCount != null) {
-                            timeoutCount.incrementAndGet();
+                return triggerFuture.whenComplete(new BiConsumer<Void, Throwable>() {
+                    @Override
+                    public void accept(Void result, Throwable throwable) {
+                        if (throwable != null) {
+                            logger.error(throwable.getMessage(), throwable);
                         }
-                    }
 
-                }
+                        // check timeout-count-map
+                        long minTim_now = System.currentTimeMillis()/60000;
+                        if (minTim != minTim_now) {
+                            minTim = minTim_now;
+                            jobTimeoutCountMap.clear();
+                        }
 
+                        // incr timeout-count-map
+                        long cost = System.currentTimeMillis()-start;
+                        triggerCostAvg = (triggerCostAvg * 7 + cost) / 8;
+                        if (cost > 500) {       // ob-timeout threshold 500ms
+                            AtomicInteger timeoutCount = jobTimeoutCountMap.putIfAbsent(jobId, new AtomicInteger(1));
+                            if (timeoutCount != null) {
+                                timeoutCount.incrementAndGet();
+                            }
+                        }
+                    }
+                });
             }
         });
+        return queued;
     }
 
+    /**
+     * job group of job, 0 if job not found (trigger then fail on job load, logged there)
+     */
+    private int loadJobGroup(int jobId) {
+        try {
+            XxlJobInfo jobInfo = JobTriggerCacheHelper.getInstance().loadJobInfo(jobId);
+            if (jobInfo != null) {
+                return jobInfo.getJobGroup();
+            }
+        } catch (Exception e) {
+            logger.warn(">>>>>>>>>>> xxl-job, trigger load job group fail, jobId = {}", jobId, e);
+        }
+        return 0;
+    }
+
+
+    /**
+     * trigger waiting in pool queue
+     */
+    public int getQueueSize() {
+        int queueSize = 0;
+        if (fastTriggerPool != null) {
+            queueSize += fastTriggerPool.fairQueue.size();
+        }
+        if (slowTriggerPool != null) {
+            queueSize += slowTriggerPool.fairQueue.size();
+        }
+        return queueSize;
+    }
+
+    public long getTriggerCostAvg() {
+        return triggerCostAvg;
+    }
 
 
     // ---------------------- helper ----------------------
@@ -131,6 +337,9 @@ public class JobTriggerPoolHelper {
     public static void toStop() {
         helper.stop();
     }
+    public static JobTriggerPoolHelper getHelper() {
+        return helper;
+    }
 
     /**
      * @param jobId
@@ -147,4 +356,11 @@ public class JobTriggerPoolHelper {
         helper.addTrigger(jobId, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
     }
 
+    /**
+     * trigger with job group known by caller, no job load on caller thread (schedule / ring thread)
+     */
+    public static void trigger(int jobId, int jobGroup, TriggerTypeEnum triggerType, int failRetryCount, String executorShardingParam, String executorParam, String addressList) {
+        helper.addTrigger(jobId, jobGroup, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
+    }
+
 }
@@ -0,0 +1,197 @@
+package com.xxl.job.admin.core.trigger;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * trigger queue per job group, weighted fair take across group
+ *
+ *      a、queue       : one fifo per job group, bounded by "groupCapacity", a full group reject only its own trigger;
+ *      b、fair        : deficit round robin over group with queued trigger, a group take "weight" trigger per round;
+ *      c、concurrency : group with "maxConcurrency" trigger running is skipped until one is done;
+ *
+ * thread safe, every taken trigger must be followed by done(groupId).
+ */
+public class TriggerFairQueue {
+
+    /**
+     * weight and max concurrency of a job group
+     */
+    public interface GroupPolicy {
+        int weight(int groupId);
+        int maxConcurrency(int groupId);
+    }
+
+    /**
+     * taken trigger
+     */
+    public static class Entry {
+        private final int groupId;
+        private final Runnable task;
+
+        private Entry(int groupId, Runnable task) {
+            this.groupId = groupId;
+            this.task = task;
+        }
+
+        public int getGroupId() {
+            return groupId;
+        }
+
+        public Runnable getTask() {
+            return task;
+        }
+    }
+
+    private static class GroupQueue {
+        private final int groupId;
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private int weight;
+        private int maxConcurrency;
+        private int running;
+        private int deficit;
+        private boolean active;
+
+        private GroupQueue(int groupId) {
+            this.groupId = groupId;
+        }
+    }
+
+    private final int groupCapacity;
+    private final GroupPolicy groupPolicy;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Map<Integer, GroupQueue> groupQueues = new HashMap<>();
+    private final ArrayDeque<GroupQueue> activeGroups = new ArrayDeque<>();     // queued trigger and under max concurrency
+    private int size;
+
+    public TriggerFairQueue(int groupCapacity, GroupPolicy groupPolicy) {
+        this.groupCapacity = groupCapacity;
+        this.groupPolicy = groupPolicy;
+    }
+
+    /**
+     * add trigger of a job group
+     *
+     * @return  false if queue of the group is full
+     */
+    public boolean offer(int groupId, Runnable task) {
+        lock.lock();
+        try {
+            GroupQueue groupQueue = groupQueues.get(groupId);
+            if (groupQueue == null) {
+                groupQueue = new GroupQueue(groupId);
+                groupQueue.weight = Math.max(groupPolicy.weight(groupId), 1);
+                groupQueue.maxConcurrency = Math.max(groupPolicy.maxConcurrency(groupId), 1);
+                groupQueues.put(groupId, groupQueue);
+            }
+            if (groupQueue.tasks.size() >= groupCapacity) {
+                return false;
+            }
+
+            groupQueue.tasks.offer(task);
+            size++;
+            activate(groupQueue);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * take next trigger, fair across group
+     *
+     * @return  null if none ready within timeout
+     */
+    public Entry poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (activeGroups.isEmpty()) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+
+            GroupQueue groupQueue = activeGroups.peekFirst();
+            if (groupQueue.deficit <= 0) {
+                groupQueue.deficit = groupQueue.weight;
+            }
+            Runnable task = groupQueue.tasks.poll();
+            groupQueue.deficit--;
+            groupQueue.running++;
+            size--;
+
+            if (groupQueue.tasks.isEmpty() || groupQueue.running >= groupQueue.maxConcurrency) {
+                // leave round, back when trigger queued or running done
+                activeGroups.pollFirst();
+                groupQueue.active = false;
+                groupQueue.deficit = 0;
+            } else if (groupQueue.deficit <= 0) {
+                // quantum used, next group
+                activeGroups.addLast(activeGroups.pollFirst());
+            }
+            return new Entry(groupQueue.groupId, task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * trigger taken from group done
+     */
+    public void done(int groupId) {
+        lock.lock();
+        try {
+            GroupQueue groupQueue = groupQueues.get(groupId);
+            if (groupQueue == null) {
+                return;
+            }
+            groupQueue.running--;
+            if (groupQueue.tasks.isEmpty() && groupQueue.running <= 0) {
+                groupQueues.remove(groupId);
+                return;
+            }
+            activate(groupQueue);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void activate(GroupQueue groupQueue) {
+        if (!groupQueue.active && !groupQueue.tasks.isEmpty() && groupQueue.running < groupQueue.maxConcurrency) {
+            groupQueue.active = true;
+            activeGroups.addLast(groupQueue);
+            notEmpty.signal();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * queued trigger of a group
+     */
+    public int size(int groupId) {
+        lock.lock();
+        try {
+            GroupQueue groupQueue = groupQueues.get(groupId);
+            return groupQueue != null ? groupQueue.tasks.size() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
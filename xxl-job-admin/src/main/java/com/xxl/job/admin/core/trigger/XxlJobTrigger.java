@@ -4,19 +4,33 @@ import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
 import com.xxl.job.admin.core.model.XxlJobGroup;
 import com.xxl.job.admin.core.model.XxlJobInfo;
 import com.xxl.job.admin.core.model.XxlJobLog;
+import com.xxl.job.admin.core.route.ExecutorRouteStats;
 import com.xxl.job.admin.core.route.ExecutorRouteStrategyEnum;
-import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
+import com.xxl.job.admin.core.scheduler.JobScheduleMetrics;
+import com.xxl.job.admin.core.scheduler.JobTriggerStageMetrics;
+import com.xxl.job.admin.core.thread.JobLogIdHelper;
+import com.xxl.job.admin.core.thread.JobLogWriteHelper;
+import com.xxl.job.admin.core.thread.JobTriggerBatchHelper;
+import com.xxl.job.admin.core.thread.JobTriggerCacheHelper;
 import com.xxl.job.admin.core.util.I18nUtil;
-import com.xxl.job.core.biz.ExecutorBiz;
 import com.xxl.job.core.biz.model.ReturnT;
 import com.xxl.job.core.biz.model.TriggerParam;
 import com.xxl.job.core.enums.ExecutorBlockStrategyEnum;
+import com.xxl.job.core.glue.GlueTypeEnum;
 import com.xxl.job.core.util.IpUtil;
-import com.xxl.job.core.util.ThrowableUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * xxl-job trigger
@@ -40,28 +54,37 @@ public class XxlJobTrigger {
      * @param addressList
      *          null: use executor addressList
      *          not null: cover
+     * @return  future, completed when rpc done and log saved; caller thread only load and route
      */
-    public static void trigger(int jobId,
+    public static CompletableFuture<Void> trigger(int jobId,
                                TriggerTypeEnum triggerType,
                                int failRetryCount,
                                String executorShardingParam,
                                String executorParam,
                                String addressList) {
 
-        // load data
-        XxlJobInfo jobInfo = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadById(jobId);
+        // load data (cached, shared, copy before cover)
+        long loadStartTime = System.currentTimeMillis();
+        XxlJobInfo jobInfo = JobTriggerCacheHelper.getInstance().loadJobInfo(jobId);
         if (jobInfo == null) {
             logger.warn(">>>>>>>>>>>> trigger fail, jobId invalid，jobId={}", jobId);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
         if (executorParam != null) {
-            jobInfo.setExecutorParam(executorParam);
+            XxlJobInfo coverJobInfo = new XxlJobInfo();
+            BeanUtils.copyProperties(jobInfo, coverJobInfo);
+            coverJobInfo.setExecutorParam(executorParam);
+            jobInfo = coverJobInfo;
         }
         int finalFailRetryCount = failRetryCount>=0?failRetryCount:jobInfo.getExecutorFailRetryCount();
-        XxlJobGroup group = XxlJobAdminConfig.getAdminConfig().getXxlJobGroupDao().load(jobInfo.getJobGroup());
+        XxlJobGroup group = JobTriggerCacheHelper.getInstance().loadJobGroup(jobInfo.getJobGroup());
+        long loadCost = System.currentTimeMillis() - loadStartTime;
 
         // cover addressList
         if (addressList!=null && addressList.trim().length()>0) {
+            XxlJobGroup coverGroup = new XxlJobGroup();
+            BeanUtils.copyProperties(group, coverGroup);
+            group = coverGroup;
             group.setAddressType(1);
             group.setAddressList(addressList.trim());
         }
@@ -79,14 +102,12 @@ public class XxlJobTrigger {
         if (ExecutorRouteStrategyEnum.SHARDING_BROADCAST==ExecutorRouteStrategyEnum.match(jobInfo.getExecutorRouteStrategy(), null)
                 && group.getRegistryList()!=null && !group.getRegistryList().isEmpty()
                 && shardingParam==null) {
-            for (int i = 0; i < group.getRegistryList().size(); i++) {
-                processTrigger(group, jobInfo, finalFailRetryCount, triggerType, i, group.getRegistryList().size());
-            }
+            return processBroadcastTrigger(group, jobInfo, finalFailRetryCount, triggerType, loadCost);
         } else {
             if (shardingParam == null) {
                 shardingParam = new int[]{0, 1};
             }
-            processTrigger(group, jobInfo, finalFailRetryCount, triggerType, shardingParam[0], shardingParam[1]);
+            return processTrigger(group, jobInfo, finalFailRetryCount, triggerType, shardingParam[0], shardingParam[1], loadCost);
         }
 
     }
@@ -107,20 +128,193 @@ public class XxlJobTrigger {
      * @param triggerType
      * @param index                     sharding index
      * @param total                     sharding index
+     * @param loadCost                  job/group load cost, ms
+     * @return  future, completed when rpc done and trigger info of log updated
      */
-    private static void processTrigger(XxlJobGroup group, XxlJobInfo jobInfo, int finalFailRetryCount, TriggerTypeEnum triggerType, int index, int total){
+    private static CompletableFuture<Void> processTrigger(XxlJobGroup group, XxlJobInfo jobInfo, int finalFailRetryCount, TriggerTypeEnum triggerType, int index, int total, long loadCost){
+
+        // 1、2、3、log-id, trigger-param, address
+        final ShardTrigger shardTrigger = prepareTrigger(group, jobInfo, finalFailRetryCount, triggerType, index, total);
+        shardTrigger.loadCost = loadCost;
+
+        // 4、save log before rpc, so callback always find it and a run never go without log
+        final long logStartTime = System.currentTimeMillis();
+        return JobLogWriteHelper.getInstance().saveAsync(shardTrigger.jobLog).thenCompose(new Function<Boolean, CompletionStage<Void>>() {
+            @Override
+            public CompletionStage<Void> apply(Boolean saved) {
+                shardTrigger.logCost = System.currentTimeMillis() - logStartTime;
+                if (!saved) {
+                    logger.error(">>>>>>>>>>> xxl-job trigger fail, log save fail, jobId:{}, logId:{}", shardTrigger.jobInfo.getId(), shardTrigger.jobLog.getId());
+                    return CompletableFuture.completedFuture(null);
+                }
+
+                // 5、trigger remote executor, not wait; 6、7、trigger info, update log, on rpc done
+                return runTrigger(shardTrigger).thenCompose(new Function<ReturnT<String>, CompletionStage<Void>>() {
+                    @Override
+                    public CompletionStage<Void> apply(ReturnT<String> triggerResult) {
+                        finishTrigger(shardTrigger, triggerResult);
+                        return updateLog(Collections.singletonList(shardTrigger));
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * broadcast, one shard per registered executor
+     *
+     *      a、log     : log of all shard saved before rpc (merged by group commit), caller thread wait for it;
+     *      b、fan-out : shard rpc run concurrently, at most "xxl.job.broadcast.parallelism" in flight;
+     *      c、wait    : caller thread wait for log save and fan-out permit only, rest finished by the returned future;
+     *
+     * @param group                     job group, registry list not empty
+     * @param jobInfo
+     * @param finalFailRetryCount
+     * @param triggerType
+     * @param loadCost                  job/group load cost, ms
+     * @return  future, completed when all rpc done and trigger info of log updated
+     */
+    private static CompletableFuture<Void> processBroadcastTrigger(XxlJobGroup group, final XxlJobInfo jobInfo, int finalFailRetryCount, TriggerTypeEnum triggerType, long loadCost){
+        final long startTime = System.currentTimeMillis();
+        final int total = group.getRegistryList().size();
+
+        // save log
+        List<ShardTrigger> allShardTriggers = new ArrayList<>(total);
+        List<CompletableFuture<Boolean>> savedFutures = new ArrayList<>(total);
+        long logStartTime = System.currentTimeMillis();
+        for (int i = 0; i < total; i++) {
+            ShardTrigger shardTrigger = prepareTrigger(group, jobInfo, finalFailRetryCount, triggerType, i, total);
+            shardTrigger.loadCost = loadCost;
+            allShardTriggers.add(shardTrigger);
+            savedFutures.add(JobLogWriteHelper.getInstance().saveAsync(shardTrigger.jobLog));
+        }
+        final List<ShardTrigger> shardTriggers = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            ShardTrigger shardTrigger = allShardTriggers.get(i);
+            boolean saved = savedFutures.get(i).join();          // never exceptionally
+            shardTrigger.logCost = System.currentTimeMillis() - logStartTime;
+            if (saved) {
+                shardTriggers.add(shardTrigger);
+            } else {
+                logger.error(">>>>>>>>>>> xxl-job trigger fail, log save fail, jobId:{}, logId:{}", jobInfo.getId(), shardTrigger.jobLog.getId());
+            }
+        }
+
+        // fan-out
+        final Semaphore permits = new Semaphore(XxlJobAdminConfig.getAdminConfig().getBroadcastParallelism());
+        final List<CompletableFuture<ReturnT<String>>> triggerFutures = new ArrayList<>(shardTriggers.size());
+        for (ShardTrigger shardTrigger : shardTriggers) {
+            permits.acquireUninterruptibly();
+            triggerFutures.add(runTrigger(shardTrigger).whenComplete(new BiConsumer<ReturnT<String>, Throwable>() {
+                @Override
+                public void accept(ReturnT<String> result, Throwable throwable) {
+                    permits.release();
+                }
+            }));
+        }
+
+        // fan-in, on all rpc done
+        return CompletableFuture.allOf(triggerFutures.toArray(new CompletableFuture<?>[0]))
+                .thenCompose(new Function<Void, CompletionStage<Void>>() {
+                    @Override
+                    public CompletionStage<Void> apply(Void ignore) {
+                        int failCount = total - shardTriggers.size();
+                        for (int i = 0; i < shardTriggers.size(); i++) {
+                            ReturnT<String> triggerResult = triggerFutures.get(i).join();       // done
+                            if (triggerResult.getCode() != ReturnT.SUCCESS_CODE) {
+                                failCount++;
+                            }
+                            finishTrigger(shardTriggers.get(i), triggerResult);
+                        }
+
+                        final int finalFailCount = failCount;
+                        return updateLog(shardTriggers).thenRun(new Runnable() {
+                            @Override
+                            public void run() {
+                                long cost = System.currentTimeMillis() - startTime;
+                                JobScheduleMetrics.getInstance().recordBroadcast(total, cost);
+                                logger.info(">>>>>>>>>>> xxl-job broadcast trigger end, jobId:{}, shard:{}, fail:{}, cost:{}ms", jobInfo.getId(), total, finalFailCount, cost);
+                            }
+                        });
+                    }
+                });
+    }
+
+    /**
+     * rpc of a shard with log saved, not wait; fail result if no address
+     */
+    private static CompletableFuture<ReturnT<String>> runTrigger(final ShardTrigger shardTrigger) {
+        if (shardTrigger.address == null) {
+            return CompletableFuture.completedFuture(new ReturnT<String>(ReturnT.FAIL_CODE, null));
+        }
+        final long rpcStartTime = System.currentTimeMillis();
+        return runExecutorAsync(shardTrigger.triggerParam, shardTrigger.address)
+                .thenApply(new Function<ReturnT<String>, ReturnT<String>>() {
+                    @Override
+                    public ReturnT<String> apply(ReturnT<String> triggerResult) {
+                        shardTrigger.rpcCost = System.currentTimeMillis() - rpcStartTime;
+                        return triggerResult;
+                    }
+                });
+    }
+
+    /**
+     * update trigger info of shard log, not wait; stage cost recorded when updated
+     */
+    private static CompletableFuture<Void> updateLog(final List<ShardTrigger> shardTriggers) {
+        CompletableFuture<?>[] updatedFutures = new CompletableFuture<?>[shardTriggers.size()];
+        for (int i = 0; i < shardTriggers.size(); i++) {
+            updatedFutures[i] = JobLogWriteHelper.getInstance().updateAsync(shardTriggers.get(i).jobLog);
+        }
+        return CompletableFuture.allOf(updatedFutures).thenRun(new Runnable() {
+            @Override
+            public void run() {
+                for (ShardTrigger shardTrigger : shardTriggers) {
+                    recordStageCost(shardTrigger);
+                    logger.debug(">>>>>>>>>>> xxl-job trigger end, jobId:{}", shardTrigger.jobLog.getId());
+                }
+            }
+        });
+    }
+
+    /**
+     * one shard of a trigger, log and trigger param before rpc
+     */
+    private static class ShardTrigger {
+        private XxlJobGroup group;
+        private XxlJobInfo jobInfo;
+        private int finalFailRetryCount;
+        private TriggerTypeEnum triggerType;
+
+        private ExecutorBlockStrategyEnum blockStrategy;
+        private ExecutorRouteStrategyEnum executorRouteStrategyEnum;
+        private String shardingParam;
+
+        private XxlJobLog jobLog;
+        private TriggerParam triggerParam;
+        private String address;
+        private ReturnT<String> routeAddressResult;
+
+        // stage cost, ms, -1 if stage not run
+        private long loadCost = -1;
+        private long routeCost = -1;
+        private volatile long rpcCost = -1;
+        private long logCost = -1;
+    }
+
+    private static ShardTrigger prepareTrigger(XxlJobGroup group, XxlJobInfo jobInfo, int finalFailRetryCount, TriggerTypeEnum triggerType, int index, int total){
 
         // param
         ExecutorBlockStrategyEnum blockStrategy = ExecutorBlockStrategyEnum.match(jobInfo.getExecutorBlockStrategy(), ExecutorBlockStrategyEnum.SERIAL_EXECUTION);  // block strategy
         ExecutorRouteStrategyEnum executorRouteStrategyEnum = ExecutorRouteStrategyEnum.match(jobInfo.getExecutorRouteStrategy(), null);    // route strategy
         String shardingParam = (ExecutorRouteStrategyEnum.SHARDING_BROADCAST==executorRouteStrategyEnum)?String.valueOf(index).concat("/").concat(String.valueOf(total)):null;
 
-        // 1、save log-id
+        // 1、log-id, allocated in memory, log saved before rpc and trigger info updated after
         XxlJobLog jobLog = new XxlJobLog();
+        jobLog.setId(JobLogIdHelper.getInstance().nextId());
         jobLog.setJobGroup(jobInfo.getJobGroup());
         jobLog.setJobId(jobInfo.getId());
         jobLog.setTriggerTime(new Date());
-        XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().save(jobLog);
         logger.debug(">>>>>>>>>>> xxl-job trigger start, jobId:{}", jobLog.getId());
 
         // 2、init trigger-param
@@ -133,23 +327,27 @@ public class XxlJobTrigger {
         triggerParam.setLogId(jobLog.getId());
         triggerParam.setLogDateTime(jobLog.getTriggerTime().getTime());
         triggerParam.setGlueType(jobInfo.getGlueType());
-        triggerParam.setGlueSource(jobInfo.getGlueSource());
+        triggerParam.setGlueSource(loadGlueSource(jobInfo));
         triggerParam.setGlueUpdatetime(jobInfo.getGlueUpdatetime().getTime());
         triggerParam.setBroadcastIndex(index);
         triggerParam.setBroadcastTotal(total);
 
         // 3、init address
         String address = null;
+        long routeCost = -1;
         ReturnT<String> routeAddressResult = null;
-        if (group.getRegistryList()!=null && !group.getRegistryList().isEmpty()) {
+        List<String> registryList = group.getRegistryList();
+        if (registryList!=null && !registryList.isEmpty()) {
             if (ExecutorRouteStrategyEnum.SHARDING_BROADCAST == executorRouteStrategyEnum) {
-                if (index < group.getRegistryList().size()) {
-                    address = group.getRegistryList().get(index);
+                if (index < registryList.size()) {
+                    address = registryList.get(index);
                 } else {
-                    address = group.getRegistryList().get(0);
+                    address = registryList.get(0);
                 }
             } else {
-                routeAddressResult = executorRouteStrategyEnum.getRouter().route(triggerParam, group.getRegistryList());
+                long routeStartTime = System.currentTimeMillis();
+                routeAddressResult = executorRouteStrategyEnum.getRouter().route(triggerParam, registryList);
+                routeCost = System.currentTimeMillis() - routeStartTime;
                 if (routeAddressResult.getCode() == ReturnT.SUCCESS_CODE) {
                     address = routeAddressResult.getContent();
                 }
@@ -158,69 +356,113 @@ public class XxlJobTrigger {
             routeAddressResult = new ReturnT<String>(ReturnT.FAIL_CODE, I18nUtil.getString("jobconf_trigger_address_empty"));
         }
 
-        // 4、trigger remote executor
-        ReturnT<String> triggerResult = null;
-        if (address != null) {
-            triggerResult = runExecutor(triggerParam, address);
-        } else {
-            triggerResult = new ReturnT<String>(ReturnT.FAIL_CODE, null);
-        }
+        ShardTrigger shardTrigger = new ShardTrigger();
+        shardTrigger.group = group;
+        shardTrigger.jobInfo = jobInfo;
+        shardTrigger.finalFailRetryCount = finalFailRetryCount;
+        shardTrigger.triggerType = triggerType;
+        shardTrigger.blockStrategy = blockStrategy;
+        shardTrigger.executorRouteStrategyEnum = executorRouteStrategyEnum;
+        shardTrigger.shardingParam = shardingParam;
+        shardTrigger.jobLog = jobLog;
+        shardTrigger.triggerParam = triggerParam;
+        shardTrigger.address = address;
+        shardTrigger.routeAddressResult = routeAddressResult;
+        shardTrigger.routeCost = routeCost;
+        return shardTrigger;
+    }
+
+    private static void finishTrigger(ShardTrigger shardTrigger, ReturnT<String> triggerResult){
+        XxlJobGroup group = shardTrigger.group;
+        XxlJobInfo jobInfo = shardTrigger.jobInfo;
+        ReturnT<String> routeAddressResult = shardTrigger.routeAddressResult;
 
         // 5、collection trigger info
         StringBuffer triggerMsgSb = new StringBuffer();
-        triggerMsgSb.append(I18nUtil.getString("jobconf_trigger_type")).append("：").append(triggerType.getTitle());
+        triggerMsgSb.append(I18nUtil.getString("jobconf_trigger_type")).append("：").append(shardTrigger.triggerType.getTitle());
         triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_admin_adress")).append("：").append(IpUtil.getIp());
         triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_exe_regtype")).append("：")
                 .append( (group.getAddressType() == 0)?I18nUtil.getString("jobgroup_field_addressType_0"):I18nUtil.getString("jobgroup_field_addressType_1") );
         triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_exe_regaddress")).append("：").append(group.getRegistryList());
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorRouteStrategy")).append("：").append(executorRouteStrategyEnum.getTitle());
-        if (shardingParam != null) {
-            triggerMsgSb.append("("+shardingParam+")");
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorRouteStrategy")).append("：").append(shardTrigger.executorRouteStrategyEnum.getTitle());
+        if (shardTrigger.shardingParam != null) {
+            triggerMsgSb.append("("+shardTrigger.shardingParam+")");
         }
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorBlockStrategy")).append("：").append(blockStrategy.getTitle());
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorBlockStrategy")).append("：").append(shardTrigger.blockStrategy.getTitle());
         triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_timeout")).append("：").append(jobInfo.getExecutorTimeout());
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorFailRetryCount")).append("：").append(finalFailRetryCount);
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorFailRetryCount")).append("：").append(shardTrigger.finalFailRetryCount);
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_stage_cost")).append("：")
+                .append("load ").append(formatCost(shardTrigger.loadCost))
+                .append(", route ").append(formatCost(shardTrigger.routeCost))
+                .append(", rpc ").append(formatCost(shardTrigger.rpcCost));
 
         triggerMsgSb.append("<br><br><span style=\"color:#00c0ef;\" > >>>>>>>>>>>"+ I18nUtil.getString("jobconf_trigger_run") +"<<<<<<<<<<< </span><br>")
                 .append((routeAddressResult!=null&&routeAddressResult.getMsg()!=null)?routeAddressResult.getMsg()+"<br><br>":"").append(triggerResult.getMsg()!=null?triggerResult.getMsg():"");
 
-        // 6、save log trigger-info
-        jobLog.setExecutorAddress(address);
+        // 6、log trigger-info
+        XxlJobLog jobLog = shardTrigger.jobLog;
+        jobLog.setExecutorAddress(shardTrigger.address);
         jobLog.setExecutorHandler(jobInfo.getExecutorHandler());
         jobLog.setExecutorParam(jobInfo.getExecutorParam());
-        jobLog.setExecutorShardingParam(shardingParam);
-        jobLog.setExecutorFailRetryCount(finalFailRetryCount);
+        jobLog.setExecutorShardingParam(shardTrigger.shardingParam);
+        jobLog.setExecutorFailRetryCount(shardTrigger.finalFailRetryCount);
         //jobLog.setTriggerTime();
         jobLog.setTriggerCode(triggerResult.getCode());
         jobLog.setTriggerMsg(triggerMsgSb.toString());
-        XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateTriggerInfo(jobLog);
+        jobLog.setTriggerCost(shardTrigger.loadCost + "," + shardTrigger.routeCost + "," + shardTrigger.rpcCost);
+    }
+
+    private static String formatCost(long cost) {
+        return cost >= 0 ? cost + "ms" : "-";
+    }
+
+    /**
+     * stage cost of a trigger, log cost (save before rpc) only in metrics
+     */
+    private static void recordStageCost(ShardTrigger shardTrigger) {
+        JobTriggerStageMetrics.getInstance().record(shardTrigger.jobInfo.getId(),
+                shardTrigger.loadCost, shardTrigger.routeCost, shardTrigger.rpcCost, shardTrigger.logCost);
+    }
 
-        logger.debug(">>>>>>>>>>> xxl-job trigger end, jobId:{}", jobLog.getId());
+    /**
+     * glue source shipped with trigger, null if glue delta enabled (executor load it on glue version change)
+     */
+    private static String loadGlueSource(XxlJobInfo jobInfo) {
+        if (GlueTypeEnum.BEAN == GlueTypeEnum.match(jobInfo.getGlueType())
+                || XxlJobAdminConfig.getAdminConfig().isGlueDeltaEnabled()) {
+            return null;
+        }
+        XxlJobInfo glueInfo = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadGlueSource(jobInfo.getId());
+        return glueInfo != null ? glueInfo.getGlueSource() : null;
     }
 
     /**
-     * run executor
+     * run executor, async (pooled keep-alive connection, batched by JobTriggerBatchHelper, caller thread not blocked)
      * @param triggerParam
      * @param address
-     * @return
+     * @return  future, always completed with a ReturnT
      */
-    public static ReturnT<String> runExecutor(TriggerParam triggerParam, String address){
-        ReturnT<String> runResult = null;
-        try {
-            ExecutorBiz executorBiz = XxlJobScheduler.getExecutorBiz(address);
-            runResult = executorBiz.run(triggerParam);
-        } catch (Exception e) {
-            logger.error(">>>>>>>>>>> xxl-job trigger error, please check if the executor[{}] is running.", address, e);
-            runResult = new ReturnT<String>(ReturnT.FAIL_CODE, ThrowableUtil.toString(e));
-        }
+    public static CompletableFuture<ReturnT<String>> runExecutorAsync(TriggerParam triggerParam, final String address){
+        final long startTime = System.currentTimeMillis();
+        ExecutorRouteStats.getInstance().runStart(address);
+
+        // coalesced with concurrent run to the same executor
+        CompletableFuture<ReturnT<String>> runFuture = JobTriggerBatchHelper.getInstance().runAsync(address, triggerParam);
 
-        StringBuffer runResultSB = new StringBuffer(I18nUtil.getString("jobconf_trigger_run") + "：");
-        runResultSB.append("<br>address：").append(address);
-        runResultSB.append("<br>code：").append(runResult.getCode());
-        runResultSB.append("<br>msg：").append(runResult.getMsg());
+        return runFuture.thenApply(new Function<ReturnT<String>, ReturnT<String>>() {
+            @Override
+            public ReturnT<String> apply(ReturnT<String> runResult) {
+                ExecutorRouteStats.getInstance().runEnd(address, System.currentTimeMillis() - startTime, runResult.getCode() == ReturnT.SUCCESS_CODE);
 
-        runResult.setMsg(runResultSB.toString());
-        return runResult;
+                StringBuffer runResultSB = new StringBuffer(I18nUtil.getString("jobconf_trigger_run") + "：");
+                runResultSB.append("<br>address：").append(address);
+                runResultSB.append("<br>code：").append(runResult.getCode());
+                runResultSB.append("<br>msg：").append(runResult.getMsg());
+
+                runResult.setMsg(runResultSB.toString());
+                return runResult;
+            }
+        });
     }
 
 }
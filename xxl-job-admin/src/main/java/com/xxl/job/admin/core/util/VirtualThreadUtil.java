@@ -0,0 +1,146 @@
+package com.xxl.job.admin.core.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * virtual thread tool, JDK 21+ api called by reflection, source and older JDK stay supported
+ */
+public class VirtualThreadUtil {
+    private static Logger logger = LoggerFactory.getLogger(VirtualThreadUtil.class);
+
+    private static Method ofVirtualMethod;
+    private static Method nameMethod;
+    private static Method factoryMethod;
+    private static Method newThreadPerTaskExecutorMethod;
+    static {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            ofVirtualMethod = Thread.class.getMethod("ofVirtual");
+            nameMethod = builderClass.getMethod("name", String.class, long.class);
+            factoryMethod = builderClass.getMethod("factory");
+            newThreadPerTaskExecutorMethod = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (Exception e) {
+            ofVirtualMethod = null;     // JDK < 21
+        }
+    }
+
+    /**
+     * virtual thread supported by running JDK
+     */
+    public static boolean isSupported() {
+        return ofVirtualMethod != null;
+    }
+
+    /**
+     * new virtual thread per task
+     *
+     * @param namePrefix    thread named "namePrefix + seq"
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("xxl-job, virtual thread not supported by JDK " + System.getProperty("java.version"));
+        }
+        try {
+            Object builder = nameMethod.invoke(ofVirtualMethod.invoke(null), namePrefix, 0L);
+            ThreadFactory threadFactory = (ThreadFactory) factoryMethod.invoke(builder);
+            return (ExecutorService) newThreadPerTaskExecutorMethod.invoke(null, threadFactory);
+        } catch (Exception e) {
+            throw new IllegalStateException("xxl-job, virtual thread executor create fail.", e);
+        }
+    }
+
+    /**
+     * new virtual thread per task, running task limited by semaphore
+     *
+     * @param namePrefix
+     * @param maxConcurrency    max task running
+     * @param maxWaiting        max task waiting for permit, over it task run in caller thread
+     */
+    public static ExecutorService newLimitedExecutor(String namePrefix, int maxConcurrency, int maxWaiting) {
+        return new LimitedExecutor(newThreadPerTaskExecutor(namePrefix), namePrefix, maxConcurrency, maxWaiting);
+    }
+
+    /**
+     * running limited by semaphore instead of pool size, admitted beyond limit run in caller thread
+     */
+    public static class LimitedExecutor extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final String name;
+        private final Semaphore runningPermits;
+        private final Semaphore admittedPermits;
+
+        public LimitedExecutor(ExecutorService delegate, String name, int maxConcurrency, int maxWaiting) {
+            this.delegate = delegate;
+            this.name = name;
+            this.runningPermits = new Semaphore(maxConcurrency);
+            this.admittedPermits = new Semaphore(maxConcurrency + maxWaiting);
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            if (!admittedPermits.tryAcquire()) {
+                command.run();
+                logger.warn(">>>>>>>>>>> xxl-job, {} too fast, run in caller thread.", name);
+                return;
+            }
+            try {
+                delegate.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            runningPermits.acquire();
+                            try {
+                                command.run();
+                            } finally {
+                                runningPermits.release();
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            admittedPermits.release();
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                admittedPermits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+
+}
@@ -4,6 +4,7 @@ import com.xxl.job.admin.core.model.XxlJobInfo;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Date;
 import java.util.List;
 
 
@@ -32,6 +33,10 @@ public interface XxlJobInfoDao {
 	public int save(XxlJobInfo info);
 
 	public XxlJobInfo loadById(@Param("id") int id);
+
+	public XxlJobInfo loadTriggerById(@Param("id") int id);
+
+	public XxlJobInfo loadGlueSource(@Param("id") int id);
 	
 	public int update(XxlJobInfo xxlJobInfo);
 	
@@ -45,5 +50,13 @@ public interface XxlJobInfoDao {
 
 	public int scheduleUpdate(XxlJobInfo xxlJobInfo);
 
+	public int scheduleUpdateBatch(@Param("list") List<XxlJobInfo> list);
+
+	public List<XxlJobInfo> scheduleJobQueryByIds(@Param("ids") List<Integer> ids);
+
+	public List<XxlJobInfo> scheduleIndexQuery(@Param("updateTime") Date updateTime);
+
+	public List<XxlJobInfo> findVersion(@Param("updateTime") Date updateTime);
+
 
 }
@@ -33,11 +33,21 @@ public interface XxlJobLogDao {
 	
 	public XxlJobLog load(@Param("id") long id);
 
+	public List<XxlJobLog> loadByIds(@Param("ids") List<Long> ids);
+
 	public long save(XxlJobLog xxlJobLog);
 
+	public int saveBatch(@Param("list") List<XxlJobLog> list);
+
+	public long findMaxId();
+
 	public int updateTriggerInfo(XxlJobLog xxlJobLog);
 
+	public int updateTriggerInfoBatch(@Param("list") List<XxlJobLog> list);
+
 	public int updateHandleInfo(XxlJobLog xxlJobLog);
+
+	public int updateHandleInfoBatch(@Param("list") List<XxlJobLog> list);
 	
 	public int delete(@Param("jobId") int jobId);
 
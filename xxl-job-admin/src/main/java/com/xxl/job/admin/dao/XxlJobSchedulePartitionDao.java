@@ -0,0 +1,28 @@
+package com.xxl.job.admin.dao;
+
+import com.xxl.job.admin.core.model.XxlJobSchedulePartition;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * schedule partition lease
+ */
+@Mapper
+public interface XxlJobSchedulePartitionDao {
+
+    public int init(@Param("partitionId") int partitionId);
+
+    public List<XxlJobSchedulePartition> findAll(@Param("partitionCount") int partitionCount);
+
+    public int claim(@Param("partitionId") int partitionId,
+                     @Param("leaseOwner") String leaseOwner,
+                     @Param("nowTime") long nowTime,
+                     @Param("leaseExpireTime") long leaseExpireTime);
+
+    public int release(@Param("partitionId") int partitionId,
+                       @Param("leaseOwner") String leaseOwner,
+                       @Param("nowTime") long nowTime);
+
+}
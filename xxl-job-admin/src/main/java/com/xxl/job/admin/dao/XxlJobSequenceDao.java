@@ -0,0 +1,20 @@
+package com.xxl.job.admin.dao;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * id sequence, reserved by segment
+ */
+@Mapper
+public interface XxlJobSequenceDao {
+
+    public int init(@Param("seqName") String seqName);
+
+    public Long loadMaxId(@Param("seqName") String seqName);
+
+    public int updateMaxId(@Param("seqName") String seqName,
+                           @Param("oldMaxId") long oldMaxId,
+                           @Param("newMaxId") long newMaxId);
+
+}
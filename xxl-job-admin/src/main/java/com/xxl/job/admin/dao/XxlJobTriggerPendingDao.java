@@ -0,0 +1,32 @@
+package com.xxl.job.admin.dao;
+
+import com.xxl.job.admin.core.model.XxlJobTriggerPending;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * trigger overflow, rejected trigger waiting for replay
+ */
+@Mapper
+public interface XxlJobTriggerPendingDao {
+
+    public int saveBatch(@Param("list") List<XxlJobTriggerPending> list);
+
+    public List<XxlJobTriggerPending> findPending(@Param("pagesize") int pagesize,
+                                                  @Param("claimExpireTime") Date claimExpireTime);
+
+    public int claim(@Param("id") long id,
+                     @Param("claimOwner") String claimOwner,
+                     @Param("claimTime") Date claimTime,
+                     @Param("claimExpireTime") Date claimExpireTime);
+
+    public int release(@Param("id") long id,
+                       @Param("claimOwner") String claimOwner);
+
+    public int delete(@Param("id") long id,
+                      @Param("claimOwner") String claimOwner);
+
+}
@@ -1,11 +1,15 @@
 package com.xxl.job.admin.service.impl;
 
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.model.XxlJobInfo;
 import com.xxl.job.admin.core.thread.JobCompleteHelper;
 import com.xxl.job.admin.core.thread.JobRegistryHelper;
 import com.xxl.job.core.biz.AdminBiz;
+import com.xxl.job.core.biz.model.GlueSourceParam;
 import com.xxl.job.core.biz.model.HandleCallbackParam;
 import com.xxl.job.core.biz.model.RegistryParam;
 import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.glue.GlueTypeEnum;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -32,4 +36,22 @@ public class AdminBizImpl implements AdminBiz {
         return JobRegistryHelper.getInstance().registryRemove(registryParam);
     }
 
+    @Override
+    public ReturnT<String> glueSource(GlueSourceParam glueSourceParam) {
+        XxlJobInfo glueInfo = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadGlueSource(glueSourceParam.getJobId());
+        if (glueInfo == null) {
+            return new ReturnT<String>(ReturnT.FAIL_CODE, "job not found, jobId:" + glueSourceParam.getJobId());
+        }
+        if (GlueTypeEnum.BEAN == GlueTypeEnum.match(glueInfo.getGlueType()) || glueInfo.getGlueSource() == null) {
+            return new ReturnT<String>(ReturnT.FAIL_CODE, "job glue source is empty, jobId:" + glueSourceParam.getJobId());
+        }
+
+        // source updated after trigger, not returned as the requested version; executor cache it by the requested version
+        if (glueInfo.getGlueUpdatetime() == null || glueInfo.getGlueUpdatetime().getTime() != glueSourceParam.getGlueUpdatetime()) {
+            return new ReturnT<String>(ReturnT.FAIL_CODE, "job glue source version not match, jobId:" + glueSourceParam.getJobId()
+                    + ", glueUpdatetime:" + glueSourceParam.getGlueUpdatetime());
+        }
+        return new ReturnT<String>(glueInfo.getGlueSource());
+    }
+
 }
@@ -6,9 +6,11 @@ import com.xxl.job.admin.core.model.XxlJobInfo;
 import com.xxl.job.admin.core.model.XxlJobLogReport;
 import com.xxl.job.admin.core.model.XxlJobUser;
 import com.xxl.job.admin.core.route.ExecutorRouteStrategyEnum;
+import com.xxl.job.admin.core.scheduler.JobScheduleIndex;
 import com.xxl.job.admin.core.scheduler.MisfireStrategyEnum;
 import com.xxl.job.admin.core.scheduler.ScheduleTypeEnum;
 import com.xxl.job.admin.core.thread.JobScheduleHelper;
+import com.xxl.job.admin.core.thread.JobTriggerCacheHelper;
 import com.xxl.job.admin.core.thread.JobTriggerPoolHelper;
 import com.xxl.job.admin.core.trigger.TriggerTypeEnum;
 import com.xxl.job.admin.core.util.I18nUtil;
@@ -155,6 +157,7 @@ public class XxlJobServiceImpl implements XxlJobService {
 		if (jobInfo.getId() < 1) {
 			return new ReturnT<String>(ReturnT.FAIL_CODE, (I18nUtil.getString("jobinfo_field_add")+I18nUtil.getString("system_fail")) );
 		}
+		JobScheduleIndex.getInstance().put(jobInfo);
 
 		return new ReturnT<String>(String.valueOf(jobInfo.getId()));
 	}
@@ -285,6 +288,8 @@ public class XxlJobServiceImpl implements XxlJobService {
 
 		exists_jobInfo.setUpdateTime(new Date());
         xxlJobInfoDao.update(exists_jobInfo);
+		JobScheduleIndex.getInstance().put(exists_jobInfo);
+		JobTriggerCacheHelper.getInstance().removeJobInfo(exists_jobInfo.getId());
 
 
 		return ReturnT.SUCCESS;
@@ -298,6 +303,8 @@ public class XxlJobServiceImpl implements XxlJobService {
 		}
 
 		xxlJobInfoDao.delete(id);
+		JobScheduleIndex.getInstance().remove(id);
+		JobTriggerCacheHelper.getInstance().removeJobInfo(id);
 		xxlJobLogDao.delete(id);
 		xxlJobLogGlueDao.deleteByJobId(id);
 		return ReturnT.SUCCESS;
@@ -332,6 +339,8 @@ public class XxlJobServiceImpl implements XxlJobService {
 
 		xxlJobInfo.setUpdateTime(new Date());
 		xxlJobInfoDao.update(xxlJobInfo);
+		JobScheduleIndex.getInstance().put(xxlJobInfo);
+		JobTriggerCacheHelper.getInstance().removeJobInfo(xxlJobInfo.getId());
 		return ReturnT.SUCCESS;
 	}
 
@@ -345,6 +354,8 @@ public class XxlJobServiceImpl implements XxlJobService {
 
 		xxlJobInfo.setUpdateTime(new Date());
 		xxlJobInfoDao.update(xxlJobInfo);
+		JobScheduleIndex.getInstance().put(xxlJobInfo);
+		JobTriggerCacheHelper.getInstance().removeJobInfo(xxlJobInfo.getId());
 		return ReturnT.SUCCESS;
 	}
 
@@ -369,7 +380,7 @@ public class XxlJobServiceImpl implements XxlJobService {
 			executorParam = "";
 		}
 
-		JobTriggerPoolHelper.trigger(jobId, TriggerTypeEnum.MANUAL, -1, null, executorParam, addressList);
+		JobTriggerPoolHelper.trigger(jobId, xxlJobInfo.getJobGroup(), TriggerTypeEnum.MANUAL, -1, null, executorParam, addressList);
 		return ReturnT.SUCCESS;
 	}
 
@@ -150,6 +150,7 @@ $(function() {
                                     '       <li><a href="'+ logHref +'">'+ I18n.jobinfo_opt_log +'</a></li>\n' +
                                     '       <li><a href="javascript:void(0);" class="job_registryinfo" >' + I18n.jobinfo_opt_registryinfo + '</a></li>\n' +
 									job_next_time_html +
+                                    '       <li><a href="javascript:void(0);" class="job_trigger_stage" >' + I18n.jobinfo_opt_trigger_stage + '</a></li>\n' +
                                     '       <li class="divider"></li>\n' +
                                     codeBtn +
                                     start_stop_div +
@@ -370,6 +371,48 @@ $(function() {
             }
         });
 
+    });
+
+    // job_trigger_stage
+    $("#job_list").on('click', '.job_trigger_stage',function() {
+        var id = $(this).parents('ul').attr("_id");
+
+        $.ajax({
+            type : 'POST',
+            url : base_url + "/jobinfo/triggerStage",
+            data : {
+                "id" : id
+            },
+            dataType : "json",
+            success : function(data){
+
+                if (data.code != 200) {
+                    layer.open({
+                        title: I18n.jobinfo_opt_trigger_stage ,
+                        btn: [ I18n.system_ok ],
+                        content: data.msg
+                    });
+                } else {
+                    // stage latency percentile (ms), of this admin since start
+                    var html = '<table class="table table-bordered table-condensed" style="margin-bottom: 0;" >' +
+                        '<tr><th>stage</th><th>count</th><th>p50</th><th>p90</th><th>p99</th><th>max</th></tr>';
+                    for (var stage in data.content) {
+                        var item = data.content[stage];
+                        html += '<tr><td>' + stage + '</td><td>' + item.count + '</td><td>' + item.p50 + '</td><td>' + item.p90 + '</td><td>' + item.p99 + '</td><td>' + item.max + '</td></tr>';
+                    }
+                    html += '</table>';
+
+                    layer.open({
+                        title: I18n.jobinfo_opt_trigger_stage + ' (ms)' ,
+                        btn: [ I18n.system_ok ],
+                        area: ['500px'],
+                        content: html
+                    });
+                }
+
+            }
+        });
+
     });
 
 	// add
@@ -0,0 +1,147 @@
+package com.xxl.job.admin.core.cron;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompiledCronExpressionTest {
+
+    private static final String[] ZONES = {"UTC", "Asia/Shanghai", "America/New_York", "Europe/London", "Australia/Lord_Howe", "Asia/Kolkata"};
+
+    @Test
+    public void shouldMatchCronExpressionOnRandomCorpus() throws ParseException {
+        //given
+        Random random = new Random(20240601);
+        long minTime = 946684800000L;       // 2000-01-01
+        long maxTime = 2840140800000L;      // 2060-01-01
+
+        int expressionCount = 0;
+        int compareCount = 0;
+        while (expressionCount < 3000) {
+            String cron = randomExpression(random);
+            if (!CronExpression.isValidExpression(cron)) {
+                continue;
+            }
+            expressionCount++;
+
+            TimeZone timeZone = TimeZone.getTimeZone(ZONES[random.nextInt(ZONES.length)]);
+            CronExpression expression = new CronExpression(cron);
+            expression.setTimeZone(timeZone);
+            CompiledCronExpression compiledExpression = new CompiledCronExpression(expression);
+
+            //when //then
+            for (int i = 0; i < 5; i++) {
+                Date date = new Date(minTime + (long) (random.nextDouble() * (maxTime - minTime)));
+                for (int step = 0; step < 4 && date != null; step++) {
+                    Date expected = expression.getTimeAfter(date);
+                    Date actual = compiledExpression.getNextValidTimeAfter(date);
+                    assertEquals(expected, actual, cron + " @ " + timeZone.getID() + " after " + date.getTime());
+                    compareCount++;
+                    date = expected;
+                }
+            }
+        }
+        assertTrue(compareCount > expressionCount * 5);
+    }
+
+    @Test
+    public void shouldMatchAcrossDaylightSaving() throws ParseException {
+        //given
+        String[] crons = {"0 30 2 * * ?", "0 0/15 * * * ?", "0 0 1,2,3 * * ?", "*/7 * * * * ?"};
+        TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+        long startTime = 1710036000000L;    // 2024-03-10 02:00 UTC, spring forward same day
+
+        for (String cron: crons) {
+            CronExpression expression = new CronExpression(cron);
+            expression.setTimeZone(timeZone);
+            CompiledCronExpression compiledExpression = new CompiledCronExpression(expression);
+
+            //when //then
+            Date date = new Date(startTime);
+            for (int step = 0; step < 200 && date != null; step++) {
+                Date expected = expression.getTimeAfter(date);
+                assertEquals(expected, compiledExpression.getNextValidTimeAfter(date), cron);
+                date = expected;
+            }
+        }
+    }
+
+    @Test
+    public void shouldConvertCivilDate() {
+        for (long epochDay = -800000; epochDay < 800000; epochDay += 13) {
+            long date = CompiledCronExpression.civilFromDays(epochDay);
+            assertEquals(epochDay, CompiledCronExpression.daysFromCivil(date >> 9, (int) ((date >> 5) & 15), (int) (date & 31)));
+        }
+        assertEquals(0, CompiledCronExpression.daysFromCivil(1970, 1, 1));
+    }
+
+
+    // ---------------------- corpus ----------------------
+
+    private static String randomExpression(Random random) {
+        StringBuilder cron = new StringBuilder();
+        cron.append(randomField(random, 0, 59)).append(' ');
+        cron.append(randomField(random, 0, 59)).append(' ');
+        cron.append(randomField(random, 0, 23)).append(' ');
+
+        int dayMode = random.nextInt(10);
+        if (dayMode < 5) {
+            cron.append(randomField(random, 1, 31)).append(' ');
+            cron.append(randomMonth(random)).append(' ');
+            cron.append('?');
+        } else if (dayMode < 9) {
+            cron.append('?').append(' ');
+            cron.append(randomMonth(random)).append(' ');
+            cron.append(randomField(random, 1, 7));
+        } else {
+            // special: L / W / LW / # / nL
+            String[][] special = {{"L", "?"}, {"LW", "?"}, {"15W", "?"}, {"L-3", "?"}, {"?", "6L"}, {"?", "2#3"}, {"?", "FRI#5"}};
+            String[] item = special[random.nextInt(special.length)];
+            cron.append(item[0]).append(' ');
+            cron.append(randomMonth(random)).append(' ');
+            cron.append(item[1]);
+        }
+
+        if (random.nextInt(8) == 0) {
+            int year = 2000 + random.nextInt(70);
+            cron.append(' ').append(random.nextBoolean() ? String.valueOf(year) : year + "-" + (year + random.nextInt(20)));
+        }
+        return cron.toString();
+    }
+
+    private static String randomMonth(Random random) {
+        if (random.nextInt(4) == 0) {
+            String[] names = {"JAN", "FEB", "MAR-JUN", "FEB,AUG", "NOV-FEB"};
+            return names[random.nextInt(names.length)];
+        }
+        return randomField(random, 1, 12);
+    }
+
+    private static String randomField(Random random, int min, int max) {
+        int value = min + random.nextInt(max - min + 1);
+        int value2 = min + random.nextInt(max - min + 1);
+        switch (random.nextInt(7)) {
+            case 0:
+                return "*";
+            case 1:
+                return String.valueOf(value);
+            case 2:
+                return value + "-" + value2;
+            case 3:
+                return value + "/" + (1 + random.nextInt(Math.max(max / 2, 1)));
+            case 4:
+                return "*/" + (1 + random.nextInt(Math.max(max / 2, 1)));
+            case 5:
+                return value + "," + value2 + "," + (min + random.nextInt(max - min + 1));
+            default:
+                return value + "-" + value2 + "/" + (1 + random.nextInt(3));
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.xxl.job.admin.core.cron;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CronExpressionCacheTest {
+
+    @Test
+    public void shouldReuseByExpressionAndTimeZone() throws ParseException {
+        //given
+        CronExpressionCache cache = new CronExpressionCache(10);
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        TimeZone shanghai = TimeZone.getTimeZone("Asia/Shanghai");
+
+        //when
+        CompiledCronExpression first = cache.get("0 0 * * * ?", utc);
+        CompiledCronExpression second = cache.get("0 0 * * * ?", utc);
+        CompiledCronExpression otherZone = cache.get("0 0 * * * ?", shanghai);
+
+        //then
+        assertSame(first, second);
+        assertNotSame(first, otherZone);
+        assertEquals(shanghai, otherZone.getExpression().getTimeZone());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() throws ParseException {
+        //given
+        CronExpressionCache cache = new CronExpressionCache(2);
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        CompiledCronExpression first = cache.get("0 0 * * * ?", utc);
+        cache.get("0 0 1 * * ?", utc);
+
+        //when
+        cache.get("0 0 * * * ?", utc);
+        cache.get("0 0 2 * * ?", utc);
+
+        //then
+        assertEquals(2, cache.size());
+        assertSame(first, cache.get("0 0 * * * ?", utc));
+        assertThrows(ParseException.class, () -> cache.get("0 0 25 * * ?", utc));
+        assertEquals(2, cache.size());
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.xxl.job.admin.core.route.strategy;
+
+import com.xxl.job.core.biz.model.ReturnT;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExecutorRouteBusyoverTest {
+
+    /**
+     * executor stub by address: "idle*" idle (busy once in running), "busy*" busy, "dead*" never respond
+     */
+    private static class StubRouteBusyover extends ExecutorRouteBusyover {
+        private final AtomicInteger probeCount = new AtomicInteger();
+        private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+        @Override
+        CompletableFuture<ReturnT<String>> idleBeatAsync(int jobId, String address) {
+            probeCount.incrementAndGet();
+            if (address.startsWith("busy") || running.contains(address)) {
+                return CompletableFuture.completedFuture(new ReturnT<String>(ReturnT.FAIL_CODE, "job thread is running"));
+            }
+            if (address.startsWith("idle")) {
+                return CompletableFuture.completedFuture(ReturnT.SUCCESS);
+            }
+            return new CompletableFuture<>();
+        }
+
+        private String findIdle(int jobId, List<String> addressList) {
+            return findIdle(jobId, addressList, new HashMap<String, ReturnT<String>>());
+        }
+    }
+
+    @Test
+    public void shouldChooseIdleWithoutWaitingDeadExecutor() {
+        //given
+        StubRouteBusyover routeBusyover = new StubRouteBusyover();
+        List<String> addressList = Arrays.asList("dead-1", "busy-1", "dead-2", "idle-1");
+
+        //when
+        long start = System.currentTimeMillis();
+        String idleAddress = routeBusyover.findIdle(1, addressList);
+        long cost = System.currentTimeMillis() - start;
+
+        //then
+        assertEquals("idle-1", idleAddress);
+        assertEquals(4, routeBusyover.probeCount.get());
+        assertTrue(cost < 500);
+    }
+
+    @Test
+    public void shouldReuseCachedIdleBeatForBurst() {
+        //given
+        StubRouteBusyover routeBusyover = new StubRouteBusyover();
+        List<String> addressList = Arrays.asList("busy-1", "idle-1", "idle-2");
+
+        //when
+        String first = routeBusyover.findIdle(1, addressList);
+        routeBusyover.running.add(first);
+        String second = routeBusyover.findIdle(1, addressList);
+        routeBusyover.running.add(second);
+        String third = routeBusyover.findIdle(1, addressList);
+
+        //then
+        assertEquals("idle-1", first);
+        assertEquals("idle-2", second);
+        assertNull(third);
+        assertEquals(5, routeBusyover.probeCount.get());
+    }
+
+    @Test
+    public void shouldReprobeRoutedAddress() {
+        //given
+        StubRouteBusyover routeBusyover = new StubRouteBusyover();
+        List<String> addressList = Arrays.asList("busy-1", "idle-1");
+
+        //when
+        String first = routeBusyover.findIdle(1, addressList);
+        String second = routeBusyover.findIdle(1, addressList);
+
+        //then
+        assertEquals("idle-1", first);
+        assertEquals("idle-1", second);
+        assertEquals(3, routeBusyover.probeCount.get());
+    }
+
+    @Test
+    public void shouldEvictExpiredJobCache() {
+        //given
+        StubRouteBusyover routeBusyover = new StubRouteBusyover();
+        List<String> addressList = Arrays.asList("idle-1");
+        routeBusyover.findIdle(1, addressList);
+        routeBusyover.findIdle(2, addressList);
+
+        //when
+        int keptCount = routeBusyover.evictExpired(System.currentTimeMillis());
+        int removedCount = routeBusyover.evictExpired(System.currentTimeMillis() + 60 * 1000);
+
+        //then
+        assertEquals(0, keptCount);
+        assertEquals(2, removedCount);
+    }
+
+    @Test
+    public void shouldReportNoResponseAfterTimeout() {
+        //given
+        StubRouteBusyover routeBusyover = new StubRouteBusyover();
+        List<String> addressList = Arrays.asList("busy-1", "dead-1");
+        Map<String, ReturnT<String>> idleBeatResults = new HashMap<>();
+
+        //when
+        String idleAddress = routeBusyover.findIdle(1, addressList, idleBeatResults);
+
+        //then
+        assertNull(idleAddress);
+        assertEquals("job thread is running", idleBeatResults.get("busy-1").getMsg());
+        assertTrue(idleBeatResults.get("dead-1").getMsg().contains("no response"));
+    }
+
+}
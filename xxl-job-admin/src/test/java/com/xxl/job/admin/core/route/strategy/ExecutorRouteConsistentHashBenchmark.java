@@ -0,0 +1,96 @@
+package com.xxl.job.admin.core.route.strategy;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * consistent hash route cost, legacy (md5 ring rebuilt per trigger) vs cached murmur3 ring
+ *
+ * run: main(), or "java -cp (test classpath) org.openjdk.jmh.Main ExecutorRouteConsistentHashBenchmark" after "mvn test-compile -Dmaven.test.skip=false"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutorRouteConsistentHashBenchmark {
+
+    @Param({"10", "200"})
+    private int executorCount;
+
+    private List<String> addressList;
+    private ExecutorRouteConsistentHash routeHash;
+    private int jobId;
+
+    @Setup
+    public void setup() {
+        addressList = new ArrayList<>();
+        for (int i = 0; i < executorCount; i++) {
+            addressList.add("http://192.168." + (i / 256) + "." + (i % 256) + ":9999/");
+        }
+        routeHash = new ExecutorRouteConsistentHash();
+    }
+
+    @Benchmark
+    public String legacyRoute() {
+        return legacyHashJob(++jobId, addressList);
+    }
+
+    @Benchmark
+    public String cachedRingRoute() {
+        return routeHash.hashJob(++jobId, addressList);
+    }
+
+
+    // ---------------------- legacy, md5 ring rebuilt per trigger ----------------------
+
+    private static long legacyHash(String key) {
+        MessageDigest md5;
+        try {
+            md5 = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("MD5 not supported", e);
+        }
+        byte[] digest = md5.digest(key.getBytes(StandardCharsets.UTF_8));
+        long hashCode = ((long) (digest[3] & 0xFF) << 24)
+                | ((long) (digest[2] & 0xFF) << 16)
+                | ((long) (digest[1] & 0xFF) << 8)
+                | (digest[0] & 0xFF);
+        return hashCode & 0xffffffffL;
+    }
+
+    private static String legacyHashJob(int jobId, List<String> addressList) {
+        TreeMap<Long, String> addressRing = new TreeMap<Long, String>();
+        for (String address: addressList) {
+            for (int i = 0; i < 100; i++) {
+                addressRing.put(legacyHash("SHARD-" + address + "-NODE-" + i), address);
+            }
+        }
+        SortedMap<Long, String> lastRing = addressRing.tailMap(legacyHash(String.valueOf(jobId)));
+        if (!lastRing.isEmpty()) {
+            return lastRing.get(lastRing.firstKey());
+        }
+        return addressRing.firstEntry().getValue();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ExecutorRouteConsistentHashBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+}
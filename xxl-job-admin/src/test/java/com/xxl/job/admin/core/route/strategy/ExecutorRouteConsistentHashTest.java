@@ -0,0 +1,76 @@
+package com.xxl.job.admin.core.route.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExecutorRouteConsistentHashTest {
+
+    private static List<String> addressList(int count) {
+        List<String> addressList = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            addressList.add("http://192.168.0." + i + ":9999/");
+        }
+        return addressList;
+    }
+
+    @Test
+    public void shouldHashLikeMurmur3() {
+        assertEquals(0L, ExecutorRouteConsistentHash.hash(""));
+        assertEquals(613153351L, ExecutorRouteConsistentHash.hash("hello"));
+        assertEquals(0x2e4ff723L, ExecutorRouteConsistentHash.hash("The quick brown fox jumps over the lazy dog"));
+    }
+
+    @Test
+    public void shouldRouteSameAddressFromCachedRing() {
+        //given
+        ExecutorRouteConsistentHash routeHash = new ExecutorRouteConsistentHash();
+        List<String> addressList = addressList(20);
+
+        //when
+        Map<Integer, String> firstRoute = new HashMap<>();
+        for (int jobId = 1; jobId <= 1000; jobId++) {
+            firstRoute.put(jobId, routeHash.hashJob(jobId, addressList));
+        }
+
+        //then
+        for (int jobId = 1; jobId <= 1000; jobId++) {
+            assertEquals(firstRoute.get(jobId), routeHash.hashJob(jobId, new ArrayList<>(addressList)));
+            assertEquals(firstRoute.get(jobId), new ExecutorRouteConsistentHash().hashJob(jobId, addressList));
+        }
+    }
+
+    @Test
+    public void shouldMoveFewJobWhenExecutorAdded() {
+        //given
+        ExecutorRouteConsistentHash routeHash = new ExecutorRouteConsistentHash();
+        List<String> addressList = addressList(10);
+        List<String> addedAddressList = addressList(11);
+
+        //when
+        int movedCount = 0;
+        Map<String, Integer> jobCount = new HashMap<>();
+        for (int jobId = 1; jobId <= 10000; jobId++) {
+            String address = routeHash.hashJob(jobId, addressList);
+            String addedAddress = routeHash.hashJob(jobId, addedAddressList);
+            if (!address.equals(addedAddress)) {
+                movedCount++;
+                assertEquals(addedAddressList.get(10), addedAddress);
+            }
+            jobCount.merge(address, 1, Integer::sum);
+        }
+
+        //then
+        assertTrue(movedCount > 400 && movedCount < 1600, "moved " + movedCount);
+        for (int count : jobCount.values()) {
+            assertTrue(count > 500 && count < 1600, "job per executor " + count);
+        }
+    }
+
+}
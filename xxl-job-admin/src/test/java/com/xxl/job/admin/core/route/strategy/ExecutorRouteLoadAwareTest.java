@@ -0,0 +1,106 @@
+package com.xxl.job.admin.core.route.strategy;
+
+import com.xxl.job.admin.core.route.ExecutorRouteStats;
+import com.xxl.job.core.biz.model.ExecutorLoad;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExecutorRouteLoadAwareTest {
+
+    private static ExecutorLoad load(int jobThreadRunning, int queuedTriggers) {
+        ExecutorLoad load = new ExecutorLoad();
+        load.setJobThreadCount(jobThreadRunning);
+        load.setJobThreadRunning(jobThreadRunning);
+        load.setQueuedTriggers(queuedTriggers);
+        return load;
+    }
+
+    private static Map<String, Integer> route(ExecutorRouteLoadAware router, List<String> addressList, int times) {
+        Map<String, Integer> routeCount = new HashMap<>();
+        for (int i = 0; i < times; i++) {
+            routeCount.merge(router.choose(addressList), 1, Integer::sum);
+        }
+        return routeCount;
+    }
+
+    @Test
+    public void shouldPreferLowLatency() {
+        //given
+        ExecutorRouteStats routeStats = new ExecutorRouteStats();
+        for (int i = 0; i < 10; i++) {
+            routeStats.runStart("fast");
+            routeStats.runEnd("fast", 5, true);
+            routeStats.runStart("slow");
+            routeStats.runEnd("slow", 200, true);
+        }
+
+        //when
+        Map<String, Integer> routeCount = route(new ExecutorRouteLoadAware(routeStats), Arrays.asList("fast", "slow"), 100);
+
+        //then
+        assertEquals(100, routeCount.get("fast").intValue());
+    }
+
+    @Test
+    public void shouldAvoidLoadedAndFailingExecutor() {
+        //given
+        ExecutorRouteStats routeStats = new ExecutorRouteStats();
+        List<String> addressList = Arrays.asList("a", "b", "c", "d");
+        for (String address : addressList) {
+            routeStats.runStart(address);
+            routeStats.runEnd(address, 10, !"c".equals(address));
+        }
+        routeStats.updateLoad("a", load(20, 100));
+        routeStats.runStart("b");
+
+        //when
+        Map<String, Integer> routeCount = route(new ExecutorRouteLoadAware(routeStats), addressList, 6000);
+
+        //then
+        assertFalse(routeCount.containsKey("a"), "loaded executor routed " + routeCount);
+        assertTrue(routeCount.get("d") > 2500, "idle executor routed " + routeCount);
+        assertTrue(routeCount.get("d") > routeCount.get("b") && routeCount.get("b") > routeCount.getOrDefault("c", 0), "route count " + routeCount);
+    }
+
+    @Test
+    public void shouldSpreadWhenScoreEqual() {
+        //given
+        ExecutorRouteStats routeStats = new ExecutorRouteStats();
+        List<String> addressList = Arrays.asList("a", "b", "c");
+
+        //when
+        Map<String, Integer> routeCount = route(new ExecutorRouteLoadAware(routeStats), addressList, 3000);
+
+        //then
+        assertEquals(3, routeCount.size());
+        for (Integer count : routeCount.values()) {
+            assertTrue(count > 800, "route count " + routeCount);
+        }
+    }
+
+    @Test
+    public void shouldKeepLatestReportedLoad() {
+        //given
+        ExecutorRouteStats routeStats = new ExecutorRouteStats();
+        routeStats.updateLoad("a", load(1, 1));
+
+        //when
+        routeStats.updateLoad("a", load(3, 4));
+        routeStats.updateLoad("b", null);
+
+        //then
+        assertEquals(1, routeStats.loadSnapshot().size());
+        assertEquals(4, routeStats.loadSnapshot().get("a").getQueuedTriggers());
+        assertEquals(7, routeStats.getStats("a").getReportedLoad(System.currentTimeMillis()));
+        assertEquals(0, routeStats.getStats("a").getReportedLoad(System.currentTimeMillis() + 91 * 1000));
+    }
+
+}
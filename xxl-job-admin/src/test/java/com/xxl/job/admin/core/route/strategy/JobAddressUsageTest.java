@@ -0,0 +1,117 @@
+package com.xxl.job.admin.core.route.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JobAddressUsageTest {
+
+    private static List<String> addressList(int count) {
+        List<String> addressList = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            addressList.add("address-" + i);
+        }
+        return addressList;
+    }
+
+    @Test
+    public void shouldBalanceLfuUnderConcurrentRoute() throws InterruptedException {
+        //given
+        final JobAddressUsage jobAddressUsage = new JobAddressUsage(true);
+        final List<String> addressList = addressList(10);
+        final Map<String, AtomicInteger> routeCount = new ConcurrentHashMap<>();
+        final CountDownLatch doneLatch = new CountDownLatch(8);
+
+        //when
+        for (int i = 0; i < 8; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        routeCount.computeIfAbsent(jobAddressUsage.take(1, addressList), k -> new AtomicInteger()).incrementAndGet();
+                    }
+                    doneLatch.countDown();
+                }
+            }).start();
+        }
+
+        // lag of an address held by a descheduled thread caught up by following route
+        assertTrue(doneLatch.await(10, TimeUnit.SECONDS));
+        for (int j = 0; j < 2000; j++) {
+            routeCount.computeIfAbsent(jobAddressUsage.take(1, addressList), k -> new AtomicInteger()).incrementAndGet();
+        }
+
+        //then (first usage random in [0, 10), route count differ by it at most)
+        assertEquals(10, routeCount.size());
+        for (AtomicInteger count : routeCount.values()) {
+            assertTrue(count.get() > 8190 && count.get() < 8210, "route count " + count.get());
+        }
+    }
+
+    @Test
+    public void shouldRotateLeastRecentlyUsed() {
+        //given
+        JobAddressUsage jobAddressUsage = new JobAddressUsage(false);
+        List<String> addressList = addressList(3);
+
+        //when
+        List<String> routed = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            routed.add(jobAddressUsage.take(1, addressList));
+        }
+
+        //then
+        for (int i = 0; i < 3; i++) {
+            assertEquals(new HashSet<>(addressList), new HashSet<>(routed.subList(i * 3, i * 3 + 3)));
+        }
+        assertEquals(routed.subList(0, 3), routed.subList(3, 6));
+    }
+
+    @Test
+    public void shouldKeepUsageWhenAddressListChanged() {
+        //given
+        JobAddressUsage jobAddressUsage = new JobAddressUsage(true);
+        for (int i = 0; i < 300; i++) {
+            jobAddressUsage.take(1, Arrays.asList("a", "b", "c"));
+        }
+
+        //when
+        List<String> changedList = Arrays.asList("b", "c", "d");
+        Map<String, AtomicInteger> routeCount = new ConcurrentHashMap<>();
+        for (int i = 0; i < 30; i++) {
+            routeCount.computeIfAbsent(jobAddressUsage.take(1, changedList), k -> new AtomicInteger()).incrementAndGet();
+        }
+
+        //then
+        assertEquals(new HashSet<>(changedList), routeCount.keySet());
+        assertEquals(10, routeCount.get("d").get());
+        assertFalse(routeCount.containsKey("a"));
+    }
+
+    @Test
+    public void shouldSweepIdleJob() {
+        //given
+        JobAddressUsage jobAddressUsage = new JobAddressUsage(true);
+        jobAddressUsage.take(1, addressList(3));
+        jobAddressUsage.take(2, addressList(3));
+
+        //when
+        jobAddressUsage.sweep(System.currentTimeMillis() + 25 * 60 * 60 * 1000L);
+
+        //then
+        assertEquals(0, jobAddressUsage.size());
+    }
+
+}
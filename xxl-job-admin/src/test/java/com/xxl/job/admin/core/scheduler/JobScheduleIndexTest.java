@@ -0,0 +1,73 @@
+package com.xxl.job.admin.core.scheduler;
+
+import com.xxl.job.admin.core.model.XxlJobInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JobScheduleIndexTest {
+
+    private static XxlJobInfo jobInfo(int id, int triggerStatus, long triggerNextTime) {
+        XxlJobInfo jobInfo = new XxlJobInfo();
+        jobInfo.setId(id);
+        jobInfo.setTriggerStatus(triggerStatus);
+        jobInfo.setTriggerNextTime(triggerNextTime);
+        return jobInfo;
+    }
+
+    @Test
+    public void shouldFindDueInTimeOrder() {
+        //given
+        JobScheduleIndex scheduleIndex = new JobScheduleIndex();
+        scheduleIndex.load(Arrays.asList(
+                jobInfo(1, 1, 3000),
+                jobInfo(2, 1, 1000),
+                jobInfo(3, 0, 500),
+                jobInfo(4, 1, 9000)));
+
+        //when
+        List<Integer> dueJobIds = scheduleIndex.findDue(5000, 10);
+
+        //then
+        assertEquals(Arrays.asList(2, 1), dueJobIds);
+        assertEquals(1000, scheduleIndex.earliestNextTime());
+        assertEquals(3, scheduleIndex.size());
+    }
+
+    @Test
+    public void shouldReindexOnUpdateAndStop() {
+        //given
+        JobScheduleIndex scheduleIndex = new JobScheduleIndex();
+        scheduleIndex.load(Arrays.asList(jobInfo(1, 1, 1000), jobInfo(2, 1, 2000)));
+
+        //when
+        scheduleIndex.put(1, 8000);
+        scheduleIndex.put(jobInfo(2, 0, 0));
+
+        //then
+        assertEquals(0, scheduleIndex.findDue(5000, 10).size());
+        assertEquals(Arrays.asList(1), scheduleIndex.findDue(8000, 10));
+        assertEquals(1, scheduleIndex.size());
+    }
+
+    @Test
+    public void shouldFindDueOfOwnedPartition() {
+        //given
+        JobScheduleIndex scheduleIndex = new JobScheduleIndex();
+        scheduleIndex.load(Arrays.asList(
+                jobInfo(1, 1, 1000),
+                jobInfo(2, 1, 2000),
+                jobInfo(3, 1, 3000),
+                jobInfo(4, 1, 4000)));
+
+        //when
+        List<Integer> dueJobIds = scheduleIndex.findDue(5000, 10, new boolean[]{false, true, true});
+
+        //then
+        assertEquals(Arrays.asList(1, 2, 4), dueJobIds);
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.xxl.job.admin.core.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JobScheduleMetricsTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldBucketFireLagCumulatively() {
+        //given
+        JobScheduleMetrics metrics = new JobScheduleMetrics();
+
+        //when
+        metrics.recordFireLag(-3);
+        metrics.recordFireLag(1);
+        metrics.recordFireLag(7);
+        metrics.recordFireLag(700);
+        metrics.recordFireLag(60_000);
+
+        //then
+        Map<String, Object> fireLag = (Map<String, Object>) metrics.snapshot().get("fireLag");
+        Map<String, Object> buckets = (Map<String, Object>) fireLag.get("buckets");
+        assertEquals(5L, fireLag.get("count"));
+        assertEquals(60_000L, fireLag.get("max"));
+        assertEquals(2L, buckets.get("1"));
+        assertEquals(3L, buckets.get("10"));
+        assertEquals(4L, buckets.get("1000"));
+        assertEquals(4L, buckets.get("5000"));
+        assertEquals(5L, buckets.get("+Inf"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRecordBroadcastFanOut() {
+        //given
+        JobScheduleMetrics metrics = new JobScheduleMetrics();
+
+        //when
+        metrics.recordBroadcast(500, 1200);
+        metrics.recordBroadcast(20, 80);
+
+        //then
+        Map<String, Object> broadcast = (Map<String, Object>) metrics.snapshot().get("broadcast");
+        assertEquals(2L, broadcast.get("count"));
+        assertEquals(520L, broadcast.get("shardCount"));
+        assertEquals(1280L, broadcast.get("cost"));
+        assertEquals(1200L, broadcast.get("maxCost"));
+        assertEquals(20, broadcast.get("lastShardCount"));
+        assertEquals(80L, broadcast.get("lastCost"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRecordLockHold() {
+        //given
+        JobScheduleMetrics metrics = new JobScheduleMetrics();
+
+        //when
+        metrics.recordLockHold(40);
+        metrics.recordLockHold(15);
+
+        //then
+        Map<String, Object> lastScan = (Map<String, Object>) metrics.snapshot().get("lastScan");
+        Map<String, Object> scanTotal = (Map<String, Object>) metrics.snapshot().get("scanTotal");
+        assertEquals(15L, lastScan.get("lockHold"));
+        assertEquals(55L, scanTotal.get("lockHold"));
+        assertEquals(40L, scanTotal.get("maxLockHold"));
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.xxl.job.admin.core.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JobScheduleTunerTest {
+
+    @Test
+    public void shouldSizePreReadByTriggerCostAndBacklog() {
+        //given
+        JobScheduleTuner scheduleTuner = new JobScheduleTuner(300, 5000, 5000);
+
+        //when
+        int normalCount = scheduleTuner.preReadCount(50, 0);
+        int slowCount = scheduleTuner.preReadCount(200, 0);
+        int backlogCount = scheduleTuner.preReadCount(50, 4000);
+
+        //then
+        assertEquals(6000, normalCount);
+        assertEquals(1500, slowCount);
+        assertEquals(2000, backlogCount);
+    }
+
+    @Test
+    public void shouldScanAtOnceAndGrowUnderBurst() {
+        //given
+        JobScheduleTuner scheduleTuner = new JobScheduleTuner(300, 5000, 5000);
+        int preReadCount = scheduleTuner.preReadCount(50, 0);
+
+        //when
+        long wait = scheduleTuner.scanWait(preReadCount, 0, 0);
+        int burstCount = scheduleTuner.preReadCount(50, 0);
+
+        //then
+        assertEquals(0, wait);
+        assertEquals(preReadCount * 2, burstCount);
+
+        //when: burst over
+        scheduleTuner.scanWait(10, Long.MAX_VALUE, 0);
+
+        //then
+        assertEquals(preReadCount, scheduleTuner.preReadCount(50, 0));
+    }
+
+    @Test
+    public void shouldWaitUntilWindowWithinMaxLag() {
+        //given
+        JobScheduleTuner scheduleTuner = new JobScheduleTuner(300, 5000, 3000);
+        scheduleTuner.preReadCount(50, 0);
+        long nowTime = 1_700_000_000_000L;
+
+        //when
+        long nearWait = scheduleTuner.scanWait(0, nowTime + 5_800, nowTime);
+        long idleWait = scheduleTuner.scanWait(0, Long.MAX_VALUE, nowTime);
+        long inWindowWait = scheduleTuner.scanWait(0, nowTime + 100, nowTime);
+
+        //then
+        assertEquals(800, nearWait);
+        assertEquals(3000, idleWait);
+        assertTrue(inWindowWait > 0 && inWindowWait <= 1000);
+    }
+
+}
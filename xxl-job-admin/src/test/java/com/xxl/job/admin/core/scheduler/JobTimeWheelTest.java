@@ -0,0 +1,105 @@
+package com.xxl.job.admin.core.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JobTimeWheelTest {
+
+    private static class RecordDispatcher implements JobTimeWheel.Dispatcher {
+        private final List<long[]> fired = new ArrayList<>();
+        private long now;
+
+        @Override
+        public void dispatch(int jobId, int jobGroup, long fireTime) {
+            fired.add(new long[]{jobId, fireTime, now, jobGroup});
+        }
+    }
+
+    @Test
+    public void shouldFireAtExactTick() {
+        //given
+        long start = 1_700_000_000_123L;
+        RecordDispatcher dispatcher = new RecordDispatcher();
+        JobTimeWheel timeWheel = new JobTimeWheel(dispatcher, start);
+
+        //when
+        timeWheel.push(1, 1, start + 5);
+        timeWheel.push(2, 1, start + 4_999);
+        timeWheel.push(3, 1, start + 300_000);     // overflow
+        assertTrue(timeWheel.flush());
+        timeWheel.drain();
+
+        //then
+        for (long now = start; now <= start + 300_000; now++) {
+            dispatcher.now = now;
+            timeWheel.advance(now);
+        }
+        assertEquals(3, dispatcher.fired.size());
+        for (long[] item : dispatcher.fired) {
+            assertEquals(item[1], item[2]);
+            assertEquals(1, item[3]);
+        }
+        assertFalse(timeWheel.hasData());
+    }
+
+    @Test
+    public void shouldCatchUpOverrunTicks() {
+        //given
+        long start = 1_700_000_000_000L;
+        RecordDispatcher dispatcher = new RecordDispatcher();
+        JobTimeWheel timeWheel = new JobTimeWheel(dispatcher, start);
+
+        Random random = new Random(42);
+        int count = 50_000;
+        for (int i = 0; i < count; i++) {
+            timeWheel.push(i, 1, start + random.nextInt(6_000));
+        }
+        timeWheel.flush();
+        timeWheel.drain();
+        assertEquals(count, timeWheel.size());
+
+        //when: ring thread stalls, advance in big irregular steps
+        long now = start;
+        long lastFireTime = 0;
+        while (now < start + 7_000) {
+            now += 1 + random.nextInt(3_000);
+            dispatcher.now = now;
+            timeWheel.advance(now);
+        }
+
+        //then: nothing lost, fire order kept, no fire before due
+        assertEquals(count, dispatcher.fired.size());
+        for (long[] item : dispatcher.fired) {
+            assertTrue(item[1] >= lastFireTime);
+            assertTrue(item[2] >= item[1]);
+            lastFireTime = item[1];
+        }
+        assertEquals(0, timeWheel.size());
+    }
+
+    @Test
+    public void shouldFireOverdueOnDrain() {
+        //given
+        long start = 1_700_000_000_000L;
+        RecordDispatcher dispatcher = new RecordDispatcher();
+        JobTimeWheel timeWheel = new JobTimeWheel(dispatcher, start);
+        timeWheel.advance(start + 1_000);
+
+        //when
+        timeWheel.push(7, 1, start + 10);
+        timeWheel.flush();
+        timeWheel.drain();
+
+        //then
+        assertEquals(1, dispatcher.fired.size());
+        assertEquals(Long.MAX_VALUE, timeWheel.nextTickTime());
+    }
+
+}
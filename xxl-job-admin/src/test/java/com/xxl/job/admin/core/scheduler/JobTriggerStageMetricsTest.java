@@ -0,0 +1,56 @@
+package com.xxl.job.admin.core.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class JobTriggerStageMetricsTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldTakePercentileByBucket() {
+        //given
+        JobTriggerStageMetrics metrics = new JobTriggerStageMetrics();
+
+        //when
+        for (int i = 0; i < 98; i++) {
+            metrics.record(1, 0, 0, 3, 1);
+        }
+        metrics.record(1, 0, 0, 40, 1);
+        metrics.record(1, 0, 0, 30_000, 1);
+
+        //then
+        Map<String, Object> rpc = (Map<String, Object>) metrics.snapshot(1).get("rpc");
+        assertEquals(100L, rpc.get("count"));
+        assertEquals(5L, rpc.get("p50"));
+        assertEquals(5L, rpc.get("p90"));
+        assertEquals(50L, rpc.get("p99"));
+        assertEquals(30_000L, rpc.get("max"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSkipStageNotRun() {
+        //given
+        JobTriggerStageMetrics metrics = new JobTriggerStageMetrics();
+
+        //when
+        metrics.record(1, 2, -1, -1, 7);
+        metrics.record(2, 2, 1, 12, 7);
+
+        //then
+        Map<String, Object> jobRpc = (Map<String, Object>) metrics.snapshot(1).get("rpc");
+        Map<String, Object> allRpc = (Map<String, Object>) metrics.snapshot().get("rpc");
+        Map<String, Object> allLog = (Map<String, Object>) metrics.snapshot().get("log");
+        assertEquals(0L, jobRpc.get("count"));
+        assertEquals(1L, allRpc.get("count"));
+        assertEquals(12L, allRpc.get("p50"));
+        assertEquals(2L, allLog.get("count"));
+        assertEquals(7L, allLog.get("avg"));
+        assertNull(metrics.snapshot(3));
+    }
+
+}
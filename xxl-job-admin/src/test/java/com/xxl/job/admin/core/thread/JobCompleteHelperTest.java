@@ -0,0 +1,93 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.model.XxlJobLog;
+import com.xxl.job.core.biz.model.HandleCallbackParam;
+import com.xxl.job.core.biz.model.ReturnT;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JobCompleteHelperTest {
+
+    private static class TestCompleteHelper extends JobCompleteHelper {
+        private final Map<Long, XxlJobLog> logTable = new HashMap<>();
+        private final List<List<Long>> loadList = new ArrayList<>();
+        private final List<List<XxlJobLog>> finishList = new ArrayList<>();
+
+        @Override
+        Map<Long, XxlJobLog> loadLogs(List<Long> logIds) {
+            loadList.add(new ArrayList<>(logIds));
+            Map<Long, XxlJobLog> logMap = new HashMap<>();
+            for (Long logId : logIds) {
+                if (logTable.containsKey(logId)) {
+                    logMap.put(logId, logTable.get(logId));
+                }
+            }
+            return logMap;
+        }
+
+        @Override
+        void finishLogs(List<XxlJobLog> logs) {
+            finishList.add(new ArrayList<>(logs));
+        }
+
+        private void addLog(long logId, int handleCode) {
+            XxlJobLog log = new XxlJobLog();
+            log.setId(logId);
+            log.setHandleCode(handleCode);
+            logTable.put(logId, log);
+        }
+    }
+
+    private static HandleCallbackParam callbackParam(long logId) {
+        return new HandleCallbackParam(logId, System.currentTimeMillis(), 200, "done-" + logId);
+    }
+
+    @Test
+    public void shouldLoadAndFinishBatchOnce() {
+        //given
+        TestCompleteHelper helper = new TestCompleteHelper();
+        helper.addLog(1, 0);
+        helper.addLog(2, 0);
+        helper.addLog(3, 500);
+
+        //when
+        List<ReturnT<String>> resultList = helper.callbackBatch(Arrays.asList(
+                callbackParam(1), callbackParam(2), callbackParam(1), callbackParam(3)));
+
+        //then
+        assertEquals(1, helper.loadList.size());
+        assertEquals(Arrays.asList(1L, 2L, 3L), helper.loadList.get(0));
+        assertEquals(1, helper.finishList.size());
+        assertEquals(2, helper.finishList.get(0).size());
+        assertEquals("done-1", helper.finishList.get(0).get(0).getHandleMsg());
+        assertEquals(200, helper.finishList.get(0).get(0).getHandleCode());
+        assertEquals(ReturnT.SUCCESS_CODE, resultList.get(0).getCode());
+        assertEquals(ReturnT.SUCCESS_CODE, resultList.get(1).getCode());
+        assertEquals("log repeate callback.", resultList.get(2).getMsg());
+        assertEquals("log repeate callback.", resultList.get(3).getMsg());
+    }
+
+    @Test
+    public void shouldNotWaitForMissingLog() {
+        //given
+        TestCompleteHelper helper = new TestCompleteHelper();
+        helper.addLog(1, 0);
+
+        //when
+        List<ReturnT<String>> resultList = helper.callbackBatch(Arrays.asList(callbackParam(1), callbackParam(9)));
+
+        //then
+        assertEquals(1, helper.loadList.size());
+        assertEquals(ReturnT.SUCCESS_CODE, resultList.get(0).getCode());
+        assertEquals("log item not found.", resultList.get(1).getMsg());
+        assertEquals(1, helper.finishList.get(0).size());
+    }
+
+}
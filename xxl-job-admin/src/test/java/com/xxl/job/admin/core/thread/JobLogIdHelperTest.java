@@ -0,0 +1,83 @@
+package com.xxl.job.admin.core.thread;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JobLogIdHelperTest {
+
+    /**
+     * sequence in memory, instead of xxl_job_sequence
+     */
+    private static class MemoryLogIdHelper extends JobLogIdHelper {
+        private final AtomicLong sequence;
+        private final AtomicInteger reserveCount = new AtomicInteger();
+
+        private MemoryLogIdHelper(AtomicLong sequence) {
+            this.sequence = sequence;
+        }
+
+        @Override
+        long reserve(int step) {
+            reserveCount.incrementAndGet();
+            return sequence.addAndGet(step);
+        }
+    }
+
+    @Test
+    public void shouldHandOutSegmentInMemory() {
+        //given
+        MemoryLogIdHelper logIdHelper = new MemoryLogIdHelper(new AtomicLong(5000));
+
+        //when
+        long firstId = logIdHelper.nextId();
+        long lastId = 0;
+        for (int i = 1; i < 1500; i++) {
+            lastId = logIdHelper.nextId();
+        }
+
+        //then
+        assertEquals(5001, firstId);
+        assertEquals(6500, lastId);
+        assertEquals(2, logIdHelper.reserveCount.get());
+    }
+
+    @Test
+    public void shouldBeUniqueAcrossAdmin() throws InterruptedException {
+        //given
+        AtomicLong sequence = new AtomicLong(0);
+        final Set<Long> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+
+        //when
+        for (int node = 0; node < 4; node++) {
+            final MemoryLogIdHelper logIdHelper = new MemoryLogIdHelper(sequence);
+            for (int t = 0; t < 2; t++) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = 0; i < 5000; i++) {
+                            ids.add(logIdHelper.nextId());
+                        }
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+        }
+        for (Thread thread: threads) {
+            thread.join();
+        }
+
+        //then
+        assertEquals(4 * 2 * 5000, ids.size());
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.xxl.job.admin.core.thread;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JobMisfireHelperTest {
+
+    /**
+     * trigger pool and overflow table in memory
+     * (TriggerTypeEnum title need i18n of admin config)
+     */
+    private static class MemoryMisfireHelper extends JobMisfireHelper {
+        private final List<Integer> triggeredJobIds = new ArrayList<>();
+        private final List<Integer> spilledJobIds = new ArrayList<>();
+        private int queueSize;
+        private boolean reject;
+
+        private MemoryMisfireHelper(int rate, int triggerQueueLimit) {
+            super(rate, triggerQueueLimit);
+        }
+
+        @Override
+        int triggerQueueSize() {
+            return queueSize;
+        }
+
+        @Override
+        boolean trigger(int jobId, int jobGroup) {
+            if (reject) {
+                return false;
+            }
+            triggeredJobIds.add(jobId);
+            return true;
+        }
+
+        @Override
+        boolean spill(int jobId, int jobGroup) {
+            spilledJobIds.add(jobId);
+            return true;
+        }
+    }
+
+    @Test
+    public void shouldFireMostOverdueFirstAndIgnoreDuplicate() {
+        // given
+        MemoryMisfireHelper helper = new MemoryMisfireHelper(100, 10);
+        helper.add(1, 1, 300);
+        helper.add(2, 1, 100);
+        helper.add(3, 1, 200);
+        helper.add(2, 1, 50);
+
+        // when
+        int firedCount = helper.fire(1000);
+
+        // then
+        assertEquals(3, firedCount);
+        assertEquals(Arrays.asList(2, 3, 1), helper.triggeredJobIds);
+        assertEquals(3, helper.getAddCount());
+        assertEquals(0, helper.getPendingCount());
+    }
+
+    @Test
+    public void shouldLimitRate() {
+        // given
+        MemoryMisfireHelper helper = new MemoryMisfireHelper(2, 10);
+        for (int jobId = 1; jobId <= 5; jobId++) {
+            helper.add(jobId, 1, jobId);
+        }
+
+        // when, then
+        assertEquals(2, helper.fire(1000));
+        assertEquals(0, helper.fire(1200));
+        assertEquals(1, helper.fire(1500));
+        assertEquals(Arrays.asList(1, 2, 3), helper.triggeredJobIds);
+        assertEquals(2, helper.getPendingCount());
+    }
+
+    @Test
+    public void shouldPauseWhenTriggerQueueFull() {
+        // given
+        MemoryMisfireHelper helper = new MemoryMisfireHelper(100, 10);
+        helper.add(1, 1, 100);
+        helper.queueSize = 10;
+
+        // when
+        int firedCount = helper.fire(1000);
+
+        // then
+        assertEquals(0, firedCount);
+        assertEquals(1, helper.getPendingCount());
+    }
+
+    @Test
+    public void shouldKeepMisfireWhenTriggerRejected() {
+        // given
+        MemoryMisfireHelper helper = new MemoryMisfireHelper(100, 10);
+        helper.add(1, 1, 100);
+        helper.add(2, 1, 200);
+        helper.reject = true;
+
+        // when
+        int firedCount = helper.fire(1000);
+        helper.reject = false;
+        int retryFiredCount = helper.fire(1100);
+
+        // then
+        assertEquals(0, firedCount);
+        assertEquals(2, retryFiredCount);
+        assertEquals(Arrays.asList(1, 2), helper.triggeredJobIds);
+        assertEquals(2, helper.getFireCount());
+    }
+
+    @Test
+    public void shouldSpillPendingOnStop() {
+        // given
+        MemoryMisfireHelper helper = new MemoryMisfireHelper(1, 10);
+        helper.add(1, 1, 100);
+        helper.add(2, 1, 200);
+        helper.add(3, 1, 300);
+        helper.fire(1000);
+
+        // when
+        helper.toStop();
+
+        // then
+        assertEquals(Arrays.asList(1), helper.triggeredJobIds);
+        assertEquals(Arrays.asList(2, 3), helper.spilledJobIds);
+        assertEquals(0, helper.getPendingCount());
+    }
+
+}
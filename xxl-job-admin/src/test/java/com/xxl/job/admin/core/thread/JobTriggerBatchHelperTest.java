@@ -0,0 +1,110 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.biz.model.TriggerParam;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JobTriggerBatchHelperTest {
+
+    private static class TestBatchHelper extends JobTriggerBatchHelper {
+        private final List<String> runOneList = new CopyOnWriteArrayList<>();
+        private final List<Integer> runBatchSizeList = new CopyOnWriteArrayList<>();
+        private volatile boolean batchSupported = true;
+
+        @Override
+        CompletableFuture<ReturnT<String>> runOne(String address, TriggerParam triggerParam) {
+            runOneList.add(address);
+            return CompletableFuture.completedFuture(new ReturnT<String>("one-" + triggerParam.getLogId()));
+        }
+
+        @Override
+        CompletableFuture<ReturnT<List<ReturnT<String>>>> runBatch(String address, List<TriggerParam> triggerParamList) {
+            runBatchSizeList.add(triggerParamList.size());
+            if (!batchSupported) {
+                return CompletableFuture.completedFuture(new ReturnT<List<ReturnT<String>>>(ReturnT.FAIL_CODE, "invalid request, uri-mapping(/runBatch) not found."));
+            }
+            List<ReturnT<String>> runResultList = new ArrayList<>();
+            for (TriggerParam triggerParam : triggerParamList) {
+                runResultList.add(new ReturnT<String>("batch-" + triggerParam.getLogId()));
+            }
+            return CompletableFuture.completedFuture(new ReturnT<List<ReturnT<String>>>(runResultList));
+        }
+    }
+
+    private static TriggerParam triggerParam(long logId) {
+        TriggerParam triggerParam = new TriggerParam();
+        triggerParam.setLogId(logId);
+        return triggerParam;
+    }
+
+    @Test
+    public void shouldCoalesceRunToSameAddress() throws Exception {
+        //given
+        TestBatchHelper helper = new TestBatchHelper();
+        helper.start(200, 10);
+
+        //when
+        List<CompletableFuture<ReturnT<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(helper.runAsync("a", triggerParam(i)));
+        }
+        CompletableFuture<ReturnT<String>> other = helper.runAsync("b", triggerParam(100));
+
+        //then
+        for (int i = 0; i < 10; i++) {
+            assertEquals("batch-" + i, futures.get(i).get(5, TimeUnit.SECONDS).getContent());
+        }
+        assertEquals("one-100", other.get(5, TimeUnit.SECONDS).getContent());
+        assertEquals(1, helper.runBatchSizeList.size());
+        assertEquals(10, helper.runBatchSizeList.get(0).intValue());
+        helper.toStop();
+    }
+
+    @Test
+    public void shouldRunOneByOneWhenBatchNotSupported() throws Exception {
+        //given
+        TestBatchHelper helper = new TestBatchHelper();
+        helper.batchSupported = false;
+        helper.start(200, 3);
+
+        //when
+        List<CompletableFuture<ReturnT<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(helper.runAsync("a", triggerParam(i)));
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals("one-" + i, futures.get(i).get(5, TimeUnit.SECONDS).getContent());
+        }
+        ReturnT<String> afterResult = helper.runAsync("a", triggerParam(3)).get(5, TimeUnit.SECONDS);
+
+        //then
+        assertEquals("one-3", afterResult.getContent());
+        assertEquals(1, helper.runBatchSizeList.size());
+        assertEquals(4, helper.runOneList.size());
+        helper.toStop();
+    }
+
+    @Test
+    public void shouldRunDirectlyWhenDisabled() throws Exception {
+        //given
+        TestBatchHelper helper = new TestBatchHelper();
+        helper.start(0, 50);
+
+        //when
+        ReturnT<String> runResult = helper.runAsync("a", triggerParam(1)).get(1, TimeUnit.SECONDS);
+
+        //then
+        assertEquals("one-1", runResult.getContent());
+        assertEquals(0, helper.runBatchSizeList.size());
+        helper.toStop();
+    }
+
+}
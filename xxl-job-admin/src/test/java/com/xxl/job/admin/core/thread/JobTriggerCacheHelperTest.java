@@ -0,0 +1,106 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.model.XxlJobGroup;
+import com.xxl.job.admin.core.model.XxlJobInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class JobTriggerCacheHelperTest {
+
+    private static XxlJobInfo jobInfo(int id, int version) {
+        XxlJobInfo jobInfo = new XxlJobInfo();
+        jobInfo.setId(id);
+        jobInfo.setVersion(version);
+        return jobInfo;
+    }
+
+    private static XxlJobGroup jobGroup(int id, int version) {
+        XxlJobGroup group = new XxlJobGroup();
+        group.setId(id);
+        group.setVersion(version);
+        return group;
+    }
+
+    @Test
+    public void shouldEvictJobInfoOfOtherVersion() {
+        //given
+        JobTriggerCacheHelper cacheHelper = new JobTriggerCacheHelper();
+        cacheHelper.putJobInfo(jobInfo(1, 3));
+        cacheHelper.putJobInfo(jobInfo(2, 5));
+        cacheHelper.putJobInfo(jobInfo(3, 1));
+
+        //when
+        cacheHelper.syncJobInfoVersion(Arrays.asList(jobInfo(1, 3), jobInfo(2, 6)), false);
+
+        //then
+        assertEquals(2, cacheHelper.getJobInfoCacheSize());
+    }
+
+    @Test
+    public void shouldEvictDeletedJobInfoOnFullSync() {
+        //given
+        JobTriggerCacheHelper cacheHelper = new JobTriggerCacheHelper();
+        cacheHelper.putJobInfo(jobInfo(1, 3));
+        cacheHelper.putJobInfo(jobInfo(2, 5));
+
+        //when
+        cacheHelper.syncJobInfoVersion(Collections.singletonList(jobInfo(1, 3)), true);
+
+        //then
+        assertEquals(1, cacheHelper.getJobInfoCacheSize());
+    }
+
+    @Test
+    public void shouldEvictJobGroupOfOtherVersionOrDeleted() {
+        //given
+        JobTriggerCacheHelper cacheHelper = new JobTriggerCacheHelper();
+        cacheHelper.putJobGroup(jobGroup(1, 0));
+        cacheHelper.putJobGroup(jobGroup(2, 0));
+        cacheHelper.putJobGroup(jobGroup(3, 0));
+
+        //when
+        cacheHelper.syncJobGroupVersion(Arrays.asList(jobGroup(1, 0), jobGroup(2, 1)));
+
+        //then
+        assertEquals(1, cacheHelper.getJobGroupCacheSize());
+    }
+
+    @Test
+    public void shouldEvictOnLocalWrite() {
+        //given
+        JobTriggerCacheHelper cacheHelper = new JobTriggerCacheHelper();
+        cacheHelper.putJobInfo(jobInfo(1, 0));
+        cacheHelper.putJobGroup(jobGroup(1, 0));
+
+        //when
+        cacheHelper.removeJobInfo(1);
+        cacheHelper.removeJobGroup(1);
+
+        //then
+        assertEquals(0, cacheHelper.getJobInfoCacheSize());
+        assertEquals(0, cacheHelper.getJobGroupCacheSize());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedWhenFull() {
+        //given
+        JobTriggerCacheHelper cacheHelper = new JobTriggerCacheHelper(2);
+        cacheHelper.putJobInfo(jobInfo(1, 0));
+        cacheHelper.putJobInfo(jobInfo(2, 0));
+        cacheHelper.loadJobInfo(1);
+
+        //when
+        cacheHelper.putJobInfo(jobInfo(3, 0));
+
+        //then
+        assertEquals(2, cacheHelper.getJobInfoCacheSize());
+        assertNotNull(cacheHelper.loadJobInfo(1));
+        assertNotNull(cacheHelper.loadJobInfo(3));
+    }
+
+}
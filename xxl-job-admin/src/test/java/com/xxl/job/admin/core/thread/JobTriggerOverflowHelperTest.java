@@ -0,0 +1,204 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.model.XxlJobTriggerPending;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JobTriggerOverflowHelperTest {
+
+    /**
+     * pending table and trigger pool in memory, pool accept "capacity" trigger
+     * (spilled row saved directly, TriggerTypeEnum title need i18n of admin config)
+     */
+    private static class MemoryOverflowHelper extends JobTriggerOverflowHelper {
+        private final List<XxlJobTriggerPending> pendingTable = new ArrayList<>();
+        private final Set<Long> claimedIds = new HashSet<>();
+        private final List<Integer> triggeredJobIds = new ArrayList<>();
+        private long nextId = 1;
+        private int capacity;
+        private int queueSize;
+        private int failJobId = -1;
+
+        @Override
+        int triggerQueueSize() {
+            return queueSize;
+        }
+
+        @Override
+        boolean offerTrigger(XxlJobTriggerPending triggerPending) {
+            if (triggerPending.getJobId() == failJobId) {
+                throw new IllegalStateException("offer fail");
+            }
+            if (triggeredJobIds.size() >= capacity) {
+                return false;
+            }
+            triggeredJobIds.add(triggerPending.getJobId());
+            return true;
+        }
+
+        @Override
+        void savePending(List<XxlJobTriggerPending> triggerPendingList) {
+            for (XxlJobTriggerPending triggerPending : triggerPendingList) {
+                triggerPending.setId(nextId++);
+                pendingTable.add(triggerPending);
+            }
+        }
+
+        private void spill(int jobId, String triggerType, String executorShardingParam) {
+            XxlJobTriggerPending triggerPending = new XxlJobTriggerPending();
+            triggerPending.setJobId(jobId);
+            triggerPending.setTriggerType(triggerType);
+            triggerPending.setExecutorShardingParam(executorShardingParam);
+            savePending(Collections.singletonList(triggerPending));
+        }
+
+        @Override
+        List<XxlJobTriggerPending> findPending(int pagesize) {
+            List<XxlJobTriggerPending> pendingList = new ArrayList<>();
+            for (XxlJobTriggerPending triggerPending : pendingTable) {
+                if (pendingList.size() < pagesize && !claimedIds.contains(triggerPending.getId())) {
+                    pendingList.add(triggerPending);
+                }
+            }
+            return pendingList;
+        }
+
+        @Override
+        boolean claimPending(long id) {
+            return claimedIds.add(id);
+        }
+
+        @Override
+        void releasePending(long id) {
+            claimedIds.remove(id);
+        }
+
+        @Override
+        int deletePending(long id) {
+            Iterator<XxlJobTriggerPending> iterator = pendingTable.iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().getId() == id && claimedIds.remove(id)) {
+                    iterator.remove();
+                    return 1;
+                }
+            }
+            return 0;
+        }
+    }
+
+    @Test
+    public void shouldReplaySpilledTriggerInOrder() {
+        //given
+        MemoryOverflowHelper overflowHelper = new MemoryOverflowHelper();
+        overflowHelper.capacity = 100;
+        for (int jobId = 1; jobId <= 3; jobId++) {
+            overflowHelper.spill(jobId, "CRON", null);
+        }
+
+        //when
+        int replayCount = overflowHelper.replay();
+
+        //then
+        assertEquals(3, replayCount);
+        assertEquals(3, overflowHelper.triggeredJobIds.size());
+        assertEquals(1, overflowHelper.triggeredJobIds.get(0).intValue());
+        assertEquals(3, overflowHelper.triggeredJobIds.get(2).intValue());
+        assertTrue(overflowHelper.pendingTable.isEmpty());
+        assertEquals(3, overflowHelper.getReplayedCount());
+    }
+
+    @Test
+    public void shouldKeepTriggerWhenRejectedAgain() {
+        //given
+        MemoryOverflowHelper overflowHelper = new MemoryOverflowHelper();
+        overflowHelper.capacity = 1;
+        for (int jobId = 1; jobId <= 3; jobId++) {
+            overflowHelper.spill(jobId, "MANUAL", "0/2");
+        }
+
+        //when
+        int replayCount = overflowHelper.replay();
+
+        //then
+        assertEquals(1, replayCount);
+        assertEquals(2, overflowHelper.pendingTable.size());
+        XxlJobTriggerPending kept = overflowHelper.pendingTable.get(0);
+        assertEquals(2, kept.getJobId());
+        assertEquals(2, kept.getId());
+        assertEquals(3, overflowHelper.pendingTable.get(1).getJobId());
+        assertEquals("MANUAL", kept.getTriggerType());
+        assertEquals("0/2", kept.getExecutorShardingParam());
+        assertTrue(overflowHelper.claimedIds.isEmpty());
+    }
+
+    @Test
+    public void shouldRestoreTriggerWhenReplayFail() {
+        //given
+        MemoryOverflowHelper overflowHelper = new MemoryOverflowHelper();
+        overflowHelper.capacity = 100;
+        overflowHelper.failJobId = 1;
+        overflowHelper.spill(1, "CRON", null);
+        overflowHelper.spill(2, "CRON", null);
+
+        //when
+        int replayCount = overflowHelper.replay();
+        overflowHelper.failJobId = -1;
+        int retryCount = overflowHelper.replay();
+
+        //then
+        assertEquals(0, replayCount);
+        assertEquals(2, retryCount);
+        assertEquals(1, overflowHelper.triggeredJobIds.get(0).intValue());
+        assertTrue(overflowHelper.pendingTable.isEmpty());
+    }
+
+    @Test
+    public void shouldWriteSpillInOrderOffCallerThread() {
+        //given
+        MemoryOverflowHelper overflowHelper = new MemoryOverflowHelper();
+
+        //when
+        for (int jobId = 1; jobId <= 3; jobId++) {
+            XxlJobTriggerPending triggerPending = new XxlJobTriggerPending();
+            triggerPending.setJobId(jobId);
+            triggerPending.setJobGroup(7);
+            triggerPending.setTriggerType("CRON");
+            assertTrue(overflowHelper.spill(triggerPending));
+        }
+        assertTrue(overflowHelper.pendingTable.isEmpty());
+        overflowHelper.flushSpill();
+
+        //then
+        assertEquals(3, overflowHelper.pendingTable.size());
+        assertEquals(1, overflowHelper.pendingTable.get(0).getJobId());
+        assertEquals(7, overflowHelper.pendingTable.get(0).getJobGroup());
+        assertEquals(3, overflowHelper.getSpilledCount());
+        assertEquals(3, overflowHelper.getRejectedCount());
+    }
+
+    @Test
+    public void shouldNotReplayWhenTriggerPoolBackedUp() {
+        //given
+        MemoryOverflowHelper overflowHelper = new MemoryOverflowHelper();
+        overflowHelper.capacity = 100;
+        overflowHelper.queueSize = 1000;
+        overflowHelper.spill(1, "CRON", null);
+
+        //when
+        int replayCount = overflowHelper.replay();
+
+        //then
+        assertEquals(0, replayCount);
+        assertEquals(1, overflowHelper.pendingTable.size());
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.xxl.job.admin.core.trigger;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TriggerFairQueueTest {
+
+    private static final Runnable NOOP = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    /**
+     * group 1 weight 3, group 9 max concurrency 2, others weight 1 and max concurrency 100
+     */
+    private static final TriggerFairQueue.GroupPolicy POLICY = new TriggerFairQueue.GroupPolicy() {
+        @Override
+        public int weight(int groupId) {
+            return groupId == 1 ? 3 : 1;
+        }
+        @Override
+        public int maxConcurrency(int groupId) {
+            return groupId == 9 ? 2 : 100;
+        }
+    };
+
+    private static List<Integer> takeGroups(TriggerFairQueue fairQueue, int count) throws InterruptedException {
+        List<Integer> groups = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TriggerFairQueue.Entry entry = fairQueue.poll(0, TimeUnit.MILLISECONDS);
+            if (entry == null) {
+                break;
+            }
+            groups.add(entry.getGroupId());
+        }
+        return groups;
+    }
+
+    @Test
+    public void shouldNotDelayHealthyGroupBehindNoisyGroup() throws InterruptedException {
+        //given
+        TriggerFairQueue fairQueue = new TriggerFairQueue(1000, POLICY);
+        for (int i = 0; i < 500; i++) {
+            fairQueue.offer(2, NOOP);
+        }
+        fairQueue.offer(3, NOOP);
+
+        //when
+        List<Integer> groups = takeGroups(fairQueue, 2);
+
+        //then
+        assertEquals(2, groups.get(0).intValue());
+        assertEquals(3, groups.get(1).intValue());
+        assertEquals(499, fairQueue.size());
+    }
+
+    @Test
+    public void shouldTakeByGroupWeight() throws InterruptedException {
+        //given
+        TriggerFairQueue fairQueue = new TriggerFairQueue(1000, POLICY);
+        for (int i = 0; i < 12; i++) {
+            fairQueue.offer(1, NOOP);
+            fairQueue.offer(2, NOOP);
+        }
+
+        //when
+        List<Integer> groups = takeGroups(fairQueue, 16);
+
+        //then
+        int group1Count = 0;
+        for (Integer group : groups) {
+            group1Count += group == 1 ? 1 : 0;
+        }
+        assertEquals(12, group1Count);
+        assertEquals(1, groups.get(0).intValue());
+        assertEquals(1, groups.get(2).intValue());
+        assertEquals(2, groups.get(3).intValue());
+    }
+
+    @Test
+    public void shouldCapGroupConcurrency() throws InterruptedException {
+        //given
+        TriggerFairQueue fairQueue = new TriggerFairQueue(1000, POLICY);
+        for (int i = 0; i < 5; i++) {
+            fairQueue.offer(9, NOOP);
+        }
+
+        //when
+        List<Integer> running = takeGroups(fairQueue, 5);
+        TriggerFairQueue.Entry capped = fairQueue.poll(0, TimeUnit.MILLISECONDS);
+        fairQueue.done(9);
+        TriggerFairQueue.Entry afterDone = fairQueue.poll(0, TimeUnit.MILLISECONDS);
+
+        //then
+        assertEquals(2, running.size());
+        assertNull(capped);
+        assertEquals(9, afterDone.getGroupId());
+        assertEquals(2, fairQueue.size(9));
+    }
+
+    @Test
+    public void shouldRejectOnlyFullGroup() {
+        //given
+        TriggerFairQueue fairQueue = new TriggerFairQueue(3, POLICY);
+        for (int i = 0; i < 3; i++) {
+            fairQueue.offer(2, NOOP);
+        }
+
+        //when
+        boolean fullGroupQueued = fairQueue.offer(2, NOOP);
+        boolean otherGroupQueued = fairQueue.offer(3, NOOP);
+
+        //then
+        assertFalse(fullGroupQueued);
+        assertTrue(otherGroupQueued);
+        assertEquals(4, fairQueue.size());
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.xxl.job.admin.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VirtualThreadUtilTest {
+
+    @Test
+    public void shouldMatchRunningJdk() {
+        //given
+        boolean ofVirtualPresent;
+        try {
+            Thread.class.getMethod("ofVirtual");
+            ofVirtualPresent = true;
+        } catch (NoSuchMethodException e) {
+            ofVirtualPresent = false;
+        }
+
+        //when
+        boolean supported = VirtualThreadUtil.isSupported();
+
+        //then
+        assertEquals(ofVirtualPresent, supported);
+        if (!supported) {
+            assertThrows(IllegalStateException.class, () -> VirtualThreadUtil.newThreadPerTaskExecutor("test-"));
+        }
+    }
+
+    @Test
+    public void shouldLimitRunningBySemaphore() throws InterruptedException {
+        //given
+        ExecutorService executor = new VirtualThreadUtil.LimitedExecutor(Executors.newCachedThreadPool(), "test", 3, 100);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch doneLatch = new CountDownLatch(30);
+
+        //when
+        for (int i = 0; i < 30; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    int now = running.incrementAndGet();
+                    maxRunning.accumulateAndGet(now, Math::max);
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(10);
+                    } catch (InterruptedException e) {
+                        // ignore
+                    }
+                    running.decrementAndGet();
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        //then
+        assertTrue(doneLatch.await(10, TimeUnit.SECONDS));
+        assertEquals(3, maxRunning.get());
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldRunInCallerWhenWaitingFull() throws InterruptedException {
+        //given
+        ExecutorService executor = new VirtualThreadUtil.LimitedExecutor(Executors.newCachedThreadPool(), "test", 1, 1);
+        final CountDownLatch blockLatch = new CountDownLatch(1);
+        Runnable blocked = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blockLatch.await();
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            }
+        };
+        executor.execute(blocked);
+        executor.execute(blocked);
+
+        //when
+        final Thread callerThread = Thread.currentThread();
+        final AtomicInteger callerRunCount = new AtomicInteger();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (Thread.currentThread() == callerThread) {
+                    callerRunCount.incrementAndGet();
+                }
+            }
+        });
+
+        //then
+        assertEquals(1, callerRunCount.get());
+        blockLatch.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+}
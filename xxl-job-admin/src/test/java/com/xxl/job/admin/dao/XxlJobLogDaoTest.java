@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import javax.annotation.Resource;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -35,6 +36,10 @@ public class XxlJobLogDaoTest {
         ret1 = xxlJobLogDao.updateTriggerInfo(log);
         dto = xxlJobLogDao.load(log.getId());
 
+        log.setTriggerCode(200);
+        ret1 = xxlJobLogDao.updateTriggerInfoBatch(Arrays.asList(log));
+        dto = xxlJobLogDao.load(log.getId());
+
 
         log.setHandleTime(new Date());
         log.setHandleCode(2);
@@ -0,0 +1,226 @@
+package com.xxl.job.executorbiz;
+
+import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.client.ExecutorBizClient;
+import com.xxl.job.core.biz.model.*;
+import com.xxl.job.core.server.EmbedServer;
+import com.xxl.job.core.util.XxlJobHttpClient;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * pooled async executor client, against a local embed server handler
+ */
+public class ExecutorBizClientTest {
+
+    private static final String ACCESS_TOKEN = "token";
+
+    private static EventLoopGroup serverGroup;
+    private static Channel serverChannel;
+    private static String addressUrl;
+    private static final AtomicInteger connectionCount = new AtomicInteger();
+
+    /**
+     * executor stub, "run" echo handler, "slow" handler sleep 2s
+     */
+    private static class StubExecutorBiz implements ExecutorBiz {
+        @Override
+        public ReturnT<String> beat() {
+            return ReturnT.SUCCESS;
+        }
+        @Override
+        public ReturnT<String> idleBeat(IdleBeatParam idleBeatParam) {
+            return ReturnT.SUCCESS;
+        }
+        @Override
+        public ReturnT<String> run(TriggerParam triggerParam) {
+            if ("slow".equals(triggerParam.getExecutorHandler())) {
+                try {
+                    TimeUnit.SECONDS.sleep(2);
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            }
+            return new ReturnT<String>(triggerParam.getExecutorHandler() + "-" + triggerParam.getLogId());
+        }
+        @Override
+        public ReturnT<List<ReturnT<String>>> runBatch(List<TriggerParam> triggerParamList) {
+            List<ReturnT<String>> runResultList = new ArrayList<>();
+            for (TriggerParam triggerParam : triggerParamList) {
+                runResultList.add(run(triggerParam));
+            }
+            return new ReturnT<List<ReturnT<String>>>(runResultList);
+        }
+        @Override
+        public ReturnT<String> kill(KillParam killParam) {
+            return ReturnT.SUCCESS;
+        }
+        @Override
+        public ReturnT<LogResult> log(LogParam logParam) {
+            return new ReturnT<LogResult>(ReturnT.FAIL_CODE, null);
+        }
+    }
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        final ThreadPoolExecutor bizThreadPool = new ThreadPoolExecutor(20, 20, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+        final ExecutorBiz executorBiz = new StubExecutorBiz();
+
+        serverGroup = new NioEventLoopGroup(2);
+        serverChannel = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    public void initChannel(SocketChannel channel) throws Exception {
+                        connectionCount.incrementAndGet();
+                        channel.pipeline()
+                                .addLast(new HttpServerCodec())
+                                .addLast(new HttpObjectAggregator(5 * 1024 * 1024))
+                                .addLast(new EmbedServer.EmbedHttpServerHandler(executorBiz, ACCESS_TOKEN, bizThreadPool));
+                    }
+                })
+                .bind(0).sync().channel();
+        addressUrl = "http://127.0.0.1:" + ((InetSocketAddress) serverChannel.localAddress()).getPort() + "/";
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        serverChannel.close();
+        serverGroup.shutdownGracefully();
+    }
+
+    private static TriggerParam triggerParam(String executorHandler, long logId) {
+        TriggerParam triggerParam = new TriggerParam();
+        triggerParam.setJobId(1);
+        triggerParam.setExecutorHandler(executorHandler);
+        triggerParam.setLogId(logId);
+        return triggerParam;
+    }
+
+    @Test
+    public void shouldReuseKeepAliveConnection() {
+        //given
+        ExecutorBizClient executorBiz = new ExecutorBizClient(addressUrl, ACCESS_TOKEN);
+        executorBiz.beat();
+        int connectionBefore = connectionCount.get();
+
+        //when
+        List<ReturnT<String>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(executorBiz.run(triggerParam("demo", i)));
+        }
+
+        //then
+        for (int i = 0; i < 50; i++) {
+            assertEquals(ReturnT.SUCCESS_CODE, results.get(i).getCode());
+            assertEquals("demo-" + i, results.get(i).getContent());
+        }
+        assertEquals(connectionBefore, connectionCount.get());
+    }
+
+    @Test
+    public void shouldRunConcurrentAsync() {
+        //given
+        ExecutorBizClient executorBiz = new ExecutorBizClient(addressUrl, ACCESS_TOKEN);
+
+        //when
+        List<CompletableFuture<ReturnT<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(executorBiz.runAsync(triggerParam("async", i)));
+        }
+
+        //then
+        for (int i = 0; i < 500; i++) {
+            ReturnT<String> result = futures.get(i).join();
+            assertEquals(ReturnT.SUCCESS_CODE, result.getCode());
+            assertEquals("async-" + i, result.getContent());
+        }
+        assertTrue(connectionCount.get() <= 64 + 2);
+    }
+
+    @Test
+    public void shouldRunBatchInOneRequest() {
+        //given
+        ExecutorBizClient executorBiz = new ExecutorBizClient(addressUrl, ACCESS_TOKEN);
+        List<TriggerParam> triggerParamList = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            triggerParamList.add(triggerParam("batch", i));
+        }
+
+        //when
+        ReturnT<List<ReturnT<String>>> batchResult = executorBiz.runBatch(triggerParamList);
+
+        //then
+        assertEquals(ReturnT.SUCCESS_CODE, batchResult.getCode());
+        assertEquals(20, batchResult.getContent().size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(ReturnT.SUCCESS_CODE, batchResult.getContent().get(i).getCode());
+            assertEquals("batch-" + i, batchResult.getContent().get(i).getContent());
+        }
+    }
+
+    @Test
+    public void shouldFailOnWrongAccessToken() {
+        //given
+        ExecutorBizClient executorBiz = new ExecutorBizClient(addressUrl, "wrong");
+
+        //when
+        ReturnT<String> result = executorBiz.beat();
+
+        //then
+        assertEquals(ReturnT.FAIL_CODE, result.getCode());
+        assertEquals("The access token is wrong.", result.getMsg());
+    }
+
+    @Test
+    public void shouldTimeoutAndNotReuseConnection() {
+        //given
+        XxlJobHttpClient httpClient = XxlJobHttpClient.getInstance();
+
+        //when
+        ReturnT result = httpClient.postBody(addressUrl + "run", ACCESS_TOKEN, 1, triggerParam("slow", 1), String.class);
+        ReturnT nextResult = httpClient.postBody(addressUrl + "run", ACCESS_TOKEN, 3, triggerParam("next", 2), String.class);
+
+        //then
+        assertEquals(ReturnT.FAIL_CODE, result.getCode());
+        assertTrue(result.getMsg().contains("timeout"));
+        assertEquals(ReturnT.SUCCESS_CODE, nextResult.getCode());
+        assertEquals("next-2", nextResult.getContent());
+    }
+
+    @Test
+    public void shouldFailOnConnectRefused() {
+        //given
+        ExecutorBizClient executorBiz = new ExecutorBizClient("http://127.0.0.1:1/", ACCESS_TOKEN);
+
+        //when
+        ReturnT<String> result = executorBiz.beat();
+
+        //then
+        assertEquals(ReturnT.FAIL_CODE, result.getCode());
+    }
+
+}
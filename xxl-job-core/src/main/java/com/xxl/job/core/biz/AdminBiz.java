@@ -1,5 +1,6 @@
 package com.xxl.job.core.biz;
 
+import com.xxl.job.core.biz.model.GlueSourceParam;
 import com.xxl.job.core.biz.model.HandleCallbackParam;
 import com.xxl.job.core.biz.model.RegistryParam;
 import com.xxl.job.core.biz.model.ReturnT;
@@ -42,6 +43,19 @@ public interface AdminBiz {
     public ReturnT<String> registryRemove(RegistryParam registryParam);
 
 
+    // ---------------------- glue ----------------------
+
+    /**
+     * glue source of job, trigger only ship glue version; default not supported, for impl without it
+     *
+     * @param glueSourceParam
+     * @return  glue source as content
+     */
+    public default ReturnT<String> glueSource(GlueSourceParam glueSourceParam) {
+        return new ReturnT<String>(ReturnT.FAIL_CODE, "glue source not supported.");
+    }
+
+
     // ---------------------- biz (custome) ----------------------
     // group、job ... manage
 
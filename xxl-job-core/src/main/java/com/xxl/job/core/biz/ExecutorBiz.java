@@ -2,6 +2,9 @@ package com.xxl.job.core.biz;
 
 import com.xxl.job.core.biz.model.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Created by xuxueli on 17/3/1.
  */
@@ -28,6 +31,19 @@ public interface ExecutorBiz {
      */
     public ReturnT<String> run(TriggerParam triggerParam);
 
+    /**
+     * run batch, triggers to the same executor in one request; default run one by one, for impl without batch
+     * @param triggerParamList
+     * @return  run result of each trigger, in order
+     */
+    public default ReturnT<List<ReturnT<String>>> runBatch(List<TriggerParam> triggerParamList) {
+        List<ReturnT<String>> runResultList = new ArrayList<>(triggerParamList.size());
+        for (TriggerParam triggerParam: triggerParamList) {
+            runResultList.add(run(triggerParam));
+        }
+        return new ReturnT<List<ReturnT<String>>>(runResultList);
+    }
+
     /**
      * kill
      * @param killParam
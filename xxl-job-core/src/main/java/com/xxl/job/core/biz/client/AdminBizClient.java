@@ -1,6 +1,7 @@
 package com.xxl.job.core.biz.client;
 
 import com.xxl.job.core.biz.AdminBiz;
+import com.xxl.job.core.biz.model.GlueSourceParam;
 import com.xxl.job.core.biz.model.HandleCallbackParam;
 import com.xxl.job.core.biz.model.RegistryParam;
 import com.xxl.job.core.biz.model.ReturnT;
@@ -47,4 +48,9 @@ public class AdminBizClient implements AdminBiz {
         return XxlJobRemotingUtil.postBody(addressUrl + "api/registryRemove", accessToken, timeout, registryParam, String.class);
     }
 
+    @Override
+    public ReturnT<String> glueSource(GlueSourceParam glueSourceParam) {
+        return XxlJobRemotingUtil.postBody(addressUrl + "api/glueSource", accessToken, timeout, glueSourceParam, String.class);
+    }
+
 }
@@ -2,7 +2,13 @@ package com.xxl.job.core.biz.client;
 
 import com.xxl.job.core.biz.ExecutorBiz;
 import com.xxl.job.core.biz.model.*;
-import com.xxl.job.core.util.XxlJobRemotingUtil;
+import com.xxl.job.core.util.XxlJobHttpClient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * admin api test
@@ -30,27 +36,78 @@ public class ExecutorBizClient implements ExecutorBiz {
 
     @Override
     public ReturnT<String> beat() {
-        return XxlJobRemotingUtil.postBody(addressUrl+"beat", accessToken, timeout, "", String.class);
+        return XxlJobHttpClient.getInstance().postBody(addressUrl+"beat", accessToken, timeout, "", String.class);
     }
 
     @Override
     public ReturnT<String> idleBeat(IdleBeatParam idleBeatParam){
-        return XxlJobRemotingUtil.postBody(addressUrl+"idleBeat", accessToken, timeout, idleBeatParam, String.class);
+        return XxlJobHttpClient.getInstance().postBody(addressUrl+"idleBeat", accessToken, timeout, idleBeatParam, String.class);
     }
 
     @Override
     public ReturnT<String> run(TriggerParam triggerParam) {
-        return XxlJobRemotingUtil.postBody(addressUrl + "run", accessToken, timeout, triggerParam, String.class);
+        return XxlJobHttpClient.getInstance().postBody(addressUrl + "run", accessToken, timeout, triggerParam, String.class);
+    }
+
+    @Override
+    public ReturnT<List<ReturnT<String>>> runBatch(List<TriggerParam> triggerParamList) {
+        return runBatchAsync(triggerParamList).join();
     }
 
     @Override
     public ReturnT<String> kill(KillParam killParam) {
-        return XxlJobRemotingUtil.postBody(addressUrl + "kill", accessToken, timeout, killParam, String.class);
+        return XxlJobHttpClient.getInstance().postBody(addressUrl + "kill", accessToken, timeout, killParam, String.class);
     }
 
     @Override
     public ReturnT<LogResult> log(LogParam logParam) {
-        return XxlJobRemotingUtil.postBody(addressUrl + "log", accessToken, timeout, logParam, LogResult.class);
+        return XxlJobHttpClient.getInstance().postBody(addressUrl + "log", accessToken, timeout, logParam, LogResult.class);
+    }
+
+    /**
+     * idle beat, async, not block caller thread
+     *
+     * @param idleBeatParam
+     * @return  future, always completed with a ReturnT
+     */
+    public CompletableFuture<ReturnT<String>> idleBeatAsync(IdleBeatParam idleBeatParam) {
+        return XxlJobHttpClient.getInstance().postBodyAsync(addressUrl + "idleBeat", accessToken, timeout, idleBeatParam, String.class);
+    }
+
+    /**
+     * run, async, not block caller thread
+     *
+     * @param triggerParam
+     * @return  future, always completed with a ReturnT
+     */
+    public CompletableFuture<ReturnT<String>> runAsync(TriggerParam triggerParam) {
+        return XxlJobHttpClient.getInstance().postBodyAsync(addressUrl + "run", accessToken, timeout, triggerParam, String.class);
+    }
+
+    /**
+     * run batch, async, not block caller thread
+     *
+     * @param triggerParamList
+     * @return  future, always completed with a ReturnT
+     */
+    public CompletableFuture<ReturnT<List<ReturnT<String>>>> runBatchAsync(List<TriggerParam> triggerParamList) {
+        return XxlJobHttpClient.getInstance().postBodyAsync(addressUrl + "runBatch", accessToken, timeout, triggerParamList, ReturnT[].class)
+                .thenApply(new Function<ReturnT<ReturnT[]>, ReturnT<List<ReturnT<String>>>>() {
+                    @Override
+                    public ReturnT<List<ReturnT<String>>> apply(ReturnT<ReturnT[]> batchResult) {
+                        ReturnT<List<ReturnT<String>>> runBatchResult = new ReturnT<List<ReturnT<String>>>(batchResult.getCode(), batchResult.getMsg());
+                        if (batchResult.getContent() != null) {
+                            List<ReturnT<String>> runResultList = new ArrayList<ReturnT<String>>();
+                            for (ReturnT<?> item: Arrays.asList(batchResult.getContent())) {
+                                ReturnT<String> runResult = new ReturnT<String>(item.getCode(), item.getMsg());
+                                runResult.setContent(item.getContent()!=null ? String.valueOf(item.getContent()) : null);
+                                runResultList.add(runResult);
+                            }
+                            runBatchResult.setContent(runResultList);
+                        }
+                        return runBatchResult;
+                    }
+                });
     }
 
 }
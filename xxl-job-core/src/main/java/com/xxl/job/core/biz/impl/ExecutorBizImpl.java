@@ -5,16 +5,28 @@ import com.xxl.job.core.biz.model.*;
 import com.xxl.job.core.enums.ExecutorBlockStrategyEnum;
 import com.xxl.job.core.executor.XxlJobExecutor;
 import com.xxl.job.core.glue.GlueFactory;
+import com.xxl.job.core.glue.GlueSourceLoader;
 import com.xxl.job.core.glue.GlueTypeEnum;
 import com.xxl.job.core.handler.IJobHandler;
 import com.xxl.job.core.handler.impl.GlueJobHandler;
 import com.xxl.job.core.handler.impl.ScriptJobHandler;
 import com.xxl.job.core.log.XxlJobFileAppender;
 import com.xxl.job.core.thread.JobThread;
+import com.xxl.job.core.util.GsonTool;
+import com.xxl.job.core.util.ThrowableUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Created by xuxueli on 17/3/1.
@@ -22,9 +34,29 @@ import java.util.Date;
 public class ExecutorBizImpl implements ExecutorBiz {
     private static Logger logger = LoggerFactory.getLogger(ExecutorBizImpl.class);
 
+    /**
+     * run batch item whose glue source load from admin, caller run when all busy
+     */
+    private static final ThreadPoolExecutor glueLoadThreadPool = new ThreadPoolExecutor(
+            0,
+            20,
+            60L,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<Runnable>(),
+            new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "xxl-job, ExecutorBizImpl glueLoadThreadPool-" + r.hashCode());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
     @Override
     public ReturnT<String> beat() {
-        return ReturnT.SUCCESS;
+        // load snapshot as content, ignored by old admin
+        return new ReturnT<String>(GsonTool.toJson(XxlJobExecutor.loadSnapshot()));
     }
 
     @Override
@@ -89,8 +121,12 @@ public class ExecutorBizImpl implements ExecutorBiz {
 
             // valid handler
             if (jobHandler == null) {
+                ReturnT<String> glueSourceResult = GlueSourceLoader.getInstance().load(triggerParam);
+                if (glueSourceResult.getCode() != ReturnT.SUCCESS_CODE) {
+                    return glueSourceResult;
+                }
                 try {
-                    IJobHandler originJobHandler = GlueFactory.getInstance().loadNewInstance(triggerParam.getGlueSource());
+                    IJobHandler originJobHandler = GlueFactory.getInstance().loadNewInstance(glueSourceResult.getContent());
                     jobHandler = new GlueJobHandler(originJobHandler, triggerParam.getGlueUpdatetime());
                 } catch (Exception e) {
                     logger.error(e.getMessage(), e);
@@ -112,7 +148,11 @@ public class ExecutorBizImpl implements ExecutorBiz {
 
             // valid handler
             if (jobHandler == null) {
-                jobHandler = new ScriptJobHandler(triggerParam.getJobId(), triggerParam.getGlueUpdatetime(), triggerParam.getGlueSource(), GlueTypeEnum.match(triggerParam.getGlueType()));
+                ReturnT<String> glueSourceResult = GlueSourceLoader.getInstance().load(triggerParam);
+                if (glueSourceResult.getCode() != ReturnT.SUCCESS_CODE) {
+                    return glueSourceResult;
+                }
+                jobHandler = new ScriptJobHandler(triggerParam.getJobId(), triggerParam.getGlueUpdatetime(), glueSourceResult.getContent(), GlueTypeEnum.match(triggerParam.getGlueType()));
             }
         } else {
             return new ReturnT<String>(ReturnT.FAIL_CODE, "glueType[" + triggerParam.getGlueType() + "] is not valid.");
@@ -148,6 +188,56 @@ public class ExecutorBizImpl implements ExecutorBiz {
         return pushResult;
     }
 
+    @Override
+    public ReturnT<List<ReturnT<String>>> runBatch(List<TriggerParam> triggerParamList) {
+        if (triggerParamList == null) {
+            return new ReturnT<List<ReturnT<String>>>(ReturnT.FAIL_CODE, "triggerParamList is null.");
+        }
+
+        // glue source not cached (load from admin) : run after others, each job concurrently, keep order within a job
+        final List<ReturnT<String>> runResultList = new ArrayList<ReturnT<String>>(triggerParamList.size());
+        Map<Integer, List<Integer>> glueLoadIndexMap = new LinkedHashMap<>();
+        for (int i = 0; i < triggerParamList.size(); i++) {
+            TriggerParam triggerParam = triggerParamList.get(i);
+            runResultList.add(null);
+            if (glueLoadIndexMap.containsKey(triggerParam.getJobId()) || GlueSourceLoader.getInstance().needLoad(triggerParam)) {
+                List<Integer> indexList = glueLoadIndexMap.get(triggerParam.getJobId());
+                if (indexList == null) {
+                    indexList = new ArrayList<>();
+                    glueLoadIndexMap.put(triggerParam.getJobId(), indexList);
+                }
+                indexList.add(i);
+                continue;
+            }
+            runResultList.set(i, runSafe(triggerParam));
+        }
+
+        if (!glueLoadIndexMap.isEmpty()) {
+            List<CompletableFuture<Void>> glueLoadFutureList = new ArrayList<>();
+            for (final List<Integer> indexList: glueLoadIndexMap.values()) {
+                glueLoadFutureList.add(CompletableFuture.runAsync(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int index: indexList) {
+                            runResultList.set(index, runSafe(triggerParamList.get(index)));
+                        }
+                    }
+                }, glueLoadThreadPool));
+            }
+            CompletableFuture.allOf(glueLoadFutureList.toArray(new CompletableFuture[0])).join();
+        }
+        return new ReturnT<List<ReturnT<String>>>(runResultList);
+    }
+
+    private ReturnT<String> runSafe(TriggerParam triggerParam) {
+        try {
+            return run(triggerParam);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            return new ReturnT<String>(ReturnT.FAIL_CODE, "request error:" + ThrowableUtil.toString(e));
+        }
+    }
+
     @Override
     public ReturnT<String> kill(KillParam killParam) {
         // kill handlerThread, and create new one
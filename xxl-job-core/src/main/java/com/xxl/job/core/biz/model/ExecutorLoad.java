@@ -0,0 +1,107 @@
+package com.xxl.job.core.biz.model;
+
+import java.io.Serializable;
+
+/**
+ * executor load snapshot, sent with registry heartbeat and beat response
+ */
+public class ExecutorLoad implements Serializable {
+    private static final long serialVersionUID = 42L;
+
+    private int jobThreadCount;         // live JobThread
+    private int jobThreadRunning;       // JobThread running job
+    private int queuedTriggers;         // trigger queued in all JobThread
+    private int bizPoolActive;          // EmbedServer bizThreadPool active thread
+    private int bizPoolQueued;          // EmbedServer bizThreadPool queued request
+    private double processCpuLoad;      // 0-1, -1 if not available
+    private long heapUsed;              // byte
+    private long heapMax;               // byte
+    private long timestamp;
+
+    public int getJobThreadCount() {
+        return jobThreadCount;
+    }
+
+    public void setJobThreadCount(int jobThreadCount) {
+        this.jobThreadCount = jobThreadCount;
+    }
+
+    public int getJobThreadRunning() {
+        return jobThreadRunning;
+    }
+
+    public void setJobThreadRunning(int jobThreadRunning) {
+        this.jobThreadRunning = jobThreadRunning;
+    }
+
+    public int getQueuedTriggers() {
+        return queuedTriggers;
+    }
+
+    public void setQueuedTriggers(int queuedTriggers) {
+        this.queuedTriggers = queuedTriggers;
+    }
+
+    public int getBizPoolActive() {
+        return bizPoolActive;
+    }
+
+    public void setBizPoolActive(int bizPoolActive) {
+        this.bizPoolActive = bizPoolActive;
+    }
+
+    public int getBizPoolQueued() {
+        return bizPoolQueued;
+    }
+
+    public void setBizPoolQueued(int bizPoolQueued) {
+        this.bizPoolQueued = bizPoolQueued;
+    }
+
+    public double getProcessCpuLoad() {
+        return processCpuLoad;
+    }
+
+    public void setProcessCpuLoad(double processCpuLoad) {
+        this.processCpuLoad = processCpuLoad;
+    }
+
+    public long getHeapUsed() {
+        return heapUsed;
+    }
+
+    public void setHeapUsed(long heapUsed) {
+        this.heapUsed = heapUsed;
+    }
+
+    public long getHeapMax() {
+        return heapMax;
+    }
+
+    public void setHeapMax(long heapMax) {
+        this.heapMax = heapMax;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutorLoad{" +
+                "jobThreadCount=" + jobThreadCount +
+                ", jobThreadRunning=" + jobThreadRunning +
+                ", queuedTriggers=" + queuedTriggers +
+                ", bizPoolActive=" + bizPoolActive +
+                ", bizPoolQueued=" + bizPoolQueued +
+                ", processCpuLoad=" + processCpuLoad +
+                ", heapUsed=" + heapUsed +
+                ", heapMax=" + heapMax +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
@@ -0,0 +1,45 @@
+package com.xxl.job.core.biz.model;
+
+import java.io.Serializable;
+
+/**
+ * glue source query, sent by executor when glue source not shipped with trigger
+ */
+public class GlueSourceParam implements Serializable {
+    private static final long serialVersionUID = 42L;
+
+    public GlueSourceParam() {
+    }
+    public GlueSourceParam(int jobId, long glueUpdatetime) {
+        this.jobId = jobId;
+        this.glueUpdatetime = glueUpdatetime;
+    }
+
+    private int jobId;
+    private long glueUpdatetime;
+
+
+    public int getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(int jobId) {
+        this.jobId = jobId;
+    }
+
+    public long getGlueUpdatetime() {
+        return glueUpdatetime;
+    }
+
+    public void setGlueUpdatetime(long glueUpdatetime) {
+        this.glueUpdatetime = glueUpdatetime;
+    }
+
+    @Override
+    public String toString() {
+        return "GlueSourceParam{" +
+                "jobId=" + jobId +
+                ", glueUpdatetime=" + glueUpdatetime +
+                '}';
+    }
+}
@@ -2,6 +2,7 @@ package com.xxl.job.core.executor;
 
 import com.xxl.job.core.biz.AdminBiz;
 import com.xxl.job.core.biz.client.AdminBizClient;
+import com.xxl.job.core.biz.model.ExecutorLoad;
 import com.xxl.job.core.handler.IJobHandler;
 import com.xxl.job.core.handler.annotation.XxlJob;
 import com.xxl.job.core.handler.impl.MethodJobHandler;
@@ -15,12 +16,15 @@ import com.xxl.job.core.util.NetUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Created by xuxueli on 2016/3/2 21:14.
@@ -268,4 +272,53 @@ public class XxlJobExecutor  {
     public static JobThread loadJobThread(int jobId){
         return jobThreadRepository.get(jobId);
     }
+
+
+    // ---------------------- executor load ----------------------
+    private static volatile ThreadPoolExecutor bizThreadPool;
+    public static void registBizThreadPool(ThreadPoolExecutor bizThreadPool){
+        XxlJobExecutor.bizThreadPool = bizThreadPool;
+    }
+
+    /**
+     * load snapshot, for registry heartbeat and beat response
+     *
+     * @return
+     */
+    public static ExecutorLoad loadSnapshot(){
+        ExecutorLoad load = new ExecutorLoad();
+
+        // job thread
+        int jobThreadCount = 0;
+        int jobThreadRunning = 0;
+        int queuedTriggers = 0;
+        for (JobThread jobThread: jobThreadRepository.values()) {
+            jobThreadCount++;
+            jobThreadRunning += jobThread.isRunning() ? 1 : 0;
+            queuedTriggers += jobThread.getTriggerQueueSize();
+        }
+        load.setJobThreadCount(jobThreadCount);
+        load.setJobThreadRunning(jobThreadRunning);
+        load.setQueuedTriggers(queuedTriggers);
+
+        // biz thread pool
+        ThreadPoolExecutor pool = bizThreadPool;
+        if (pool != null) {
+            load.setBizPoolActive(pool.getActiveCount());
+            load.setBizPoolQueued(pool.getQueue().size());
+        }
+
+        // cpu, heap
+        OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+        load.setProcessCpuLoad(osBean instanceof com.sun.management.OperatingSystemMXBean
+                ? ((com.sun.management.OperatingSystemMXBean) osBean).getProcessCpuLoad()
+                : -1);
+        Runtime runtime = Runtime.getRuntime();
+        load.setHeapUsed(runtime.totalMemory() - runtime.freeMemory());
+        load.setHeapMax(runtime.maxMemory());
+
+        load.setTimestamp(System.currentTimeMillis());
+        return load;
+    }
+
 }
@@ -0,0 +1,106 @@
+package com.xxl.job.core.glue;
+
+import com.xxl.job.core.biz.AdminBiz;
+import com.xxl.job.core.biz.model.GlueSourceParam;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.biz.model.TriggerParam;
+import com.xxl.job.core.executor.XxlJobExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * glue source of trigger
+ *
+ *      a、shipped : source in trigger param (old admin) used directly;
+ *      b、delta   : only glue version shipped, source loaded from admin by (jobId, glueUpdatetime) and cached, so job thread rebuilt without reload;
+ */
+public class GlueSourceLoader {
+    private static Logger logger = LoggerFactory.getLogger(GlueSourceLoader.class);
+
+    private static final int MAX_SIZE = 1000;
+
+    private static GlueSourceLoader instance = new GlueSourceLoader();
+    public static GlueSourceLoader getInstance(){
+        return instance;
+    }
+
+    private static class GlueSource {
+        private final long glueUpdatetime;
+        private final String source;
+
+        private GlueSource(long glueUpdatetime, String source) {
+            this.glueUpdatetime = glueUpdatetime;
+            this.source = source;
+        }
+    }
+
+    private final ConcurrentMap<Integer, GlueSource> glueSourceCache = new ConcurrentHashMap<>();
+
+    /**
+     * glue source need load from admin (remote call), not shipped and not cached at this version
+     *
+     * @param triggerParam
+     * @return
+     */
+    public boolean needLoad(TriggerParam triggerParam) {
+        GlueTypeEnum glueTypeEnum = GlueTypeEnum.match(triggerParam.getGlueType());
+        if (glueTypeEnum == null || GlueTypeEnum.BEAN == glueTypeEnum || triggerParam.getGlueSource() != null) {
+            return false;
+        }
+        GlueSource glueSource = glueSourceCache.get(triggerParam.getJobId());
+        return glueSource == null || glueSource.glueUpdatetime != triggerParam.getGlueUpdatetime();
+    }
+
+    /**
+     * load glue source
+     *
+     * @param triggerParam
+     * @return  glue source as content
+     */
+    public ReturnT<String> load(TriggerParam triggerParam) {
+
+        // shipped
+        if (triggerParam.getGlueSource() != null) {
+            return new ReturnT<String>(triggerParam.getGlueSource());
+        }
+
+        // cached
+        GlueSource glueSource = glueSourceCache.get(triggerParam.getJobId());
+        if (glueSource != null && glueSource.glueUpdatetime == triggerParam.getGlueUpdatetime()) {
+            return new ReturnT<String>(glueSource.source);
+        }
+
+        // load from admin
+        List<AdminBiz> adminBizList = XxlJobExecutor.getAdminBizList();
+        if (adminBizList == null) {
+            return new ReturnT<String>(ReturnT.FAIL_CODE, "glue source not shipped, and admin address is null.");
+        }
+        GlueSourceParam glueSourceParam = new GlueSourceParam(triggerParam.getJobId(), triggerParam.getGlueUpdatetime());
+        ReturnT<String> loadResult = new ReturnT<String>(ReturnT.FAIL_CODE, "glue source load fail.");
+        for (AdminBiz adminBiz: adminBizList) {
+            try {
+                ReturnT<String> glueSourceResult = adminBiz.glueSource(glueSourceParam);
+                if (glueSourceResult!=null && ReturnT.SUCCESS_CODE == glueSourceResult.getCode() && glueSourceResult.getContent()!=null) {
+                    if (glueSourceCache.size() >= MAX_SIZE) {
+                        glueSourceCache.clear();
+                    }
+                    glueSourceCache.put(triggerParam.getJobId(), new GlueSource(triggerParam.getGlueUpdatetime(), glueSourceResult.getContent()));
+                    logger.debug(">>>>>>>>>>> xxl-job glue source load success, glueSourceParam:{}", glueSourceParam);
+                    return glueSourceResult;
+                }
+                if (glueSourceResult != null) {
+                    loadResult = glueSourceResult;
+                }
+                logger.info(">>>>>>>>>>> xxl-job glue source load fail, glueSourceParam:{}, glueSourceResult:{}", glueSourceParam, glueSourceResult);
+            } catch (Exception e) {
+                logger.info(">>>>>>>>>>> xxl-job glue source load error, glueSourceParam:{}", glueSourceParam, e);
+            }
+        }
+        return loadResult;
+    }
+
+}
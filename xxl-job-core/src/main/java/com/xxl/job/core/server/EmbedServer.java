@@ -3,6 +3,7 @@ package com.xxl.job.core.server;
 import com.xxl.job.core.biz.ExecutorBiz;
 import com.xxl.job.core.biz.impl.ExecutorBizImpl;
 import com.xxl.job.core.biz.model.*;
+import com.xxl.job.core.executor.XxlJobExecutor;
 import com.xxl.job.core.thread.ExecutorRegistryThread;
 import com.xxl.job.core.util.GsonTool;
 import com.xxl.job.core.util.ThrowableUtil;
@@ -20,6 +21,7 @@ import io.netty.util.CharsetUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
 import java.util.concurrent.*;
 
 /**
@@ -59,6 +61,7 @@ public class EmbedServer {
                                 throw new RuntimeException("xxl-job, EmbedServer bizThreadPool is EXHAUSTED!");
                             }
                         });
+                XxlJobExecutor.registBizThreadPool(bizThreadPool);
                 try {
                     // start server
                     ServerBootstrap bootstrap = new ServerBootstrap();
@@ -191,6 +194,9 @@ public class EmbedServer {
                     case "/run":
                         TriggerParam triggerParam = GsonTool.fromJson(requestData, TriggerParam.class);
                         return executorBiz.run(triggerParam);
+                    case "/runBatch":
+                        List<TriggerParam> triggerParamList = GsonTool.fromJson(requestData, List.class, TriggerParam.class);
+                        return executorBiz.runBatch(triggerParamList);
                     case "/kill":
                         KillParam killParam = GsonTool.fromJson(requestData, KillParam.class);
                         return executorBiz.kill(killParam);
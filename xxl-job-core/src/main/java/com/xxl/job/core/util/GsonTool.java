@@ -48,7 +48,7 @@ public class GsonTool {
      * @return
      */
     public static <T> T fromJson(String json, Class<T> classOfT, Class argClassOfT) {
-        Type type = new ParameterizedType4ReturnT(classOfT, new Class[]{argClassOfT});
+        Type type = new ParameterizedType4ReturnT(classOfT, new Type[]{argClassOfT});      // Type[], array arg canonicalized into it by gson
         return gson.fromJson(json, type);
     }
     public static class ParameterizedType4ReturnT implements ParameterizedType {
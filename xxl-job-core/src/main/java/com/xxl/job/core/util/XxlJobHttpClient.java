@@ -0,0 +1,328 @@
+package com.xxl.job.core.util;
+
+import com.xxl.job.core.biz.model.ReturnT;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.pool.AbstractChannelPoolMap;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.ChannelPoolHandler;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * async http client, netty based, same protocol as XxlJobRemotingUtil
+ *
+ *      a、pool       : keep-alive connection pool per address (scheme + host + port), max MAX_CONNECTIONS each;
+ *      b、async      : request return a future, io done by a few event loop thread, caller thread not blocked;
+ *      c、timeout    : connect 3s, response "timeout" second, connection closed on timeout (not reused);
+ *      d、https      : trust all, same as XxlJobRemotingUtil;
+ */
+public class XxlJobHttpClient {
+    private static Logger logger = LoggerFactory.getLogger(XxlJobHttpClient.class);
+
+    private static final int CONNECT_TIMEOUT = 3 * 1000;
+    private static final int MAX_CONNECTIONS = 64;
+    private static final int MAX_CONTENT_LENGTH = 5 * 1024 * 1024;
+    private static final int IDLE_TIMEOUT = 30;         // second, less than executor idle close (90s)
+
+    private static final AttributeKey<PendingRequest<?>> PENDING_REQUEST = AttributeKey.valueOf("xxl-job-pending-request");
+
+    // lazy, executor side not use it
+    private static class Holder {
+        private static final XxlJobHttpClient instance = new XxlJobHttpClient();
+    }
+    public static XxlJobHttpClient getInstance(){
+        return Holder.instance;
+    }
+
+    private final EventLoopGroup eventLoopGroup;
+    private final Bootstrap bootstrap;
+    private final AbstractChannelPoolMap<String, FixedChannelPool> poolMap;
+    private volatile SslContext sslContext;
+
+    private XxlJobHttpClient() {
+        eventLoopGroup = new NioEventLoopGroup(Math.min(Runtime.getRuntime().availableProcessors(), 8), new DefaultThreadFactory("xxl-job, XxlJobHttpClient", true));
+        bootstrap = new Bootstrap()
+                .group(eventLoopGroup)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.SO_KEEPALIVE, true);
+
+        poolMap = new AbstractChannelPoolMap<String, FixedChannelPool>() {
+            @Override
+            protected FixedChannelPool newPool(String poolKey) {
+                URI uri = URI.create(poolKey);
+                final boolean useHttps = "https".equalsIgnoreCase(uri.getScheme());
+                final String host = uri.getHost();
+                final int port = uri.getPort();
+                return new FixedChannelPool(
+                        bootstrap.clone().remoteAddress(host, port),
+                        new ChannelPoolHandler() {
+                            @Override
+                            public void channelCreated(Channel channel) throws Exception {
+                                ChannelPipeline pipeline = channel.pipeline();
+                                if (useHttps) {
+                                    pipeline.addLast(sslContext().newHandler(channel.alloc(), host, port));
+                                }
+                                pipeline.addLast(new IdleStateHandler(0, 0, IDLE_TIMEOUT, TimeUnit.SECONDS))
+                                        .addLast(new HttpClientCodec())
+                                        .addLast(new HttpObjectAggregator(MAX_CONTENT_LENGTH))
+                                        .addLast(new ResponseHandler());
+                            }
+                            @Override
+                            public void channelAcquired(Channel channel) throws Exception {
+                            }
+                            @Override
+                            public void channelReleased(Channel channel) throws Exception {
+                            }
+                        },
+                        ChannelHealthChecker.ACTIVE,
+                        FixedChannelPool.AcquireTimeoutAction.FAIL,
+                        CONNECT_TIMEOUT,
+                        MAX_CONNECTIONS,
+                        Integer.MAX_VALUE);
+            }
+        };
+    }
+
+    private SslContext sslContext() throws Exception {
+        if (sslContext == null) {
+            synchronized (this) {
+                if (sslContext == null) {
+                    sslContext = SslContextBuilder.forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build();
+                }
+            }
+        }
+        return sslContext;
+    }
+
+
+    // ---------------------- request ----------------------
+
+    /**
+     * post, wait for result
+     *
+     * @param url
+     * @param accessToken
+     * @param timeout               second
+     * @param requestObj
+     * @param returnTargClassOfT
+     * @return
+     */
+    public ReturnT postBody(String url, String accessToken, int timeout, Object requestObj, Class returnTargClassOfT) {
+        try {
+            // always completed by connect / response timeout, wait a bit longer as guard
+            return postBodyAsync(url, accessToken, timeout, requestObj, (Class<?>) returnTargClassOfT)
+                    .get(CONNECT_TIMEOUT * 2L + timeout * 1000L, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            return new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-job remoting error("+ e.getMessage() +"), for url : " + url);
+        }
+    }
+
+    /**
+     * post, async
+     *
+     * @param url
+     * @param accessToken
+     * @param timeout               second
+     * @param requestObj
+     * @param returnTargClassOfT
+     * @return  future, always completed with a ReturnT (fail code on error), never exceptionally
+     */
+    public <T> CompletableFuture<ReturnT<T>> postBodyAsync(final String url, final String accessToken, final int timeout, Object requestObj, final Class<T> returnTargClassOfT) {
+        final CompletableFuture<ReturnT<T>> resultFuture = new CompletableFuture<>();
+
+        final URI uri;
+        final FixedChannelPool pool;
+        final byte[] requestBody;
+        try {
+            uri = URI.create(url);
+            boolean useHttps = "https".equalsIgnoreCase(uri.getScheme());
+            int port = uri.getPort() > 0 ? uri.getPort() : (useHttps ? 443 : 80);
+            pool = poolMap.get((useHttps ? "https" : "http") + "://" + uri.getHost() + ":" + port);
+            requestBody = requestObj != null ? GsonTool.toJson(requestObj).getBytes("UTF-8") : new byte[0];
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            resultFuture.complete(new ReturnT<T>(ReturnT.FAIL_CODE, "xxl-job remoting error("+ e.getMessage() +"), for url : " + url));
+            return resultFuture;
+        }
+
+        pool.acquire().addListener(new FutureListener<Channel>() {
+            @Override
+            public void operationComplete(Future<Channel> future) throws Exception {
+                if (!future.isSuccess()) {
+                    logger.error("xxl-job remoting connect fail, for url : " + url, future.cause());
+                    resultFuture.complete(new ReturnT<T>(ReturnT.FAIL_CODE, "xxl-job remoting error("+ future.cause().getMessage() +"), for url : " + url));
+                    return;
+                }
+
+                final Channel channel = future.getNow();
+                final PendingRequest<T> pendingRequest = new PendingRequest<T>(url, returnTargClassOfT, channel, pool, resultFuture);
+                channel.attr(PENDING_REQUEST).set(pendingRequest);
+                pendingRequest.timeoutFuture = channel.eventLoop().schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        pendingRequest.fail("xxl-job remoting error(read timeout " + timeout + "s), for url : " + url, false);
+                    }
+                }, timeout, TimeUnit.SECONDS);
+
+                String path = uri.getRawPath() != null && uri.getRawPath().length() > 0 ? uri.getRawPath() : "/";
+                if (uri.getRawQuery() != null) {
+                    path = path + "?" + uri.getRawQuery();
+                }
+                FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, path, Unpooled.wrappedBuffer(requestBody));
+                request.headers().set(HttpHeaderNames.HOST, uri.getHost() + (uri.getPort() > 0 ? ":" + uri.getPort() : ""));
+                request.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+                request.headers().set(HttpHeaderNames.CONTENT_TYPE, "application/json;charset=UTF-8");
+                request.headers().set(HttpHeaderNames.ACCEPT_CHARSET, "application/json;charset=UTF-8");
+                request.headers().set(HttpHeaderNames.CONTENT_LENGTH, requestBody.length);
+                if (accessToken != null && accessToken.trim().length() > 0) {
+                    request.headers().set(XxlJobRemotingUtil.XXL_JOB_ACCESS_TOKEN, accessToken);
+                }
+
+                channel.writeAndFlush(request).addListener(new ChannelFutureListener() {
+                    @Override
+                    public void operationComplete(ChannelFuture writeFuture) throws Exception {
+                        if (!writeFuture.isSuccess()) {
+                            logger.error("xxl-job remoting write fail, for url : " + url, writeFuture.cause());
+                            pendingRequest.fail("xxl-job remoting error("+ writeFuture.cause().getMessage() +"), for url : " + url, false);
+                        }
+                    }
+                });
+            }
+        });
+        return resultFuture;
+    }
+
+
+    // ---------------------- response ----------------------
+
+    /**
+     * one request in flight on a channel, finished once: result completed, channel back to pool
+     */
+    private static class PendingRequest<T> {
+        private final String url;
+        private final Class<T> returnTargClassOfT;
+        private final Channel channel;
+        private final FixedChannelPool pool;
+        private final CompletableFuture<ReturnT<T>> resultFuture;
+        private final AtomicBoolean finished = new AtomicBoolean(false);
+        private volatile ScheduledFuture<?> timeoutFuture;
+
+        private PendingRequest(String url, Class<T> returnTargClassOfT, Channel channel, FixedChannelPool pool, CompletableFuture<ReturnT<T>> resultFuture) {
+            this.url = url;
+            this.returnTargClassOfT = returnTargClassOfT;
+            this.channel = channel;
+            this.pool = pool;
+            this.resultFuture = resultFuture;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(String resultJson, boolean reuse) {
+            ReturnT<T> returnT;
+            try {
+                returnT = GsonTool.fromJson(resultJson, ReturnT.class, returnTargClassOfT);
+            } catch (Exception e) {
+                logger.error("xxl-job remoting (url="+url+") response content invalid("+ resultJson +").", e);
+                returnT = new ReturnT<T>(ReturnT.FAIL_CODE, "xxl-job remoting (url="+url+") response content invalid("+ resultJson +").");
+            }
+            finish(returnT, reuse);
+        }
+
+        private void fail(String msg, boolean reuse) {
+            finish(new ReturnT<T>(ReturnT.FAIL_CODE, msg), reuse);
+        }
+
+        private void finish(ReturnT<T> result, boolean reuse) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            if (timeoutFuture != null) {
+                timeoutFuture.cancel(false);
+            }
+            channel.attr(PENDING_REQUEST).set(null);
+            if (!reuse) {
+                channel.close();
+            }
+            pool.release(channel);
+            resultFuture.complete(result);
+        }
+    }
+
+    private static class ResponseHandler extends SimpleChannelInboundHandler<FullHttpResponse> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse response) throws Exception {
+            PendingRequest<?> pendingRequest = ctx.channel().attr(PENDING_REQUEST).get();
+            if (pendingRequest == null) {
+                return;     // timeout already
+            }
+            boolean keepAlive = HttpUtil.isKeepAlive(response);
+
+            // valid StatusCode
+            int statusCode = response.status().code();
+            if (statusCode != 200) {
+                pendingRequest.fail("xxl-job remoting fail, StatusCode("+ statusCode +") invalid. for url : " + pendingRequest.url, keepAlive);
+                return;
+            }
+
+            // parse returnT
+            pendingRequest.complete(response.content().toString(CharsetUtil.UTF_8), keepAlive);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            PendingRequest<?> pendingRequest = ctx.channel().attr(PENDING_REQUEST).get();
+            if (pendingRequest != null) {
+                pendingRequest.fail("xxl-job remoting error(connection closed), for url : " + pendingRequest.url, false);
+            }
+            super.channelInactive(ctx);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            PendingRequest<?> pendingRequest = ctx.channel().attr(PENDING_REQUEST).get();
+            if (pendingRequest != null) {
+                logger.error("xxl-job remoting error, for url : " + pendingRequest.url, cause);
+                pendingRequest.fail("xxl-job remoting error("+ cause.getMessage() +"), for url : " + pendingRequest.url, false);
+            } else {
+                ctx.close();
+            }
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof IdleStateEvent) {
+                if (ctx.channel().attr(PENDING_REQUEST).get() == null) {
+                    ctx.channel().close();      // idle keep-alive connection, close before executor does
+                }
+            } else {
+                super.userEventTriggered(ctx, evt);
+            }
+        }
+    }
+
+}